@@ -0,0 +1,144 @@
+package com.albany.mvc.benchmark;
+
+import com.albany.mvc.config.UpstreamHttpConfig;
+import com.albany.mvc.config.UpstreamHttpProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The upstream half of a page render: the dozen sequential REST API calls behind an admin page, made with
+ * the old unpooled RestTemplate and with the pooled client. A loopback server stands in for the API
+ * and gzips like Tomcat does when asked, so the difference is connection handling and transfer size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageRenderUpstreamBenchmark {
+
+    private static final List<String> PAGE_CALLS = List.of(
+            "/api/dashboard",
+            "/api/vehicle-tracking/vehicles-under-service",
+            "/api/vehicle-tracking/completed-services",
+            "/api/service-requests",
+            "/api/customers",
+            "/api/service-advisors",
+            "/api/inventory",
+            "/api/vehicles",
+            "/api/vehicle-tracking/vehicles-under-service",
+            "/api/vehicle-tracking/completed-services",
+            "/api/service-requests",
+            "/api/customers");
+
+    @Param({"simple", "pooled"})
+    public String client;
+
+    // Rows in each JSON list the fake API returns
+    @Param({"50"})
+    public int rows;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CloseableHttpClient pooledClient;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = jsonList(rows);
+        byte[] gzipped = gzip(body);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.createContext("/api", exchange -> respond(exchange, body, gzipped));
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        if (client.equals("pooled")) {
+            UpstreamHttpConfig config = new UpstreamHttpConfig();
+            UpstreamHttpProperties properties = new UpstreamHttpProperties();
+            pooledClient = config.upstreamHttpClient(config.upstreamConnectionManager(properties), properties);
+            restTemplate = new RestTemplate(config.upstreamRequestFactory(pooledClient, properties));
+        } else {
+            restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int renderPage() {
+        int bytes = 0;
+        for (String path : PAGE_CALLS) {
+            bytes += restTemplate.getForObject(baseUrl + path, String.class).length();
+        }
+        return bytes;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body, byte[] gzipped) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] payload = gzip ? gzipped : body;
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    private static byte[] jsonList(int rows) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= rows; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"requestId\":").append(i)
+                    .append(",\"vehicleName\":\"Honda City\",\"registrationNumber\":\"KA-01-").append(1000 + i)
+                    .append("\",\"customerName\":\"Customer ").append(i)
+                    .append("\",\"customerEmail\":\"customer").append(i).append("@albany.test\"")
+                    .append(",\"serviceAdvisorName\":\"Priya Sharma\",\"status\":\"Repair\"")
+                    .append(",\"startDate\":\"2025-03-0").append(1 + i % 9)
+                    .append("\",\"estimatedCompletionDate\":\"2025-03-1").append(i % 9)
+                    .append("\",\"totalCost\":").append(2500 + i * 13).append(".50}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -11,7 +11,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 @EnableWebSecurity
@@ -31,6 +30,8 @@ public class SecurityConfig {
                                 "/serviceAdvisor/login", "/serviceAdvisor/api/login",
                                 "/test-auth",
                                 "/css/**", "/js/**", "/images/**", "/favicon.ico", "/error").permitAll()
+                        // Scraped by Prometheus; only served on the loopback management port (management.server.*)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // Allow dashboard access with token parameter (will be handled by the controllers)
                         .requestMatchers(request ->
                                 (request.getServletPath().equals("/admin/dashboard") ||
@@ -68,9 +69,4 @@ public class SecurityConfig {
 
         return http.build();
     }
-
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
\ No newline at end of file
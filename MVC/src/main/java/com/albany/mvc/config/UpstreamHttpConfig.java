@@ -0,0 +1,123 @@
+package com.albany.mvc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * The RestTemplate used for every call to the REST API.
+ * Connections are pooled and kept alive, so a page that makes a dozen upstream calls reuses a handful of sockets.
+ * Gzip responses are decompressed by the client, which asks for them on every request.
+ * JSON bodies are read with the application's ObjectMapper straight from the response stream.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamHttpProperties.class)
+public class UpstreamHttpConfig {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Bean
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(UpstreamHttpProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        // Revalidate a connection that sat idle, in case the API closed it first
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager,
+                                                  UpstreamHttpProperties properties) {
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .setConnectionRequestTimeout(Timeout.of(properties.getPoolTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory upstreamRequestFactory(CloseableHttpClient upstreamHttpClient,
+                                                                        UpstreamHttpProperties properties) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            RequestConfig groupConfig = groupRequestConfig(properties, uri.getPath());
+            if (groupConfig != null) {
+                context.setRequestConfig(groupConfig);
+            }
+            return context;
+        });
+        return requestFactory;
+    }
+
+    @Bean
+    public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory upstreamRequestFactory,
+                                     UpstreamMetricsInterceptor upstreamMetricsInterceptor,
+                                     ObjectMapper objectMapper) {
+        RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
+        // Replace the default converter's private mapper so typed reads share the spring.jackson settings
+        restTemplate.getMessageConverters().replaceAll(converter ->
+                converter instanceof MappingJackson2HttpMessageConverter
+                        ? new MappingJackson2HttpMessageConverter(objectMapper)
+                        : converter);
+        restTemplate.getInterceptors().add(upstreamMetricsInterceptor);
+        return restTemplate;
+    }
+
+    /**
+     * Leased, idle and pending connection gauges, bound by actuator like any other MeterBinder bean
+     */
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder upstreamConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(upstreamConnectionManager, "rest-api");
+    }
+
+    /**
+     * The request settings of the first group whose paths match, or null to use the client defaults
+     */
+    static RequestConfig groupRequestConfig(UpstreamHttpProperties properties, String path) {
+        for (Map.Entry<String, UpstreamHttpProperties.Group> entry : properties.getGroups().entrySet()) {
+            UpstreamHttpProperties.Group group = entry.getValue();
+            if (group.getResponseTimeout() == null) {
+                continue;
+            }
+            for (String pattern : group.getPaths()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return RequestConfig.custom()
+                            .setResponseTimeout(Timeout.of(group.getResponseTimeout()))
+                            .setConnectionRequestTimeout(Timeout.of(properties.getPoolTimeout()))
+                            .build();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.albany.mvc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pool and timeouts for calls to the REST API, with per path group overrides
+ */
+@Data
+@ConfigurationProperties(prefix = "upstream.http")
+public class UpstreamHttpProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // Time allowed between bytes of the response once the request is sent
+    private Duration responseTimeout = Duration.ofSeconds(15);
+
+    // Time a request waits for a free pooled connection
+    private Duration poolTimeout = Duration.ofSeconds(5);
+
+    private int maxConnections = 100;
+
+    private int maxConnectionsPerRoute = 50;
+
+    // Idle pooled connections are closed after this, well inside Tomcat's own keep-alive timeout
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Checked in order; the first group with a matching path decides the response timeout
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        // Ant patterns matched against the upstream request path, e.g. /api/invoices/**
+        private List<String> paths = new ArrayList<>();
+
+        private Duration responseTimeout;
+    }
+}
@@ -0,0 +1,81 @@
+package com.albany.mvc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Times every call the RestTemplate makes to the REST API as {@code upstream.requests} and counts failed ones
+ * as {@code upstream.errors}, both tagged by upstream path. URLs are built by concatenation here, so ids
+ * in the path are folded to {id} to keep one series per endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    // Path segments holding an id, email or other value rather than a fixed name
+    private static final Pattern VARIABLE_SEGMENT = Pattern.compile("/[^/]*[0-9@%][^/]*");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String method = request.getMethod().name();
+        String path = normalize(request.getURI().getPath());
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            sample.stop(timer(method, path, "IO_ERROR", "error"));
+            countError(method, path, e.getClass().getSimpleName());
+            throw e;
+        }
+
+        int status = response.getStatusCode().value();
+        sample.stop(timer(method, path, String.valueOf(status), status >= 400 ? "error" : "success"));
+        if (status >= 400) {
+            countError(method, path, String.valueOf(status));
+        }
+        return response;
+    }
+
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return VARIABLE_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    private Timer timer(String method, String path, String status, String outcome) {
+        return Timer.builder("upstream.requests")
+                .description("Latency of calls to the REST API, until the response headers arrive")
+                .tag("method", method)
+                .tag("path", path)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void countError(String method, String path, String reason) {
+        Counter.builder("upstream.errors")
+                .description("Calls to the REST API that failed or returned an error status")
+                .tag("method", method)
+                .tag("path", path)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -3,16 +3,15 @@ package com.albany.mvc.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import com.albany.mvc.service.PdfDownloadProxy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.io.OutputStream;
 
 @Controller
 @RequestMapping("/admin/api/vehicle-tracking/bill")
@@ -20,7 +19,7 @@ import java.io.OutputStream;
 @Slf4j
 public class BillDownloadController {
 
-    private final RestTemplate restTemplate;
+    private final PdfDownloadProxy pdfDownloadProxy;
 
     @Value("${api.base-url}")
     private String apiBaseUrl;
@@ -31,6 +30,7 @@ public class BillDownloadController {
             @PathVariable Integer serviceId,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             HttpServletRequest request,
             HttpServletResponse response) {
 
@@ -48,53 +48,21 @@ public class BillDownloadController {
         log.info("Processing bill download request for service ID: {}", serviceId);
 
         try {
-            // Setup headers for the API request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(validToken);
-            
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            // Call the REST API with byte[] response type to get the PDF data
-            ResponseEntity<byte[]> apiResponse = restTemplate.exchange(
+            // Pipe the PDF from the REST API straight to the client
+            pdfDownloadProxy.pipe(
                     apiBaseUrl + "/bills/service-request/" + serviceId + "/download",
-                    HttpMethod.GET,
-                    entity,
-                    byte[].class
+                    validToken,
+                    ifNoneMatch,
+                    "bill_" + serviceId + ".pdf",
+                    response
             );
-
-            if (apiResponse.getStatusCode().is2xxSuccessful() && apiResponse.getBody() != null) {
-                byte[] pdfBytes = apiResponse.getBody();
-                
-                // Set response headers
-                response.setContentType(MediaType.APPLICATION_PDF_VALUE);
-                
-                // Get content disposition header from API response if available
-                String contentDisposition = null;
-                HttpHeaders apiHeaders = apiResponse.getHeaders();
-                if (apiHeaders != null && apiHeaders.getContentDisposition() != null) {
-                    contentDisposition = apiHeaders.getContentDisposition().toString();
-                }
-                
-                // If content disposition not provided by API, create a default one
-                if (contentDisposition == null) {
-                    contentDisposition = "attachment; filename=bill_" + serviceId + ".pdf";
-                }
-                
-                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
-                response.setContentLength(pdfBytes.length);
-                
-                // Write PDF data to response
-                try (OutputStream out = response.getOutputStream()) {
-                    out.write(pdfBytes);
-                    out.flush();
-                    log.info("Bill PDF successfully sent to client for service ID: {}", serviceId);
-                }
-            } else {
-                log.error("API returned non-success status: {}", apiResponse.getStatusCode());
-                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to get bill from API");
-            }
+            log.info("Bill download for service ID {} finished with status {}", serviceId, response.getStatus());
         } catch (Exception e) {
             log.error("Error downloading bill: {}", e.getMessage(), e);
+            if (response.isCommitted()) {
+                // Part of the PDF was already sent, so there is no status left to change
+                return;
+            }
             try {
                 response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to download bill: " + e.getMessage());
             } catch (IOException ex) {
@@ -1,5 +1,7 @@
 package com.albany.mvc.controller;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.dto.CustomerDTO;
 import com.albany.mvc.service.CustomerService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -22,8 +24,13 @@ public class CustomerApiController {
 
     private final CustomerService customerService;
 
+    /**
+     * A page of customers; the next page's cursor is in X-Next-Cursor
+     */
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllCustomers(
+    public ResponseEntity<List<CustomerDTO>> getCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -35,8 +42,8 @@ public class CustomerApiController {
         }
 
         try {
-            List<Map<String, Object>> customers = customerService.getAllCustomers(validToken);
-            return ResponseEntity.ok(customers);
+            ApiPage<CustomerDTO> customers = customerService.getCustomers(cursor, limit, validToken);
+            return customers.toResponseEntity();
         } catch (Exception e) {
             log.error("Error fetching customers: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
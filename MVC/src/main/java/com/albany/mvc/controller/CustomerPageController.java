@@ -1,5 +1,7 @@
 package com.albany.mvc.controller;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.dto.CustomerDTO;
 import com.albany.mvc.security.JwtUtil;
 import com.albany.mvc.service.CustomerService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,9 +16,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
-import java.util.Map;
-
 @Controller
 @RequestMapping("/admin/customers")
 @RequiredArgsConstructor
@@ -42,10 +41,11 @@ public class CustomerPageController {
         }
 
         try {
-            // Fetch customers from API
-            List<Map<String, Object>> customers = customerService.getAllCustomers(validToken);
-            model.addAttribute("customers", customers);
-            log.info("Loaded {} customers for display", customers.size());
+            // Fetch the first page of customers from API; the page loads the rest from the cursor
+            ApiPage<CustomerDTO> customers = customerService.getCustomers(null, null, validToken);
+            model.addAttribute("customers", customers.rows());
+            model.addAttribute("customersNextCursor", customers.nextCursor());
+            log.info("Loaded {} customers for display", customers.rows().size());
         } catch (Exception e) {
             log.error("Error loading customers: {}", e.getMessage(), e);
             model.addAttribute("error", "Failed to load customers: " + e.getMessage());
@@ -1,5 +1,7 @@
 package com.albany.mvc.controller;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.service.PagedApiReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import java.util.Map;
 public class InventoryController {
 
     private final RestTemplate restTemplate;
+    private final PagedApiReader pagedApiReader;
 
     @Value("${api.base-url}")
     private String apiBaseUrl;
@@ -51,10 +54,12 @@ public class InventoryController {
         return "admin/inventory";
     }
 
-    // API endpoint for getting all inventory items
+    // API endpoint for getting a page of inventory items; the next page's cursor is in X-Next-Cursor
     @GetMapping("/api/items")
     @ResponseBody
-    public ResponseEntity<?> getAllInventoryItems(
+    public ResponseEntity<?> getInventoryItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -76,15 +81,10 @@ public class InventoryController {
             String fullUrl = apiBaseUrl.replace("/api", "") + "/admin/inventory";
             log.debug("Making request to: {}", fullUrl);
 
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    fullUrl,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            );
+            ApiPage<Map<String, Object>> items = pagedApiReader.readPage(fullUrl, entity, cursor, limit);
 
-            log.debug("API response for inventory items: {}", response.getStatusCode());
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
+            log.debug("Fetched {} inventory items", items.rows().size());
+            return items.toResponseEntity();
 
         } catch (Exception e) {
             log.error("Error fetching inventory items: {}", e.getMessage(), e);
@@ -1,5 +1,7 @@
 package com.albany.mvc.controller;
 
+import com.albany.mvc.dto.InventoryItemDTO;
+import com.albany.mvc.dto.VehicleInServiceDTO;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +9,7 @@ import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
@@ -24,6 +27,11 @@ import java.util.Map;
 @Slf4j
 public class ServiceAdvisorApiController {
 
+    private static final ParameterizedTypeReference<List<VehicleInServiceDTO>> VEHICLES =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<InventoryItemDTO>> INVENTORY_ITEMS =
+            new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
@@ -34,7 +42,7 @@ public class ServiceAdvisorApiController {
      * Get assigned vehicles for the authenticated service advisor
      */
     @GetMapping("/assigned-vehicles")
-    public ResponseEntity<List<Map<String, Object>>> getAssignedVehicles(
+    public ResponseEntity<List<VehicleInServiceDTO>> getAssignedVehicles(
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -61,21 +69,17 @@ public class ServiceAdvisorApiController {
             String url = apiBaseUrl + "/serviceAdvisor/dashboard/assigned-vehicles";
             log.debug("Making request to API: {}", url);
 
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<List<VehicleInServiceDTO>> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     entity,
-                    String.class
+                    VEHICLES
             );
 
             log.info("API response status: {}", response.getStatusCode());
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Map<String, Object>> vehicles = objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-                return ResponseEntity.ok(vehicles);
+                return ResponseEntity.ok(response.getBody());
             } else {
                 log.warn("Unexpected response from API: {}", response.getStatusCode());
                 return ResponseEntity.status(response.getStatusCode()).build();
@@ -149,7 +153,7 @@ public class ServiceAdvisorApiController {
      * Get inventory items for dropdown
      */
     @GetMapping("/inventory-items")
-    public ResponseEntity<List<Map<String, Object>>> getInventoryItems(
+    public ResponseEntity<List<InventoryItemDTO>> getInventoryItems(
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -176,21 +180,17 @@ public class ServiceAdvisorApiController {
             String url = apiBaseUrl + "/serviceAdvisor/dashboard/inventory-items";
             log.debug("Making request to API: {}", url);
 
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<List<InventoryItemDTO>> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     entity,
-                    String.class
+                    INVENTORY_ITEMS
             );
 
             log.info("API response status: {}", response.getStatusCode());
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Map<String, Object>> inventoryItems = objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-                return ResponseEntity.ok(inventoryItems);
+                return ResponseEntity.ok(response.getBody());
             } else {
                 log.warn("Unexpected response from API: {}", response.getStatusCode());
                 return ResponseEntity.status(response.getStatusCode()).build();
@@ -1,5 +1,10 @@
 package com.albany.mvc.controller;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.dto.CompletedServiceDTO;
+import com.albany.mvc.dto.SearchSuggestionDTO;
+import com.albany.mvc.dto.VehicleInServiceDTO;
+import com.albany.mvc.service.UpstreamFanOut;
 import com.albany.mvc.service.VehicleTrackingService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -10,7 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,10 +27,12 @@ public class VehicleTrackingApiController {
     private final VehicleTrackingService vehicleTrackingService;
 
     /**
-     * API endpoint to get vehicles under service
+     * API endpoint to get a page of vehicles under service; the next page's cursor is in X-Next-Cursor
      */
     @GetMapping("/under-service")
-    public ResponseEntity<List<Map<String, Object>>> getVehiclesUnderService(
+    public ResponseEntity<List<VehicleInServiceDTO>> getVehiclesUnderService(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -37,15 +43,17 @@ public class VehicleTrackingApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyList());
         }
 
-        List<Map<String, Object>> vehicles = vehicleTrackingService.getVehiclesUnderService(validToken);
-        return ResponseEntity.ok(vehicles);
+        ApiPage<VehicleInServiceDTO> vehicles = vehicleTrackingService.getVehiclesUnderService(cursor, limit, validToken);
+        return vehicles.toResponseEntity();
     }
 
     /**
-     * API endpoint to get completed services
+     * API endpoint to get a page of completed services; the next page's cursor is in X-Next-Cursor
      */
     @GetMapping("/completed-services")
-    public ResponseEntity<List<Map<String, Object>>> getCompletedServices(
+    public ResponseEntity<List<CompletedServiceDTO>> getCompletedServices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -56,8 +64,8 @@ public class VehicleTrackingApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyList());
         }
 
-        List<Map<String, Object>> services = vehicleTrackingService.getCompletedServices(validToken);
-        return ResponseEntity.ok(services);
+        ApiPage<CompletedServiceDTO> services = vehicleTrackingService.getCompletedServices(cursor, limit, validToken);
+        return services.toResponseEntity();
     }
 
     /**
@@ -234,11 +242,13 @@ public class VehicleTrackingApiController {
     }
 
     /**
-     * API endpoint to filter vehicles under service
+     * API endpoint to filter vehicles under service, one page at a time
      */
     @PostMapping("/under-service/filter")
-    public ResponseEntity<List<Map<String, Object>>> filterVehiclesUnderService(
+    public ResponseEntity<List<VehicleInServiceDTO>> filterVehiclesUnderService(
             @RequestBody Map<String, Object> filterCriteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -249,18 +259,20 @@ public class VehicleTrackingApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyList());
         }
 
-        List<Map<String, Object>> filteredVehicles = vehicleTrackingService.filterVehiclesUnderService(
-                filterCriteria, validToken);
+        ApiPage<VehicleInServiceDTO> filteredVehicles = vehicleTrackingService.filterVehiclesUnderService(
+                filterCriteria, cursor, limit, validToken);
 
-        return ResponseEntity.ok(filteredVehicles);
+        return filteredVehicles.toResponseEntity();
     }
 
     /**
-     * API endpoint to filter completed services
+     * API endpoint to filter completed services, one page at a time
      */
     @PostMapping("/completed-services/filter")
-    public ResponseEntity<List<Map<String, Object>>> filterCompletedServices(
+    public ResponseEntity<List<CompletedServiceDTO>> filterCompletedServices(
             @RequestBody Map<String, Object> filterCriteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -271,18 +283,19 @@ public class VehicleTrackingApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyList());
         }
 
-        List<Map<String, Object>> filteredServices = vehicleTrackingService.filterCompletedServices(
-                filterCriteria, validToken);
+        ApiPage<CompletedServiceDTO> filteredServices = vehicleTrackingService.filterCompletedServices(
+                filterCriteria, cursor, limit, validToken);
 
-        return ResponseEntity.ok(filteredServices);
+        return filteredServices.toResponseEntity();
     }
 
     /**
-     * API endpoint to search vehicles and services
+     * API endpoint to search vehicles and services; returns the first page of each list and its next cursor
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, List<Map<String, Object>>>> searchVehiclesAndServices(
+    public ResponseEntity<Map<String, Object>> searchVehiclesAndServices(
             @RequestParam String query,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String token,
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             HttpServletRequest request) {
@@ -293,22 +306,36 @@ public class VehicleTrackingApiController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyMap());
         }
 
-        // Create search criteria
-        Map<String, Object> searchCriteria = Collections.singletonMap("search", query);
+        // Both lists are queried at the same time; either failing fails the search rather than returning half of it
+        try {
+            return ResponseEntity.ok(vehicleTrackingService.searchVehiclesAndServices(query, limit, validToken));
+        } catch (UpstreamFanOut.DeadlineExceededException e) {
+            log.warn("Search for '{}' timed out: {}", query, e.getMessage());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Collections.emptyMap());
+        } catch (UpstreamFanOut.FanOutException e) {
+            log.error("Search for '{}' failed: {}", query, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Collections.emptyMap());
+        }
+    }
 
-        // Get filtered results
-        List<Map<String, Object>> vehiclesUnderService = vehicleTrackingService.filterVehiclesUnderService(
-                searchCriteria, validToken);
+    /**
+     * API endpoint for search box suggestions, answered by the REST API's search index
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<SearchSuggestionDTO>> typeahead(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String token,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletRequest request) {
 
-        List<Map<String, Object>> completedServices = vehicleTrackingService.filterCompletedServices(
-                searchCriteria, validToken);
+        String validToken = getValidToken(token, authHeader, request);
 
-        // Combine results
-        Map<String, List<Map<String, Object>>> results = new HashMap<>();
-        results.put("vehiclesUnderService", vehiclesUnderService);
-        results.put("completedServices", completedServices);
+        if (validToken == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Collections.emptyList());
+        }
 
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(vehicleTrackingService.getSearchSuggestions(query, limit, validToken));
     }
 
     /**
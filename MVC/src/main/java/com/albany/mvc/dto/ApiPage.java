@@ -0,0 +1,28 @@
+package com.albany.mvc.dto;
+
+import com.albany.mvc.service.PagedApiReader;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a REST API list and the token for the page after it (null on the last page)
+ */
+public record ApiPage<T>(List<T> rows, String nextCursor) {
+
+    public static <T> ApiPage<T> empty() {
+        return new ApiPage<>(Collections.emptyList(), null);
+    }
+
+    /**
+     * Relay the page to the browser the way the REST API sends it: rows in the body, token in X-Next-Cursor
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(PagedApiReader.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(rows);
+    }
+}
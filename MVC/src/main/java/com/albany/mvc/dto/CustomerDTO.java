@@ -0,0 +1,36 @@
+package com.albany.mvc.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A row of the REST API's customer list
+ */
+public record CustomerDTO(
+        Integer customerId,
+        Integer userId,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        String street,
+        String city,
+        String state,
+        String postalCode,
+        Integer totalServices,
+        LocalDate lastServiceDate,
+        String membershipStatus,
+        Boolean isActive) {
+
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+    /**
+     * Last service date as shown on the customers page
+     */
+    @JsonProperty
+    public String formattedLastServiceDate() {
+        return lastServiceDate != null ? lastServiceDate.format(DISPLAY_DATE) : "No service yet";
+    }
+}
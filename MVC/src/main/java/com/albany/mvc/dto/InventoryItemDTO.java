@@ -0,0 +1,19 @@
+package com.albany.mvc.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A row of the REST API's inventory lists, with stock figures kept exact
+ */
+public record InventoryItemDTO(
+        Integer itemId,
+        String name,
+        String category,
+        BigDecimal currentStock,
+        BigDecimal reservedStock,
+        BigDecimal availableStock,
+        BigDecimal unitPrice,
+        BigDecimal reorderLevel,
+        String stockStatus,
+        BigDecimal totalValue) {
+}
@@ -0,0 +1,14 @@
+package com.albany.mvc.dto;
+
+/**
+ * A ranked vehicle or customer suggestion from the REST API's search index
+ */
+public record SearchSuggestionDTO(
+        String type,
+        Integer id,
+        String label,
+        String detail,
+        Integer customerId,
+        String customerName,
+        int score) {
+}
@@ -1,30 +1,23 @@
 package com.albany.mvc.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
-@Data
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class VehicleInServiceDTO {
-    private Integer requestId;
-    private String vehicleName;
-    private String registrationNumber;
-    private String serviceAdvisorName;
-    private String serviceAdvisorId;
-    private String status;
-    private LocalDate startDate;
-    private LocalDate estimatedCompletionDate;
-    private String category;
-
-    // Added customer information fields
-    private String customerName;
-    private String customerEmail;
-    private String membershipStatus;
-    private String serviceType;
-    private String additionalDescription;
+/**
+ * A row of the REST API's vehicles-under-service and assigned-vehicles lists
+ */
+public record VehicleInServiceDTO(
+        Integer requestId,
+        String vehicleName,
+        String registrationNumber,
+        String serviceAdvisorName,
+        String serviceAdvisorId,
+        String status,
+        LocalDate startDate,
+        LocalDate estimatedCompletionDate,
+        String category,
+        String customerName,
+        String customerEmail,
+        String membershipStatus,
+        String serviceType,
+        String additionalDescription) {
 }
\ No newline at end of file
@@ -62,8 +62,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (tokenParam != null && !tokenParam.isEmpty()) {
             log.debug("Found token parameter");
 
-            if (jwtUtil.validateToken(tokenParam)) {
-                Authentication auth = jwtUtil.getAuthentication(tokenParam);
+            VerifiedToken verified = jwtUtil.verify(tokenParam);
+            if (verified != null) {
+                Authentication auth = jwtUtil.getAuthentication(verified, tokenParam);
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
                 // Store token in session for future requests
@@ -71,12 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 session.setAttribute("jwt-token", tokenParam);
 
                 // Store user info in session
-                String email = jwtUtil.extractUsername(tokenParam);
-                String firstName = jwtUtil.extractClaim(tokenParam, claims -> claims.get("firstName", String.class));
-                String lastName = jwtUtil.extractClaim(tokenParam, claims -> claims.get("lastName", String.class));
-                if (firstName != null) session.setAttribute("firstName", firstName);
-                if (lastName != null) session.setAttribute("lastName", lastName);
-                if (email != null) session.setAttribute("email", email);
+                storeUserInfo(session, verified);
 
                 log.debug("Valid token parameter, set authentication for user: {}", auth.getName());
                 filterChain.doFilter(request, response);
@@ -90,8 +86,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         HttpSession session = request.getSession(false);
         String sessionToken = session != null ? (String) session.getAttribute("jwt-token") : null;
 
-        if (sessionToken != null && jwtUtil.validateToken(sessionToken)) {
-            Authentication auth = jwtUtil.getAuthentication(sessionToken);
+        VerifiedToken sessionVerified = jwtUtil.verify(sessionToken);
+
+        if (sessionVerified != null) {
+            Authentication auth = jwtUtil.getAuthentication(sessionVerified, sessionToken);
             SecurityContextHolder.getContext().setAuthentication(auth);
             log.debug("Valid session token, set authentication for user: {}", auth.getName());
             filterChain.doFilter(request, response);
@@ -106,8 +104,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             headerToken = authHeader.substring(7);
             log.debug("Found token in Authorization header");
 
-            if (jwtUtil.validateToken(headerToken)) {
-                Authentication auth = jwtUtil.getAuthentication(headerToken);
+            VerifiedToken headerVerified = jwtUtil.verify(headerToken);
+            if (headerVerified != null) {
+                Authentication auth = jwtUtil.getAuthentication(headerVerified, headerToken);
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
                 // Store in session for future requests
@@ -115,12 +114,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     session.setAttribute("jwt-token", headerToken);
 
                     // Store user info in session
-                    String email = jwtUtil.extractUsername(headerToken);
-                    String firstName = jwtUtil.extractClaim(headerToken, claims -> claims.get("firstName", String.class));
-                    String lastName = jwtUtil.extractClaim(headerToken, claims -> claims.get("lastName", String.class));
-                    if (firstName != null) session.setAttribute("firstName", firstName);
-                    if (lastName != null) session.setAttribute("lastName", lastName);
-                    if (email != null) session.setAttribute("email", email);
+                    storeUserInfo(session, headerVerified);
                 }
 
                 log.debug("Valid Authorization header token, set authentication for user: {}", auth.getName());
@@ -148,4 +142,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.sendRedirect(loginRedirectPath);
         }
     }
+
+    private void storeUserInfo(HttpSession session, VerifiedToken verified) {
+        if (verified.firstName() != null) session.setAttribute("firstName", verified.firstName());
+        if (verified.lastName() != null) session.setAttribute("lastName", verified.lastName());
+        if (verified.subject() != null) session.setAttribute("email", verified.subject());
+    }
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.albany.mvc.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,6 +19,8 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 @Component
@@ -25,6 +29,71 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    // Verified tokens are reused across requests until they expire
+    private static final int MAX_CACHED_TOKENS = 1024;
+
+    // The key and parser are immutable, so build them once instead of per token
+    private JwtParser parser;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > MAX_CACHED_TOKENS;
+        }
+    };
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        Key signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Check the token once and return its claims, or null when it is malformed, tampered with or expired.
+     * A token seen before is served from the cache until its expiry without being parsed again.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        VerifiedToken verified;
+        synchronized (verifiedTokens) {
+            verified = verifiedTokens.get(token);
+        }
+        if (verified != null) {
+            if (!verified.isExpired()) {
+                return verified;
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(token);
+            }
+            return null;
+        }
+
+        try {
+            Claims claims = extractAllClaims(token);
+            verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("userId", Integer.class),
+                    claims.get("role", String.class),
+                    claims.get("firstName", String.class),
+                    claims.get("lastName", String.class),
+                    claims.getExpiration()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -39,40 +108,30 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public Boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (JwtException e) {
-            return true;
-        }
+        VerifiedToken verified = verify(token);
+        return verified == null || verified.isExpired();
     }
 
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = verify(token);
+        if (verified == null) {
+            throw new JwtException("Token is invalid or expired");
+        }
+        return getAuthentication(verified, token);
+    }
 
-        String role = claims.get("role", String.class);
+    public Authentication getAuthentication(VerifiedToken verified, String token) {
+        String role = verified.role();
 
         // Normalize role format if it's stored as a string
         if (role != null) {
@@ -86,14 +145,8 @@ public class JwtUtil {
 
         GrantedAuthority authority = new SimpleGrantedAuthority(roleWithPrefix);
 
-        // Extract additional user information if available
-        Integer userId = claims.get("userId", Integer.class);
-        String firstName = claims.get("firstName", String.class);
-        String lastName = claims.get("lastName", String.class);
-        String name = claims.get("name", String.class);
-
         UserDetails principal = User.builder()
-                .username(claims.getSubject())
+                .username(verified.subject())
                 .password("")
                 .authorities(Collections.singletonList(authority))
                 .build();
@@ -102,7 +155,7 @@ public class JwtUtil {
                 new UsernamePasswordAuthenticationToken(principal, token, Collections.singletonList(authority));
 
         // Add user details to authentication token
-        if (userId != null) authToken.setDetails(Collections.singletonMap("userId", userId));
+        if (verified.userId() != null) authToken.setDetails(Collections.singletonMap("userId", verified.userId()));
 
         return authToken;
     }
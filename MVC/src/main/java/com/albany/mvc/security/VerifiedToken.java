@@ -0,0 +1,20 @@
+package com.albany.mvc.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked, read from a single parse.
+ */
+public record VerifiedToken(
+        String subject,
+        Integer userId,
+        String role,
+        String firstName,
+        String lastName,
+        Date expiration
+) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
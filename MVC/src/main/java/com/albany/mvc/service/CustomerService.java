@@ -1,10 +1,13 @@
 package com.albany.mvc.service;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.dto.CustomerDTO;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -21,44 +24,28 @@ import java.util.Map;
 @Slf4j
 public class CustomerService {
 
+    private static final ParameterizedTypeReference<List<CustomerDTO>> CUSTOMERS = new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final PagedApiReader pagedApiReader;
 
     @Value("${api.base-url}")
     private String apiBaseUrl;
 
     /**
-     * Get all customers from API
+     * Get one page of customers from API, starting at the given cursor (null for the first page);
+     * each row carries its display-formatted last service date
      */
-    public List<Map<String, Object>> getAllCustomers(String token) {
+    public ApiPage<CustomerDTO> getCustomers(String cursor, Integer limit, String token) {
         try {
             HttpHeaders headers = createAuthHeaders(token);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiBaseUrl + "/customers",
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Map<String, Object>> customers = objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-
-                // Process each customer to format dates properly
-                customers.forEach(this::processCustomerDates);
-
-                return customers;
-            } else {
-                log.warn("Unexpected response status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
+            return pagedApiReader.readPage(apiBaseUrl + "/customers", entity, cursor, limit, CUSTOMERS);
         } catch (Exception e) {
             log.error("Error fetching customers: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            return ApiPage.empty();
         }
     }
 
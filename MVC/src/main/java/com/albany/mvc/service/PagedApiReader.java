@@ -0,0 +1,85 @@
+package com.albany.mvc.service;
+
+import com.albany.mvc.dto.ApiPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads one page of a keyset-paged list endpoint of the REST API.
+ * The caller passes the browser's cursor/limit through and hands the X-Next-Cursor token back,
+ * so a request never holds more than one page of a list.
+ * Pages are read from the response stream straight into the requested row type.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PagedApiReader {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> MAP_ROWS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+
+    /**
+     * Read the page of a GET list that starts at the given cursor (null for the first page)
+     */
+    public ApiPage<Map<String, Object>> readPage(String url, HttpEntity<Void> entity, String cursor, Integer limit) {
+        return readPage(url, HttpMethod.GET, entity, cursor, limit, MAP_ROWS);
+    }
+
+    /**
+     * Same as above, reading each row into the given type
+     */
+    public <T> ApiPage<T> readPage(String url, HttpEntity<Void> entity, String cursor, Integer limit,
+                                   ParameterizedTypeReference<List<T>> rowsType) {
+        return readPage(url, HttpMethod.GET, entity, cursor, limit, rowsType);
+    }
+
+    /**
+     * Same as above for list endpoints that take their criteria in the request body (e.g. POST filters)
+     */
+    public <T> ApiPage<T> readPage(String url, HttpMethod method, HttpEntity<?> entity, String cursor, Integer limit,
+                                   ParameterizedTypeReference<List<T>> rowsType) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(url)
+                .queryParam("limit", clampLimit(limit));
+        if (cursor != null && !cursor.isEmpty()) {
+            uri.queryParam("cursor", cursor);
+        }
+
+        ResponseEntity<List<T>> response = restTemplate.exchange(
+                uri.encode().build().toUriString(),
+                method,
+                entity,
+                rowsType
+        );
+
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            log.warn("Unexpected response status while paging {}: {}", url, response.getStatusCode());
+            return ApiPage.empty();
+        }
+
+        return new ApiPage<>(response.getBody(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+    }
+
+    static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
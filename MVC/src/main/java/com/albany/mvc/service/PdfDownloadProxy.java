@@ -0,0 +1,107 @@
+package com.albany.mvc.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Pipes PDF downloads from the REST API to the browser.
+ * The upstream body is copied to the servlet stream as it arrives, so memory per download stays constant.
+ * Error statuses are relayed too, so a missing invoice reaches the browser as a 404 rather than a 500.
+ */
+@Component
+@Slf4j
+public class PdfDownloadProxy {
+
+    // Lets every status through to the response extractor instead of throwing on 4xx and 5xx
+    private static final DefaultResponseErrorHandler PASS_THROUGH = new DefaultResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+    };
+
+    private final RestTemplate restTemplate;
+
+    public PdfDownloadProxy(RestTemplate restTemplate) {
+        // Same connection pool and interceptors as the shared template, which keeps its default error handling
+        this.restTemplate = new RestTemplate(restTemplate.getRequestFactory());
+        this.restTemplate.setUriTemplateHandler(restTemplate.getUriTemplateHandler());
+        this.restTemplate.setErrorHandler(PASS_THROUGH);
+    }
+
+    /**
+     * Stream the PDF at {@code url} into the response.
+     * A conditional request is passed through, so a 304 from the API reaches the browser as a 304.
+     */
+    public void pipe(String url, String token, String ifNoneMatch, String defaultFilename,
+                     HttpServletResponse response) {
+        restTemplate.execute(url, HttpMethod.GET,
+                apiRequest -> {
+                    HttpHeaders headers = apiRequest.getHeaders();
+                    headers.setBearerAuth(token);
+                    headers.setAccept(List.of(MediaType.APPLICATION_PDF, MediaType.ALL));
+                    if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                    }
+                },
+                apiResponse -> {
+                    copy(apiResponse, response, defaultFilename);
+                    return null;
+                });
+    }
+
+    private void copy(ClientHttpResponse apiResponse, HttpServletResponse response, String defaultFilename)
+            throws IOException {
+        HttpHeaders apiHeaders = apiResponse.getHeaders();
+        copyHeader(apiHeaders, response, HttpHeaders.ETAG);
+        copyHeader(apiHeaders, response, HttpHeaders.CACHE_CONTROL);
+
+        if (apiResponse.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (!apiResponse.getStatusCode().is2xxSuccessful()) {
+            log.error("API returned non-success status: {}", apiResponse.getStatusCode());
+            response.sendError(apiResponse.getStatusCode().value(), "Failed to get PDF from API");
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+
+        // Use the API's file name when it provides one
+        ContentDisposition contentDisposition = apiHeaders.getContentDisposition();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.getType() != null ?
+                contentDisposition.toString() :
+                "attachment; filename=" + defaultFilename);
+
+        // Rendered PDFs are sent chunked, cached ones may come with a length
+        if (apiHeaders.getContentLength() >= 0) {
+            response.setContentLengthLong(apiHeaders.getContentLength());
+        }
+
+        int copied = StreamUtils.copy(apiResponse.getBody(), response.getOutputStream());
+        response.flushBuffer();
+        log.debug("Streamed {} bytes of {}", copied, defaultFilename);
+    }
+
+    private void copyHeader(HttpHeaders apiHeaders, HttpServletResponse response, String name) {
+        String value = apiHeaders.getFirst(name);
+        if (value != null) {
+            response.setHeader(name, value);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.albany.mvc.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent REST API calls of one page at the same time, each on its own virtual thread,
+ * so the page waits for the slowest call rather than the sum of them.
+ * <pre>
+ * try (UpstreamFanOut.Scope scope = upstreamFanOut.open()) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();
+ *     use(a.get(), b.get());
+ * }
+ * </pre>
+ * All calls of a scope share one deadline. The first call to fail, or the deadline passing, cancels the
+ * calls still running; a virtual thread interrupted in a socket read closes the socket and returns at once.
+ */
+@Component
+public class UpstreamFanOut {
+
+    private final Duration deadline;
+
+    public UpstreamFanOut(@Value("${upstream.fan-out.deadline:20s}") Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public Scope open() {
+        return new Scope(System.nanoTime() + deadline.toNanos());
+    }
+
+    /**
+     * The calls of one page. Not thread safe: fork, join and close from the thread that opened it.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        // Read by forks that fail, to cancel their siblings
+        private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private boolean joined;
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Start a call; its result is available from the returned supplier once {@link #join()} returned
+         */
+        public <T> Supplier<T> fork(Callable<T> call) {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return call.call();
+                } catch (Throwable e) {
+                    if (failure.compareAndSet(null, e)) {
+                        cancelAll();
+                    }
+                    throw e;
+                }
+            });
+            forks.add(future);
+            if (failure.get() != null) {
+                future.cancel(true);
+            }
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("Results are available after join()");
+                }
+                return future.resultNow();
+            };
+        }
+
+        /**
+         * Wait for every call, failing with the first error, or with {@link DeadlineExceededException}
+         * when the deadline passes
+         */
+        public void join() throws InterruptedException {
+            try {
+                for (Future<?> fork : forks) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    try {
+                        fork.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                    } catch (ExecutionException | CancellationException e) {
+                        // Cancelled forks were stopped by a sibling's failure, which is reported below
+                        break;
+                    } catch (TimeoutException e) {
+                        cancelAll();
+                        throw new DeadlineExceededException("Upstream calls did not finish before the deadline", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+
+            Throwable firstFailure = failure.get();
+            if (firstFailure != null) {
+                throw new FanOutException("Upstream call failed: " + firstFailure.getMessage(), firstFailure);
+            }
+            joined = true;
+        }
+
+        /**
+         * Cancel whatever is still running and wait for the threads to end
+         */
+        @Override
+        public void close() {
+            cancelAll();
+            executor.close();
+        }
+
+        private void cancelAll() {
+            for (Future<?> fork : forks) {
+                fork.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A call of the scope failed or the scope ran out of time
+     */
+    public static class FanOutException extends RuntimeException {
+
+        public FanOutException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * The scope ran out of time before every call finished
+     */
+    public static class DeadlineExceededException extends FanOutException {
+
+        public DeadlineExceededException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
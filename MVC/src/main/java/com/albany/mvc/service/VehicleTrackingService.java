@@ -1,87 +1,77 @@
 package com.albany.mvc.service;
 
+import com.albany.mvc.dto.ApiPage;
+import com.albany.mvc.dto.CompletedServiceDTO;
+import com.albany.mvc.dto.SearchSuggestionDTO;
+import com.albany.mvc.dto.VehicleInServiceDTO;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VehicleTrackingService {
 
+    private static final ParameterizedTypeReference<List<VehicleInServiceDTO>> VEHICLES_IN_SERVICE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<CompletedServiceDTO>> COMPLETED_SERVICES =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<SearchSuggestionDTO>> SUGGESTIONS =
+            new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final PagedApiReader pagedApiReader;
+    private final UpstreamFanOut upstreamFanOut;
 
     @Value("${api.base-url}")
     private String apiBaseUrl;
 
     /**
-     * Get all vehicles under service
+     * Get one page of vehicles under service, starting at the given cursor (null for the first page)
      */
-    public List<Map<String, Object>> getVehiclesUnderService(String token) {
+    public ApiPage<VehicleInServiceDTO> getVehiclesUnderService(String cursor, Integer limit, String token) {
         try {
             HttpHeaders headers = createAuthHeaders(token);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiBaseUrl + "/vehicle-tracking/vehicles-under-service",
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-            } else {
-                log.warn("Unexpected response status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
+            return pagedApiReader.readPage(
+                    apiBaseUrl + "/vehicle-tracking/vehicles-under-service", entity, cursor, limit,
+                    VEHICLES_IN_SERVICE);
         } catch (Exception e) {
             log.error("Error fetching vehicles under service: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            return ApiPage.empty();
         }
     }
 
     /**
-     * Get all completed services
+     * Get one page of completed services, starting at the given cursor (null for the first page)
      */
-    public List<Map<String, Object>> getCompletedServices(String token) {
+    public ApiPage<CompletedServiceDTO> getCompletedServices(String cursor, Integer limit, String token) {
         try {
             HttpHeaders headers = createAuthHeaders(token);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiBaseUrl + "/vehicle-tracking/completed-services",
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-            } else {
-                log.warn("Unexpected response status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
+            return pagedApiReader.readPage(
+                    apiBaseUrl + "/vehicle-tracking/completed-services", entity, cursor, limit,
+                    COMPLETED_SERVICES);
         } catch (Exception e) {
             log.error("Error fetching completed services: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            return ApiPage.empty();
         }
     }
 
@@ -277,93 +267,112 @@ public class VehicleTrackingService {
     }
 
     /**
-     * Filter vehicles under service
+     * Filter vehicles under service, one page at a time
      */
-    public List<Map<String, Object>> filterVehiclesUnderService(Map<String, Object> filterCriteria, String token) {
+    public ApiPage<VehicleInServiceDTO> filterVehiclesUnderService(Map<String, Object> filterCriteria,
+                                                                   String cursor, Integer limit, String token) {
         try {
-            HttpHeaders headers = createAuthHeaders(token);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(filterCriteria, headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiBaseUrl + "/vehicle-tracking/vehicles-under-service/filter",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-            } else {
-                log.warn("Unexpected response status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
+            return readVehiclesUnderServiceFilter(filterCriteria, cursor, limit, token);
         } catch (Exception e) {
             log.error("Error filtering vehicles: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            return ApiPage.empty();
         }
     }
 
     /**
-     * Filter completed services
+     * Filter completed services, one page at a time
      */
-    public List<Map<String, Object>> filterCompletedServices(Map<String, Object> filterCriteria, String token) {
+    public ApiPage<CompletedServiceDTO> filterCompletedServices(Map<String, Object> filterCriteria,
+                                                                String cursor, Integer limit, String token) {
         try {
-            HttpHeaders headers = createAuthHeaders(token);
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            return readCompletedServicesFilter(filterCriteria, cursor, limit, token);
+        } catch (Exception e) {
+            log.error("Error filtering services: {}", e.getMessage(), e);
+            return ApiPage.empty();
+        }
+    }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(filterCriteria, headers);
+    // Filter calls that let errors through, so a failing fork fails the search and stops its sibling
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiBaseUrl + "/vehicle-tracking/completed-services/filter",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
+    private ApiPage<VehicleInServiceDTO> readVehiclesUnderServiceFilter(Map<String, Object> filterCriteria,
+                                                                        String cursor, Integer limit, String token) {
+        HttpHeaders headers = createAuthHeaders(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return objectMapper.readValue(
-                        response.getBody(),
-                        new TypeReference<List<Map<String, Object>>>() {}
-                );
-            } else {
-                log.warn("Unexpected response status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
-        } catch (Exception e) {
-            log.error("Error filtering services: {}", e.getMessage(), e);
-            return Collections.emptyList();
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(filterCriteria, headers);
+
+        return pagedApiReader.readPage(
+                apiBaseUrl + "/vehicle-tracking/vehicles-under-service/filter", HttpMethod.POST, entity,
+                cursor, limit, VEHICLES_IN_SERVICE);
+    }
+
+    private ApiPage<CompletedServiceDTO> readCompletedServicesFilter(Map<String, Object> filterCriteria,
+                                                                     String cursor, Integer limit, String token) {
+        HttpHeaders headers = createAuthHeaders(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(filterCriteria, headers);
+
+        return pagedApiReader.readPage(
+                apiBaseUrl + "/vehicle-tracking/completed-services/filter", HttpMethod.POST, entity,
+                cursor, limit, COMPLETED_SERVICES);
+    }
+
+    /**
+     * Search vehicles under service and completed services, querying the first page of both lists at the same time.
+     * Further pages are read through the filter endpoints with the returned cursors and the same search criteria.
+     * Partial results are never returned: throws {@link UpstreamFanOut.DeadlineExceededException} when the fan-out
+     * deadline passes and {@link UpstreamFanOut.FanOutException} when either list fails.
+     */
+    public Map<String, Object> searchVehiclesAndServices(String query, Integer limit, String token) {
+        Map<String, Object> searchCriteria = Collections.singletonMap("search", query);
+
+        try (UpstreamFanOut.Scope scope = upstreamFanOut.open()) {
+            Supplier<ApiPage<VehicleInServiceDTO>> vehiclesUnderService =
+                    scope.fork(() -> readVehiclesUnderServiceFilter(searchCriteria, null, limit, token));
+            Supplier<ApiPage<CompletedServiceDTO>> completedServices =
+                    scope.fork(() -> readCompletedServicesFilter(searchCriteria, null, limit, token));
+            scope.join();
+
+            // Combine results
+            Map<String, Object> results = new HashMap<>();
+            results.put("vehiclesUnderService", vehiclesUnderService.get().rows());
+            results.put("vehiclesUnderServiceNextCursor", vehiclesUnderService.get().nextCursor());
+            results.put("completedServices", completedServices.get().rows());
+            results.put("completedServicesNextCursor", completedServices.get().nextCursor());
+
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamFanOut.FanOutException("Interrupted while searching vehicles and services", e);
         }
     }
 
     /**
-     * Search for vehicles and services
+     * Ranked typeahead suggestions for a registration, vehicle or customer name fragment
      */
-    public Map<String, List<Map<String, Object>>> searchVehiclesAndServices(String query, String token) {
+    public List<SearchSuggestionDTO> getSearchSuggestions(String query, Integer limit, String token) {
         try {
             HttpHeaders headers = createAuthHeaders(token);
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            Map<String, Object> searchCriteria = Collections.singletonMap("search", query);
-
-            // Get vehicles under service matching the search
-            List<Map<String, Object>> vehiclesUnderService = filterVehiclesUnderService(searchCriteria, token);
-
-            // Get completed services matching the search
-            List<Map<String, Object>> completedServices = filterCompletedServices(searchCriteria, token);
+            UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(apiBaseUrl + "/search/typeahead")
+                    .queryParam("q", query);
+            if (limit != null) {
+                uri.queryParam("limit", limit);
+            }
 
-            // Combine results
-            Map<String, List<Map<String, Object>>> results = new HashMap<>();
-            results.put("vehiclesUnderService", vehiclesUnderService);
-            results.put("completedServices", completedServices);
+            ResponseEntity<List<SearchSuggestionDTO>> response = restTemplate.exchange(
+                    uri.encode().build().toUriString(),
+                    HttpMethod.GET,
+                    entity,
+                    SUGGESTIONS
+            );
 
-            return results;
+            return response.getBody() != null ? response.getBody() : Collections.emptyList();
         } catch (Exception e) {
-            log.error("Error searching vehicles and services: {}", e.getMessage(), e);
-            return Collections.emptyMap();
+            log.error("Error fetching search suggestions: {}", e.getMessage(), e);
+            return Collections.emptyList();
         }
     }
 
@@ -0,0 +1,74 @@
+package com.albany.mvc.config;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Paths pick up the timeout of the first group that matches them and the client defaults otherwise.
+ */
+class UpstreamHttpConfigTest {
+
+    private final UpstreamHttpProperties properties = new UpstreamHttpProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.getGroups().put("pdf", group(Duration.ofSeconds(60),
+                "/api/invoices/**", "/api/vehicle-tracking/service-request/*/invoice"));
+        properties.getGroups().put("reports", group(Duration.ofSeconds(30), "/api/invoices/summary", "/api/reports/**"));
+    }
+
+    @Test
+    void matchingPathsGetTheirGroupTimeout() {
+        assertResponseTimeout(Duration.ofSeconds(60), "/api/invoices/7/download");
+        assertResponseTimeout(Duration.ofSeconds(60), "/api/vehicle-tracking/service-request/3/invoice");
+        assertResponseTimeout(Duration.ofSeconds(30), "/api/reports/monthly");
+
+        RequestConfig config = UpstreamHttpConfig.groupRequestConfig(properties, "/api/reports/monthly");
+        assertEquals(Timeout.of(properties.getPoolTimeout()), config.getConnectionRequestTimeout());
+    }
+
+    @Test
+    void firstMatchingGroupWins() {
+        // Both groups match; the one declared first decides
+        assertResponseTimeout(Duration.ofSeconds(60), "/api/invoices/summary");
+    }
+
+    @Test
+    void unmatchedPathsFallBackToTheClientDefaults() {
+        assertNull(UpstreamHttpConfig.groupRequestConfig(properties, "/api/customers"));
+
+        // A single * matches one path segment only
+        assertNull(UpstreamHttpConfig.groupRequestConfig(properties, "/api/vehicle-tracking/service-request/3/4/invoice"));
+    }
+
+    @Test
+    void groupsWithoutATimeoutAreSkipped() {
+        properties.getGroups().clear();
+        properties.getGroups().put("untimed", group(null, "/api/customers/**"));
+        properties.getGroups().put("customers", group(Duration.ofSeconds(5), "/api/customers/**"));
+
+        assertResponseTimeout(Duration.ofSeconds(5), "/api/customers/12");
+    }
+
+    private void assertResponseTimeout(Duration expected, String path) {
+        RequestConfig config = UpstreamHttpConfig.groupRequestConfig(properties, path);
+        assertNotNull(config, "no group matched " + path);
+        assertEquals(Timeout.of(expected), config.getResponseTimeout(), path);
+    }
+
+    private static UpstreamHttpProperties.Group group(Duration responseTimeout, String... paths) {
+        UpstreamHttpProperties.Group group = new UpstreamHttpProperties.Group();
+        group.setPaths(List.of(paths));
+        group.setResponseTimeout(responseTimeout);
+        return group;
+    }
+}
@@ -0,0 +1,85 @@
+package com.albany.mvc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Forked calls run side by side, and a failure or the deadline stops the rest.
+ */
+class UpstreamFanOutTest {
+
+    private final UpstreamFanOut fanOut = new UpstreamFanOut(Duration.ofSeconds(5));
+
+    @Test
+    void callsRunConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (UpstreamFanOut.Scope scope = fanOut.open()) {
+            // Each call only finishes once the other one has started
+            Supplier<String> first = scope.fork(() -> awaitSibling(bothStarted, "first"));
+            Supplier<String> second = scope.fork(() -> awaitSibling(bothStarted, "second"));
+            scope.join();
+
+            assertEquals("first", first.get());
+            assertEquals("second", second.get());
+        }
+    }
+
+    @Test
+    void failureCancelsSiblings() {
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+
+        try (UpstreamFanOut.Scope scope = fanOut.open()) {
+            scope.fork(() -> {
+                siblingStarted.countDown();
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    siblingInterrupted.set(true);
+                    throw e;
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                siblingStarted.await();
+                throw new IllegalStateException("upstream returned 500");
+            });
+
+            UpstreamFanOut.FanOutException error = assertThrows(UpstreamFanOut.FanOutException.class, scope::join);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+
+        assertTrue(siblingInterrupted.get(), "the slow call should have been interrupted");
+    }
+
+    @Test
+    void deadlineStopsSlowCalls() {
+        UpstreamFanOut shortDeadline = new UpstreamFanOut(Duration.ofMillis(100));
+
+        try (UpstreamFanOut.Scope scope = shortDeadline.open()) {
+            Supplier<String> slow = scope.fork(() -> {
+                Thread.sleep(Duration.ofSeconds(30));
+                return "slow";
+            });
+
+            assertThrows(UpstreamFanOut.DeadlineExceededException.class, scope::join);
+            assertThrows(IllegalStateException.class, slow::get);
+        }
+    }
+
+    private static String awaitSibling(CountDownLatch bothStarted, String result) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("calls ran one after another");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package com.albany.mvc.service;
+
+import com.albany.mvc.dto.ApiPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The search reads both lists at once and fails as a whole when either of them fails or runs out of time.
+ */
+class VehicleTrackingServiceSearchTest {
+
+    private static final String UNDER_SERVICE = "vehicles-under-service/filter";
+    private static final String COMPLETED = "completed-services/filter";
+
+    private final PagedApiReader pagedApiReader = mock(PagedApiReader.class);
+
+    private VehicleTrackingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = serviceWithDeadline(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void bothListsAreReturnedWithTheirCursors() {
+        when(pagedApiReader.readPage(contains(UNDER_SERVICE), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenReturn(new ApiPage<>(List.of(), "next-under-service"));
+        when(pagedApiReader.readPage(contains(COMPLETED), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenReturn(new ApiPage<>(List.of(), null));
+
+        Map<String, Object> results = service.searchVehiclesAndServices("KA01", null, "token");
+
+        assertEquals("next-under-service", results.get("vehiclesUnderServiceNextCursor"));
+        assertEquals(List.of(), results.get("completedServices"));
+        assertNull(results.get("completedServicesNextCursor"));
+    }
+
+    @Test
+    void failedListCancelsTheOtherAndFailsTheSearch() {
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+
+        when(pagedApiReader.readPage(contains(UNDER_SERVICE), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    siblingStarted.countDown();
+                    try {
+                        Thread.sleep(Duration.ofSeconds(30));
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.set(true);
+                        throw e;
+                    }
+                    return ApiPage.empty();
+                });
+        when(pagedApiReader.readPage(contains(COMPLETED), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    siblingStarted.await();
+                    throw new ResourceAccessException("connection refused");
+                });
+
+        UpstreamFanOut.FanOutException error = assertThrows(UpstreamFanOut.FanOutException.class,
+                () -> service.searchVehiclesAndServices("KA01", null, "token"));
+        assertFalse(error instanceof UpstreamFanOut.DeadlineExceededException);
+        assertTrue(siblingInterrupted.get(), "the other list should have been cancelled");
+    }
+
+    @Test
+    void deadlineFailsTheSearchInsteadOfReturningPartialResults() {
+        VehicleTrackingService shortDeadline = serviceWithDeadline(Duration.ofMillis(100));
+
+        when(pagedApiReader.readPage(contains(UNDER_SERVICE), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenReturn(ApiPage.empty());
+        when(pagedApiReader.readPage(contains(COMPLETED), eq(HttpMethod.POST), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(Duration.ofSeconds(30));
+                    return ApiPage.empty();
+                });
+
+        assertThrows(UpstreamFanOut.DeadlineExceededException.class,
+                () -> shortDeadline.searchVehiclesAndServices("KA01", null, "token"));
+    }
+
+    private VehicleTrackingService serviceWithDeadline(Duration deadline) {
+        VehicleTrackingService vehicleTrackingService = new VehicleTrackingService(
+                mock(RestTemplate.class), new ObjectMapper(), pagedApiReader, new UpstreamFanOut(deadline));
+        ReflectionTestUtils.setField(vehicleTrackingService, "apiBaseUrl", "http://localhost:8080/api");
+        return vehicleTrackingService;
+    }
+}
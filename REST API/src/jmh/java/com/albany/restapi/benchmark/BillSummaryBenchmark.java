@@ -0,0 +1,82 @@
+package com.albany.restapi.benchmark;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.dto.ServiceBillSummaryDTO;
+import com.albany.restapi.model.MaterialUsage;
+import com.albany.restapi.model.ServiceAdvisorProfile;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.*;
+import com.albany.restapi.service.ServiceAdvisorDashboardService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The advisor's bill summary: per-line BigDecimal totals, labor lines, the subtotals read through findBillTotals
+ * and the tax and total arithmetic
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BillSummaryBenchmark {
+
+    @Param({"6", "40"})
+    public int lines;
+
+    private ServiceAdvisorDashboardService dashboardService;
+    private ServiceAdvisorProfile advisor;
+    private Integer requestId;
+
+    @Setup
+    public void setUp() {
+        advisor = Workshop.advisor(1);
+        ServiceRequest request = Workshop.serviceRequests(1, ServiceRequest.Status.Repair, advisor).get(0);
+        requestId = request.getRequestId();
+
+        List<MaterialUsage> materials = Workshop.materials(request, lines);
+        List<LaborCharge> laborCharges = Workshop.laborCharges(requestId, Math.max(1, lines / 2));
+        // The running totals the parts and labor writes keep on the request row
+        request.setPartsSubtotal(Workshop.partsTotal(materials));
+        request.setLaborSubtotal(Workshop.laborTotal(laborCharges));
+
+        Map<Integer, ServiceRequest> requests = Map.of(requestId, request);
+        ServiceRequestRepository serviceRequestRepository = InMemoryRepository.of(ServiceRequestRepository.class)
+                .on("findById", args -> Optional.ofNullable(requests.get(args[0])))
+                // Read from the stored row each time, as the projection query does
+                .on("findBillTotals", args -> Optional.ofNullable(requests.get(args[0]))
+                        .map(row -> Workshop.billTotals(row.getPartsSubtotal(), row.getLaborSubtotal())))
+                .build();
+        MaterialUsageRepository materialUsageRepository = InMemoryRepository.of(MaterialUsageRepository.class)
+                .on("findByServiceRequest_RequestId", args -> requestId.equals(args[0]) ? materials : List.of())
+                .build();
+        LaborChargeRepository laborChargeRepository = InMemoryRepository.of(LaborChargeRepository.class)
+                .on("findByRequestIdOrderByChargeIdAsc", args -> requestId.equals(args[0]) ? laborCharges : List.of())
+                .build();
+        ServiceTrackingRepository serviceTrackingRepository = InMemoryRepository.of(ServiceTrackingRepository.class)
+                .on("findLatestWorkDescription", args -> requestId.equals(args[0])
+                        ? Optional.of("Replaced front brake pads and topped up brake fluid") : Optional.empty())
+                .build();
+
+        // Reservations, totals and email are not on the read path
+        dashboardService = new ServiceAdvisorDashboardService(
+                serviceRequestRepository,
+                materialUsageRepository,
+                InMemoryRepository.of(InventoryItemRepository.class).build(),
+                serviceTrackingRepository,
+                laborChargeRepository,
+                null,
+                null,
+                null);
+    }
+
+    @Benchmark
+    public ServiceBillSummaryDTO billSummary() {
+        return dashboardService.getBillSummary(requestId, advisor);
+    }
+}
@@ -0,0 +1,51 @@
+package com.albany.restapi.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A repository for the benchmarks that answers the queries a benchmark registers from in-memory data,
+ * by method name, and fails on any other call so an unplanned query shows up instead of returning null.
+ * Nothing about the calls is recorded, so it does not grow across iterations.
+ */
+final class InMemoryRepository<T> {
+
+    private final Class<T> type;
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+    private InMemoryRepository(Class<T> type) {
+        this.type = type;
+    }
+
+    static <T> InMemoryRepository<T> of(Class<T> type) {
+        return new InMemoryRepository<>(type);
+    }
+
+    /**
+     * Answer every call of the named query with {@code answer} applied to its arguments
+     */
+    InMemoryRepository<T> on(String method, Function<Object[], Object> answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    T build() {
+        Map<String, Function<Object[], Object>> registered = Map.copyOf(answers);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = registered.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "toString" -> "InMemory" + type.getSimpleName();
+                        default -> throw new UnsupportedOperationException(
+                                type.getSimpleName() + "." + method.getName() + " is not set up for this benchmark");
+                    };
+                }));
+    }
+}
@@ -0,0 +1,88 @@
+package com.albany.restapi.benchmark;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.model.Invoice;
+import com.albany.restapi.model.MaterialUsage;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.CustomerProfileRepository;
+import com.albany.restapi.repository.InventoryItemRepository;
+import com.albany.restapi.repository.LaborChargeRepository;
+import com.albany.restapi.repository.MaterialUsageRepository;
+import com.albany.restapi.service.InvoiceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a whole invoice PDF, from loading its lines to the final bytes, for a short and a long job card
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InvoicePdfBenchmark {
+
+    // Parts lines on the invoice; labor runs at about half that
+    @Param({"6", "40"})
+    public int lines;
+
+    @Param({"Standard", "Premium"})
+    public String membership;
+
+    private InvoiceService invoiceService;
+    private Invoice invoice;
+    private ServiceRequest serviceRequest;
+
+    @Setup
+    public void setUp() {
+        serviceRequest = Workshop.serviceRequests(1, ServiceRequest.Status.Completed, Workshop.advisor(1)).get(0);
+        serviceRequest.getVehicle().getCustomer().setMembershipStatus(membership);
+
+        List<MaterialUsage> materials = Workshop.materials(serviceRequest, lines);
+        List<LaborCharge> laborCharges = Workshop.laborCharges(serviceRequest.getRequestId(), Math.max(1, lines / 2));
+        serviceRequest.setPartsSubtotal(Workshop.partsTotal(materials));
+        serviceRequest.setLaborSubtotal(Workshop.laborTotal(laborCharges));
+
+        invoice = Invoice.builder()
+                .invoiceId(501)
+                .requestId(serviceRequest.getRequestId())
+                .invoiceDate(LocalDateTime.of(2025, 3, 4, 17, 0))
+                .isDownloadable(true)
+                .build();
+
+        Integer requestId = serviceRequest.getRequestId();
+        MaterialUsageRepository materialUsageRepository = InMemoryRepository.of(MaterialUsageRepository.class)
+                .on("findByServiceRequest_RequestId", args -> requestId.equals(args[0]) ? materials : List.of())
+                .build();
+        LaborChargeRepository laborChargeRepository = InMemoryRepository.of(LaborChargeRepository.class)
+                .on("findByRequestIdOrderByChargeIdAsc", args -> requestId.equals(args[0]) ? laborCharges : List.of())
+                .build();
+
+        // The PDF cache sits in front of generateInvoicePdf and is not on the measured path
+        invoiceService = new InvoiceService(
+                laborChargeRepository,
+                materialUsageRepository,
+                InMemoryRepository.of(InventoryItemRepository.class).build(),
+                InMemoryRepository.of(CustomerProfileRepository.class).build(),
+                null,
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public byte[] generateInvoicePdf() {
+        return invoiceService.generateInvoicePdf(invoice, serviceRequest);
+    }
+
+    /**
+     * Loading and fingerprinting alone, which runs on every download even when the cached PDF is served
+     */
+    @Benchmark
+    public InvoiceService.InvoiceContent loadInvoiceContent() {
+        return invoiceService.loadInvoiceContent(invoice, serviceRequest);
+    }
+}
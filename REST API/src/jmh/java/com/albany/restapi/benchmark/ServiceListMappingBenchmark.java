@@ -0,0 +1,110 @@
+package com.albany.restapi.benchmark;
+
+import com.albany.restapi.dto.CompletedServiceDTO;
+import com.albany.restapi.dto.CursorPage;
+import com.albany.restapi.dto.DashboardDTO;
+import com.albany.restapi.dto.VehicleInServiceDTO;
+import com.albany.restapi.model.ServiceAdvisorProfile;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.*;
+import com.albany.restapi.service.DashboardService;
+import com.albany.restapi.service.VehicleTrackingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The loops that turn list rows into DTOs for the admin dashboard and the vehicle tracking pages.
+ * Repositories return prepared rows, so only the mapping and per-row cost arithmetic is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceListMappingBenchmark {
+
+    // Rows per list; 50 is the default page size and 200 the largest page a client may ask for
+    @Param({"50", "200"})
+    public int rows;
+
+    private DashboardService dashboardService;
+    private VehicleTrackingService vehicleTrackingService;
+
+    @Setup
+    public void setUp() {
+        Map<Set<ServiceRequest.Status>, List<ServiceRequestListView>> listViews = Map.of(
+                EnumSet.of(ServiceRequest.Status.Received),
+                Workshop.listViews(rows, ServiceRequest.Status.Received),
+                EnumSet.of(ServiceRequest.Status.Diagnosis, ServiceRequest.Status.Repair),
+                Workshop.listViews(rows, ServiceRequest.Status.Repair),
+                EnumSet.of(ServiceRequest.Status.Completed),
+                Workshop.listViews(rows, ServiceRequest.Status.Completed));
+        List<ServiceRequestStatusBucket> statusBuckets = Workshop.statusBuckets();
+        ServiceRequestRepository dashboardRepository = InMemoryRepository.of(ServiceRequestRepository.class)
+                .on("aggregateByStatus", args -> statusBuckets)
+                .on("findListViewsByStatusIn", args -> listViews.getOrDefault(args[0], List.of()))
+                .build();
+        dashboardService = new DashboardService(dashboardRepository);
+
+        ServiceAdvisorProfile advisor = Workshop.advisor(1);
+        List<ServiceRequest> active = Workshop.serviceRequests(rows, ServiceRequest.Status.Repair, advisor);
+        List<ServiceRequest> completed = Workshop.serviceRequests(rows, ServiceRequest.Status.Completed, advisor);
+
+        // Each page is the first one, so the window is the prepared rows as they are
+        ServiceRequestRepository trackingRepository = InMemoryRepository.of(ServiceRequestRepository.class)
+                .on("findByStatusNot", args -> Window.from(active, ScrollPosition::offset))
+                .on("findByStatus", args -> Window.from(completed, ScrollPosition::offset))
+                .build();
+
+        List<RequestTimestampView> completionTimes = Workshop.completionTimes(completed);
+        ServiceTrackingRepository serviceTrackingRepository = InMemoryRepository.of(ServiceTrackingRepository.class)
+                .on("findLastUpdateByRequestIdsAndStatus", args -> completionTimes)
+                .build();
+
+        // Two in three completed services have an invoice
+        InvoiceRepository invoiceRepository = InMemoryRepository.of(InvoiceRepository.class)
+                .on("findRequestIdsWithInvoice", args -> ((Collection<?>) args[0]).stream()
+                        .filter(id -> (Integer) id % 3 != 0)
+                        .toList())
+                .build();
+
+        // Reservations, totals and the search index are not on the list path
+        vehicleTrackingService = new VehicleTrackingService(
+                trackingRepository,
+                InMemoryRepository.of(VehicleRepository.class).build(),
+                InMemoryRepository.of(ServiceAdvisorProfileRepository.class).build(),
+                InMemoryRepository.of(MaterialUsageRepository.class).build(),
+                InMemoryRepository.of(InventoryItemRepository.class).build(),
+                serviceTrackingRepository,
+                InMemoryRepository.of(LaborChargeRepository.class).build(),
+                invoiceRepository,
+                InMemoryRepository.of(PaymentRepository.class).build(),
+                null,
+                null,
+                null);
+    }
+
+    @Benchmark
+    public DashboardDTO dashboardData() {
+        return dashboardService.getDashboardData();
+    }
+
+    @Benchmark
+    public CursorPage<VehicleInServiceDTO> vehiclesUnderService() {
+        return vehicleTrackingService.getVehiclesUnderService(null, null, rows);
+    }
+
+    @Benchmark
+    public CursorPage<CompletedServiceDTO> completedServices() {
+        return vehicleTrackingService.getCompletedServices(null, null, rows);
+    }
+}
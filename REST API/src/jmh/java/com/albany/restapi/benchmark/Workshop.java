@@ -0,0 +1,268 @@
+package com.albany.restapi.benchmark;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.BillTotalsView;
+import com.albany.restapi.repository.RequestTimestampView;
+import com.albany.restapi.repository.ServiceRequestListView;
+import com.albany.restapi.repository.ServiceRequestStatusBucket;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds workshop data shaped like production rows for the benchmarks: a mix of service types,
+ * vehicle categories and memberships, with advisors, customers and priced parts and labor.
+ */
+final class Workshop {
+
+    static final String[] SERVICE_TYPES = {
+            "Oil Change", "Brake Service", "Tire Rotation", "Engine Repair",
+            "Transmission Service", "Regular Maintenance", "Battery Replacement", "Diagnostics"
+    };
+
+    private static final String[] PARTS = {
+            "Engine Oil 5W-30", "Oil Filter", "Air Filter", "Brake Pads (Front)", "Brake Fluid DOT4",
+            "Spark Plug", "Coolant 1L", "Wiper Blade", "Cabin Filter", "Battery 12V 45Ah"
+    };
+
+    private static final String[] LABOR = {
+            "Diagnosis", "Oil and filter change", "Brake pad replacement", "Wheel alignment",
+            "Engine tune-up", "Battery replacement", "Coolant flush", "Road test"
+    };
+
+    private static final LocalDateTime OPENED = LocalDateTime.of(2025, 3, 1, 9, 30);
+
+    private Workshop() {
+    }
+
+    static ServiceAdvisorProfile advisor(int advisorId) {
+        return ServiceAdvisorProfile.builder()
+                .advisorId(advisorId)
+                .user(user(1000 + advisorId, "Advisor", "No" + advisorId, Role.serviceAdvisor))
+                .department("Workshop")
+                .hireDate(LocalDate.of(2022, 1, 10))
+                .build();
+    }
+
+    static User user(int userId, String firstName, String lastName, Role role) {
+        return User.builder()
+                .userId(userId)
+                .role(role)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@albany.test")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOHi5BqfWxdcgPpNpGdNJZxS1ivQ2Dq7W")
+                .firstName(firstName)
+                .lastName(lastName)
+                .phoneNumber("+91 98450 " + String.format("%05d", userId % 100000))
+                .isActive(true)
+                .build();
+    }
+
+    static List<ServiceRequest> serviceRequests(int count, ServiceRequest.Status status, ServiceAdvisorProfile advisor) {
+        Vehicle.Category[] categories = Vehicle.Category.values();
+        List<ServiceRequest> requests = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            CustomerProfile customer = CustomerProfile.builder()
+                    .customerId(i)
+                    .user(user(i, "Customer", "No" + i, Role.customer))
+                    .street(i + " MG Road")
+                    .city("Bengaluru")
+                    .state("Karnataka")
+                    .postalCode("5600" + String.format("%02d", i % 100))
+                    .membershipStatus(i % 3 == 0 ? "Premium" : "Standard")
+                    .totalServices(i % 7)
+                    .build();
+
+            Vehicle vehicle = Vehicle.builder()
+                    .vehicleId(i)
+                    .customer(customer)
+                    .registrationNumber("KA-01-AB-" + String.format("%04d", i))
+                    .category(categories[i % categories.length])
+                    .brand(i % 2 == 0 ? "Honda" : "Maruti")
+                    .model(i % 2 == 0 ? "City" : "Swift")
+                    .year(2015 + i % 10)
+                    .build();
+
+            requests.add(ServiceRequest.builder()
+                    .requestId(i)
+                    .vehicle(vehicle)
+                    .serviceAdvisor(i % 10 == 0 ? null : advisor)
+                    .serviceType(SERVICE_TYPES[i % SERVICE_TYPES.length])
+                    .additionalDescription(i % 4 == 0 ? "Customer reports noise from the front left wheel" : null)
+                    .deliveryDate(i % 5 == 0 ? null : OPENED.toLocalDate().plusDays(2 + i % 4))
+                    .status(status)
+                    .partsSubtotal(new BigDecimal("1850.0000").add(BigDecimal.valueOf(i * 37L)))
+                    .laborSubtotal(new BigDecimal("1200.0000").add(BigDecimal.valueOf(i * 15L)))
+                    .createdAt(OPENED.plusHours(i))
+                    .updatedAt(OPENED.plusHours(i + 30))
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<MaterialUsage> materials(ServiceRequest request, int lines) {
+        List<MaterialUsage> materials = new ArrayList<>(lines);
+        for (int i = 1; i <= lines; i++) {
+            InventoryItem item = InventoryItem.builder()
+                    .itemId(i)
+                    .name(PARTS[i % PARTS.length] + (i > PARTS.length ? " #" + i : ""))
+                    .category("Parts")
+                    .currentStock(new BigDecimal("120.00"))
+                    .unitPrice(new BigDecimal("149.50").add(BigDecimal.valueOf(i * 23L)))
+                    .reorderLevel(new BigDecimal("15.00"))
+                    .build();
+
+            materials.add(MaterialUsage.builder()
+                    .materialUsageId(i)
+                    .serviceRequest(request)
+                    .inventoryItem(item)
+                    .quantity(BigDecimal.valueOf(1 + i % 4))
+                    .usedAt(OPENED.plusMinutes(i * 5L))
+                    .build());
+        }
+        return materials;
+    }
+
+    static List<LaborCharge> laborCharges(Integer requestId, int lines) {
+        List<LaborCharge> charges = new ArrayList<>(lines);
+        for (int i = 1; i <= lines; i++) {
+            BigDecimal hours = new BigDecimal("0.5").multiply(BigDecimal.valueOf(1 + i % 6));
+            BigDecimal rate = new BigDecimal("650.00");
+            charges.add(LaborCharge.builder()
+                    .chargeId(i)
+                    .requestId(requestId)
+                    .description(LABOR[i % LABOR.length] + (i > LABOR.length ? " #" + i : ""))
+                    .hours(hours)
+                    .ratePerHour(rate)
+                    .total(hours.multiply(rate).setScale(2, RoundingMode.HALF_UP))
+                    .createdAt(OPENED.plusMinutes(i * 7L))
+                    .build());
+        }
+        return charges;
+    }
+
+    static BigDecimal partsTotal(List<MaterialUsage> materials) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (MaterialUsage usage : materials) {
+            total = total.add(usage.getQuantity().multiply(usage.getInventoryItem().getUnitPrice()));
+        }
+        return total;
+    }
+
+    static BigDecimal laborTotal(List<LaborCharge> charges) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LaborCharge charge : charges) {
+            total = total.add(charge.getTotal());
+        }
+        return total;
+    }
+
+    static List<ServiceRequestListView> listViews(int count, ServiceRequest.Status status) {
+        Vehicle.Category[] categories = Vehicle.Category.values();
+        List<ServiceRequestListView> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            boolean assigned = i % 10 != 0;
+            rows.add(ListRow.builder()
+                    .requestId(i)
+                    .status(status)
+                    .serviceType(SERVICE_TYPES[i % SERVICE_TYPES.length])
+                    .deliveryDate(OPENED.toLocalDate().plusDays(2 + i % 4))
+                    .createdAt(OPENED.plusHours(i))
+                    .additionalDescription(i % 4 == 0 ? "Customer reports noise from the front left wheel" : null)
+                    .vehicleBrand(i % 2 == 0 ? "Honda" : "Maruti")
+                    .vehicleModel(i % 2 == 0 ? "City" : "Swift")
+                    .registrationNumber("KA-01-AB-" + String.format("%04d", i))
+                    .category(categories[i % categories.length])
+                    .customerFirstName("Customer")
+                    .customerLastName("No" + i)
+                    .customerEmail("customer.no" + i + "@albany.test")
+                    .membershipStatus(i % 3 == 0 ? "Premium" : "Standard")
+                    .advisorId(assigned ? 1 + i % 5 : null)
+                    .advisorFirstName(assigned ? "Advisor" : null)
+                    .advisorLastName(assigned ? "No" + (1 + i % 5) : null)
+                    .build());
+        }
+        return rows;
+    }
+
+    /**
+     * One bucket per status, service type, category and membership, as the grouped dashboard aggregate returns them
+     */
+    static List<ServiceRequestStatusBucket> statusBuckets() {
+        List<ServiceRequestStatusBucket> buckets = new ArrayList<>();
+        long count = 1;
+        for (ServiceRequest.Status status : ServiceRequest.Status.values()) {
+            for (String serviceType : SERVICE_TYPES) {
+                for (Vehicle.Category category : Vehicle.Category.values()) {
+                    for (String membership : new String[]{"Standard", "Premium"}) {
+                        buckets.add(new StatusBucket(status, serviceType, category, membership, count++ % 9 + 1));
+                    }
+                }
+            }
+        }
+        return buckets;
+    }
+
+    static List<RequestTimestampView> completionTimes(List<ServiceRequest> requests) {
+        List<RequestTimestampView> rows = new ArrayList<>(requests.size());
+        for (ServiceRequest request : requests) {
+            rows.add(new RequestTimestamp(request.getRequestId(), request.getUpdatedAt()));
+        }
+        return rows;
+    }
+
+    static BillTotalsView billTotals(BigDecimal partsSubtotal, BigDecimal laborSubtotal) {
+        return new BillTotals(partsSubtotal, laborSubtotal);
+    }
+
+    // Plain implementations of the projections, so the mapping loops are measured rather than proxy dispatch
+
+    @Value
+    @Builder
+    static class ListRow implements ServiceRequestListView {
+        Integer requestId;
+        ServiceRequest.Status status;
+        String serviceType;
+        LocalDate deliveryDate;
+        LocalDateTime createdAt;
+        String additionalDescription;
+        String vehicleBrand;
+        String vehicleModel;
+        String registrationNumber;
+        Vehicle.Category category;
+        String customerFirstName;
+        String customerLastName;
+        String customerEmail;
+        String membershipStatus;
+        Integer advisorId;
+        String advisorFirstName;
+        String advisorLastName;
+    }
+
+    @Value
+    static class StatusBucket implements ServiceRequestStatusBucket {
+        ServiceRequest.Status status;
+        String serviceType;
+        Vehicle.Category category;
+        String membershipStatus;
+        Long requestCount;
+    }
+
+    @Value
+    static class RequestTimestamp implements RequestTimestampView {
+        Integer requestId;
+        LocalDateTime lastUpdatedAt;
+    }
+
+    @Value
+    static class BillTotals implements BillTotalsView {
+        BigDecimal partsSubtotal;
+        BigDecimal laborSubtotal;
+    }
+}
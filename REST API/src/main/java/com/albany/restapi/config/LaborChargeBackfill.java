@@ -0,0 +1,96 @@
+package com.albany.restapi.config;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.model.ServiceTracking;
+import com.albany.restapi.repository.LaborChargeRepository;
+import com.albany.restapi.repository.ServiceTrackingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves labor lines that older versions stored as "Labor: ..." service tracking entries into labor_charges,
+ * and clears the copies of those amounts left on summary, bill and completion entries.
+ * Runs at every startup and does nothing once no tracking entry carries a labor cost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LaborChargeBackfill implements CommandLineRunner {
+
+    private static final String LABOR_PREFIX = "Labor:";
+    private static final BigDecimal MINUTES_PER_HOUR = new BigDecimal("60");
+
+    private final ServiceTrackingRepository serviceTrackingRepository;
+    private final LaborChargeRepository laborChargeRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        List<ServiceTracking> legacyEntries = serviceTrackingRepository.findByLaborCostNotNull();
+        if (legacyEntries.isEmpty()) {
+            return;
+        }
+
+        List<LaborCharge> charges = new ArrayList<>();
+        List<ServiceTracking> laborLines = new ArrayList<>();
+        Set<Integer> requestsWithLabor = new HashSet<>();
+        for (ServiceTracking tracking : legacyEntries) {
+            if (tracking.getWorkDescription() != null && tracking.getWorkDescription().startsWith(LABOR_PREFIX)) {
+                charges.add(toCharge(tracking, tracking.getWorkDescription().substring(LABOR_PREFIX.length()).trim()));
+                laborLines.add(tracking);
+                requestsWithLabor.add(tracking.getRequestId());
+            }
+        }
+
+        // The default hour charged on completion was the only labor on requests without itemized lines
+        for (ServiceTracking tracking : legacyEntries) {
+            if (tracking.getStatus() == ServiceRequest.Status.Completed
+                    && tracking.getWorkDescription() != null && tracking.getWorkDescription().startsWith("Status updated")
+                    && requestsWithLabor.add(tracking.getRequestId())
+                    && !laborChargeRepository.existsByRequestId(tracking.getRequestId())) {
+                charges.add(toCharge(tracking, "Standard labor"));
+            }
+        }
+
+        laborChargeRepository.saveAll(charges);
+        serviceTrackingRepository.deleteAll(laborLines);
+
+        // Whatever is left only repeated amounts that are now in labor_charges
+        legacyEntries.removeAll(laborLines);
+        legacyEntries.forEach(tracking -> {
+            tracking.setLaborCost(null);
+            tracking.setLaborMinutes(null);
+        });
+
+        log.info("Moved {} labor lines out of service tracking and cleared labor amounts on {} other entries",
+                charges.size(), legacyEntries.size());
+    }
+
+    private LaborCharge toCharge(ServiceTracking tracking, String description) {
+        Integer minutes = tracking.getLaborMinutes();
+        BigDecimal hours = minutes != null ?
+                new BigDecimal(minutes).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        BigDecimal ratePerHour = minutes != null && minutes > 0 ?
+                tracking.getLaborCost().multiply(MINUTES_PER_HOUR).divide(new BigDecimal(minutes), 2, RoundingMode.HALF_UP) :
+                BigDecimal.ZERO;
+
+        return LaborCharge.builder()
+                .requestId(tracking.getRequestId())
+                .description(description)
+                .hours(hours)
+                .ratePerHour(ratePerHour)
+                .total(tracking.getLaborCost())
+                .build();
+    }
+}
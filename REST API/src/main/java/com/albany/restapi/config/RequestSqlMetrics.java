@@ -0,0 +1,87 @@
+package com.albany.restapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each HTTP request runs, through Hibernate or JdbcTemplate, and the time they take,
+ * published per route as {@code http.server.requests.sql.statements} and {@code http.server.requests.sql.time}.
+ * {@link SqlStatementTimer} feeds the tally of the request being served on the same thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestSqlMetrics extends OncePerRequestFilter {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Add one statement to the tally of the request on this thread, if there is one
+     */
+    static void record(long nanos) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.statements++;
+            tally.nanos += nanos;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Tally tally = new Tally();
+        CURRENT.set(tally);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of(
+                    "method", request.getMethod(),
+                    "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                    "status", String.valueOf(response.getStatus()));
+
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements run per request")
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(tally.statements);
+            Timer.builder("http.server.requests.sql.time")
+                    .description("Time spent running SQL per request")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(tally.nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class Tally {
+        private long statements;
+        private long nanos;
+    }
+}
@@ -1,6 +1,7 @@
 package com.albany.restapi.config;
 
 import com.albany.restapi.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,9 +35,13 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch of a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/api/debug/**").permitAll()
+                        // Only served on the loopback management port (management.server.*) the scraper reads
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
 
                         // Admin API paths - explicitly define all HTTP methods
                         .requestMatchers(HttpMethod.GET, "/api/service-advisors/**").hasAnyAuthority(
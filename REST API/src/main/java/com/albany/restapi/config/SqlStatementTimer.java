@@ -0,0 +1,85 @@
+package com.albany.restapi.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Routes the DataSource through a proxy that times every statement and batch executed on it,
+ * by Hibernate and JdbcTemplate alike, and adds them to the tally of the request on the same thread
+ * ({@link RequestSqlMetrics}). addBatch is not counted; the executeBatch that sends the batch counts once.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlStatementTimer {
+
+    @Bean
+    static BeanPostProcessor sqlStatementTimerDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Statement statement ? wrap(statement, method.getReturnType()) : result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Statement wrap(Statement statement, Class<?> type) {
+        return proxy((Class<Statement>) type, statement, (target, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return method.invoke(target, args);
+            }
+            long startedAt = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } finally {
+                RequestSqlMetrics.record(System.nanoTime() - startedAt);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementTimer.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    // Hibernate keys its open statements by identity, so the proxy must stand in for itself
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return handler.invoke(target, method, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,677 @@
+package com.albany.restapi.config;
+
+import com.albany.restapi.model.Payment;
+import com.albany.restapi.model.Role;
+import com.albany.restapi.model.ServiceRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a deterministic, production-sized workshop: customers and their vehicles, advisors,
+ * inventory, and service requests across every status with tracking history, parts, labor, payments and invoices.
+ * The same scale always produces the same rows. Everything is written through JDBC batches, one transaction
+ * per chunk, so even a million requests are never held in memory or in a single transaction.
+ * Runs under the synthetic-data profile ({@link SyntheticDataLoader}) and from tests that need a known dataset.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final String USER_SQL =
+            "INSERT INTO users (role, email, password, first_name, last_name, phone_number, is_active, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ADVISOR_SQL =
+            "INSERT INTO service_advisor_profiles (user_id, department, hire_date, specialization) VALUES (?, ?, ?, ?)";
+    private static final String CUSTOMER_SQL =
+            "INSERT INTO customer_profiles (customer_id, user_id, street, city, state, postal_code, total_services, " +
+            "membership_status) VALUES (?, ?, ?, ?, ?, ?, 0, ?)";
+    private static final String CUSTOMER_HISTORY_SQL =
+            "UPDATE customer_profiles SET total_services = ?, last_service_date = ? WHERE customer_id = ?";
+    private static final String VEHICLE_SQL =
+            "INSERT INTO vehicles (customer_id, registration_number, category, brand, model, year) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ITEM_SQL =
+            "INSERT INTO inventory_items (name, category, current_stock, unit_price, reorder_level) VALUES (?, ?, ?, ?, ?)";
+    private static final String REQUEST_SQL =
+            "INSERT INTO service_requests (service_type, delivery_date, additional_description, status, vehicle_id, " +
+            "service_advisor_id, vehicle_model, vehicle_registration, vehicle_type, vehicle_year, user_id, " +
+            "parts_subtotal, labor_subtotal, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String TRACKING_SQL =
+            "INSERT INTO service_tracking (request_id, work_description, status, updated_at, service_advisor_id) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String USAGE_SQL =
+            "INSERT INTO materials_used (request_id, inventory_item_id, quantity, used_at) VALUES (?, ?, ?, ?)";
+    private static final String LABOR_SQL =
+            "INSERT INTO labor_charges (request_id, description, hours, rate_per_hour, total, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String PAYMENT_SQL =
+            "INSERT INTO payments (request_id, customer_id, amount, payment_method, transaction_id, payment_timestamp, " +
+            "status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INVOICE_SQL =
+            "INSERT INTO invoices (request_id, payment_id, total_amount, taxes, net_amount, invoice_date, is_downloadable) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] SERVICE_TYPES = {
+            "Oil Change", "Regular Maintenance", "Brake Service", "Tire Rotation",
+            "Battery Replacement", "Diagnostics", "Engine Repair", "Transmission Service"
+    };
+    // Routine work dominates; major repairs are rare
+    private static final int[] SERVICE_TYPE_WEIGHTS = {30, 25, 14, 12, 8, 6, 3, 2};
+
+    private static final String[][] MODELS = {
+            {"Maruti", "Swift", "Car"}, {"Hyundai", "Creta", "Car"}, {"Honda", "City", "Car"},
+            {"Tata", "Nexon", "Car"}, {"Mahindra", "XUV700", "Car"}, {"Toyota", "Innova", "Car"},
+            {"Honda", "Activa", "Bike"}, {"Royal Enfield", "Classic 350", "Bike"}, {"Bajaj", "Pulsar", "Bike"},
+            {"Tata", "Ace", "Truck"}, {"Ashok Leyland", "Dost", "Truck"}
+    };
+
+    private static final String[] PART_NAMES = {
+            "Engine Oil", "Oil Filter", "Air Filter", "Cabin Filter", "Brake Pads", "Brake Fluid", "Spark Plug",
+            "Coolant", "Wiper Blade", "Battery", "Clutch Plate", "Timing Belt", "Headlamp Bulb", "Fuel Filter"
+    };
+
+    private static final String[] LABOR_TASKS = {
+            "Diagnosis", "Oil and filter change", "Brake pad replacement", "Wheel alignment",
+            "Engine tune-up", "Battery replacement", "Coolant flush", "Road test"
+    };
+
+    private static final String[] CITIES = {"Bengaluru", "Mysuru", "Mangaluru", "Hubballi", "Belagavi"};
+
+    private static final BigDecimal[] LABOR_RATES = {
+            new BigDecimal("500.00"), new BigDecimal("650.00"), new BigDecimal("800.00")
+    };
+
+    private static final BigDecimal GST_RATE = new BigDecimal("0.18");
+
+    // Power-law exponents of how often the n-th vehicle, advisor and part is picked
+    private static final double VEHICLE_SKEW = 0.8;
+    private static final double ADVISOR_SKEW = 0.5;
+    private static final double PART_SKEW = 1.0;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Size and shape of a generated dataset
+     *
+     * @param trackingPerRequest average tracking entries per completed request; open requests have fewer
+     * @param chunkSize          customers or requests written per transaction
+     * @param lastDay            the newest request is created on this day, so the data does not depend on the clock
+     */
+    public record Scale(
+            int customers,
+            int advisors,
+            int inventoryItems,
+            int requests,
+            int trackingPerRequest,
+            int chunkSize,
+            LocalDate lastDay,
+            long seed
+    ) {
+
+        /**
+         * About four requests per customer, one advisor per 20,000 requests and ten tracking entries per request,
+         * so ofRequests(1_000_000) gives 250,000 customers and roughly 10 million tracking rows
+         */
+        public static Scale ofRequests(int requests) {
+            return new Scale(Math.max(1, requests / 4), Math.max(5, requests / 20_000), 500, requests, 10, 1_000,
+                    LocalDate.of(2025, 6, 30), 42L);
+        }
+
+        public Scale withSeed(long seed) {
+            return new Scale(customers, advisors, inventoryItems, requests, trackingPerRequest, chunkSize, lastDay, seed);
+        }
+    }
+
+    /**
+     * Rows written per table
+     */
+    public record Counts(
+            long users,
+            long vehicles,
+            long serviceRequests,
+            long trackingEntries,
+            long materialUsages,
+            long laborCharges,
+            long payments,
+            long invoices
+    ) {
+    }
+
+    /**
+     * Whether a dataset was already generated into this database; its emails are fixed, so it cannot be loaded twice
+     */
+    public boolean alreadyGenerated() {
+        Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class,
+                email("customer", 1));
+        return found != null && found > 0;
+    }
+
+    /**
+     * Generate the dataset; every synthetic user gets the given already-encoded password
+     */
+    public Counts generate(Scale scale, String encodedPassword) {
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(scale.seed());
+        Tally tally = new Tally();
+
+        int[] advisorIds = transactionTemplate.execute(status -> insertAdvisors(scale, encodedPassword, tally));
+        Stock stock = transactionTemplate.execute(status -> insertInventory(scale, random));
+        Fleet fleet = insertCustomers(scale, random, encodedPassword, tally);
+        insertRequests(scale, random, advisorIds, stock, fleet, tally);
+        updateCustomerHistory(scale, fleet);
+
+        Counts counts = tally.toCounts();
+        log.info("Generated synthetic dataset in {} ms: {}", System.currentTimeMillis() - started, counts);
+        return counts;
+    }
+
+    private int[] insertAdvisors(Scale scale, String encodedPassword, Tally tally) {
+        LocalDateTime joined = scale.lastDay().minusYears(3).atTime(9, 0);
+
+        List<Object[]> users = new ArrayList<>(scale.advisors());
+        for (int n = 1; n <= scale.advisors(); n++) {
+            users.add(userRow(Role.serviceAdvisor, "advisor", n, encodedPassword, joined));
+        }
+        int[] userIds = insertReturningIds(USER_SQL, "user_id", users);
+        tally.users += userIds.length;
+
+        String[] specializations = {"General Service", "Engine", "Electrical", "Body Work"};
+        List<Object[]> profiles = new ArrayList<>(userIds.length);
+        for (int i = 0; i < userIds.length; i++) {
+            profiles.add(new Object[]{userIds[i], "Workshop", Date.valueOf(joined.toLocalDate().plusDays(i * 11L)),
+                    specializations[i % specializations.length]});
+        }
+        return insertReturningIds(ADVISOR_SQL, "advisor_id", profiles);
+    }
+
+    private Stock insertInventory(Scale scale, SplittableRandom random) {
+        List<Object[]> rows = new ArrayList<>(scale.inventoryItems());
+        BigDecimal[] prices = new BigDecimal[scale.inventoryItems()];
+        for (int i = 0; i < scale.inventoryItems(); i++) {
+            // Consumables are cheap; a few parts such as batteries and clutches cost much more
+            prices[i] = BigDecimal.valueOf(80 + random.nextInt(i % 10 == 0 ? 9_000 : 1_500), 0).setScale(2);
+            rows.add(new Object[]{
+                    PART_NAMES[i % PART_NAMES.length] + " " + String.format("%04d", i + 1),
+                    i % 3 == 0 ? "Consumables" : "Parts",
+                    BigDecimal.valueOf(20 + random.nextInt(500)).setScale(2),
+                    prices[i],
+                    BigDecimal.valueOf(5 + random.nextInt(30)).setScale(2)
+            });
+        }
+        return new Stock(insertReturningIds(ITEM_SQL, "item_id", rows), prices);
+    }
+
+    private Fleet insertCustomers(Scale scale, SplittableRandom random, String encodedPassword, Tally tally) {
+        Fleet fleet = new Fleet(scale.customers());
+        LocalDateTime firstSignUp = scale.lastDay().minusYears(4).atTime(10, 0);
+
+        for (int from = 0; from < scale.customers(); from += scale.chunkSize()) {
+            int to = Math.min(scale.customers(), from + scale.chunkSize());
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> users = new ArrayList<>(to - chunkStart);
+                for (int n = chunkStart + 1; n <= to; n++) {
+                    users.add(userRow(Role.customer, "customer", n, encodedPassword, firstSignUp.plusMinutes(n * 7L)));
+                }
+                int[] userIds = insertReturningIds(USER_SQL, "user_id", users);
+                tally.users += userIds.length;
+
+                List<Object[]> profiles = new ArrayList<>(userIds.length);
+                List<Object[]> vehicles = new ArrayList<>();
+                List<Integer> owners = new ArrayList<>();
+                for (int i = 0; i < userIds.length; i++) {
+                    int customer = chunkStart + i;
+                    fleet.customerIds[customer] = userIds[i];
+                    profiles.add(new Object[]{userIds[i], userIds[i], (customer % 200 + 1) + " MG Road",
+                            CITIES[customer % CITIES.length], "Karnataka", String.valueOf(560001 + customer % 99),
+                            random.nextInt(5) == 0 ? "Premium" : "Standard"});
+
+                    // Most customers bring one vehicle, some two or three
+                    int owned = random.nextInt(20) < 14 ? 1 : random.nextInt(5) < 4 ? 2 : 3;
+                    for (int v = 0; v < owned; v++) {
+                        int vehicle = fleet.size + vehicles.size();
+                        String[] model = MODELS[vehicle % MODELS.length];
+                        vehicles.add(new Object[]{userIds[i], registration(vehicle), model[2], model[0], model[1],
+                                2008 + vehicle * 7 % 17});
+                        owners.add(customer);
+                    }
+                }
+                jdbcTemplate.batchUpdate(CUSTOMER_SQL, profiles);
+
+                int[] vehicleIds = insertReturningIds(VEHICLE_SQL, "vehicle_id", vehicles);
+                for (int v = 0; v < vehicleIds.length; v++) {
+                    fleet.add(vehicleIds[v], owners.get(v));
+                }
+                tally.vehicles += vehicleIds.length;
+            });
+        }
+        return fleet;
+    }
+
+    private void insertRequests(Scale scale, SplittableRandom random, int[] advisorIds, Stock stock, Fleet fleet,
+                                Tally tally) {
+        long historySeconds = Math.max(30, scale.requests() / 1_500) * 86_400L;
+        LocalDateTime firstRequest = scale.lastDay().atTime(18, 0).minusSeconds(historySeconds);
+        // The newest requests are still in the workshop, the most recent ones not yet inspected;
+        // older ones are almost all completed
+        int openWindow = Math.max(scale.requests() * 3 / 100, Math.min(scale.requests(), 12));
+        Popularity popularity = new Popularity(
+                new PowerLaw(fleet.size, VEHICLE_SKEW, visitCap(scale, fleet.size)),
+                new PowerLaw(advisorIds.length, ADVISOR_SKEW, Integer.MAX_VALUE),
+                new PowerLaw(stock.itemIds.length, PART_SKEW, Integer.MAX_VALUE));
+
+        for (int from = 0; from < scale.requests(); from += scale.chunkSize()) {
+            int to = Math.min(scale.requests(), from + scale.chunkSize());
+            List<PlannedRequest> chunk = new ArrayList<>(to - from);
+            for (int n = from; n < to; n++) {
+                LocalDateTime createdAt = firstRequest
+                        .plusSeconds(historySeconds * n / scale.requests())
+                        .plusSeconds(random.nextInt(3_600));
+                int age = scale.requests() - n;
+                ServiceRequest.Status status = age <= openWindow
+                        ? openStatus(100 * age / openWindow)
+                        : random.nextInt(200) == 0 ? openStatus(random.nextInt(100)) : ServiceRequest.Status.Completed;
+                chunk.add(plan(scale, random, advisorIds, stock, popularity, createdAt, status));
+            }
+            transactionTemplate.executeWithoutResult(status -> writeRequests(chunk, fleet, tally));
+            log.debug("Generated {} of {} service requests", to, scale.requests());
+        }
+    }
+
+    private PlannedRequest plan(Scale scale, SplittableRandom random, int[] advisorIds, Stock stock,
+                                Popularity popularity, LocalDateTime createdAt, ServiceRequest.Status status) {
+        // Loyal customers come back often, up to the visit cap
+        int vehicle = popularity.vehicles.next(random);
+        int stage = status.ordinal();
+        String serviceType = SERVICE_TYPES[weighted(random, SERVICE_TYPE_WEIGHTS)];
+        Integer advisorId = status == ServiceRequest.Status.Received && random.nextInt(10) < 7
+                ? null : advisorIds[popularity.advisors.next(random)];
+
+        PlannedRequest request = new PlannedRequest(vehicle, serviceType, status, advisorId, createdAt);
+
+        // Tracking history walks through the stages up to the current one
+        int entries = status == ServiceRequest.Status.Completed
+                ? 1 + random.nextInt(Math.max(1, 2 * scale.trackingPerRequest() - 1))
+                : 1 + random.nextInt(Math.max(1, scale.trackingPerRequest() * (stage + 1) / 4));
+        LocalDateTime at = createdAt;
+        for (int e = 0; e < entries; e++) {
+            at = at.plusMinutes(5 + random.nextInt(240));
+            ServiceRequest.Status entryStatus = ServiceRequest.Status.values()[Math.max(0, (e + 1) * (stage + 1) / entries - 1)];
+            request.tracking.add(new Object[]{null, trackingNote(entryStatus, e), entryStatus.name(),
+                    Timestamp.valueOf(at), advisorId});
+        }
+        request.updatedAt = at;
+
+        // Parts are fitted from the repair stage on, labor is charged from diagnosis on
+        if (stage >= ServiceRequest.Status.Repair.ordinal()) {
+            int lines = random.nextInt(7);
+            for (int l = 0; l < lines; l++) {
+                int item = popularity.parts.next(random);
+                BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(4)).setScale(2);
+                request.partsSubtotal = request.partsSubtotal.add(quantity.multiply(stock.prices[item]));
+                request.usages.add(new Object[]{null, stock.itemIds[item], quantity,
+                        Timestamp.valueOf(createdAt.plusHours(1 + l))});
+            }
+        }
+        if (stage >= ServiceRequest.Status.Diagnosis.ordinal()) {
+            int lines = 1 + random.nextInt(3);
+            for (int l = 0; l < lines; l++) {
+                BigDecimal hours = BigDecimal.valueOf(1 + random.nextInt(8), 1).multiply(BigDecimal.valueOf(5));
+                BigDecimal rate = LABOR_RATES[random.nextInt(LABOR_RATES.length)];
+                BigDecimal total = hours.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+                request.laborSubtotal = request.laborSubtotal.add(total);
+                request.labor.add(new Object[]{null, LABOR_TASKS[random.nextInt(LABOR_TASKS.length)], hours, rate,
+                        total, Timestamp.valueOf(createdAt.plusHours(2 + l))});
+            }
+        }
+
+        // Nearly every completed service is paid, by UPI more often than not
+        if (status == ServiceRequest.Status.Completed && random.nextInt(20) != 0) {
+            request.paymentMethod = random.nextInt(10) < 6 ? Payment.PaymentMethod.UPI
+                    : random.nextBoolean() ? Payment.PaymentMethod.Card : Payment.PaymentMethod.Net_Banking;
+        }
+        return request;
+    }
+
+    private void writeRequests(List<PlannedRequest> chunk, Fleet fleet, Tally tally) {
+        List<Object[]> requests = new ArrayList<>(chunk.size());
+        for (PlannedRequest request : chunk) {
+            String[] model = MODELS[request.vehicle % MODELS.length];
+            requests.add(new Object[]{
+                    request.serviceType,
+                    Date.valueOf(request.createdAt.toLocalDate().plusDays(2)),
+                    request.vehicle % 6 == 0 ? "Customer reports a noise while braking" : null,
+                    request.status.name(),
+                    fleet.vehicleIds[request.vehicle],
+                    request.advisorId,
+                    model[1],
+                    registration(request.vehicle),
+                    model[2],
+                    2008 + request.vehicle * 7 % 17,
+                    fleet.customerIds[fleet.owners[request.vehicle]],
+                    request.partsSubtotal,
+                    request.laborSubtotal,
+                    Timestamp.valueOf(request.createdAt),
+                    Timestamp.valueOf(request.updatedAt)
+            });
+        }
+        int[] requestIds = insertReturningIds(REQUEST_SQL, "request_id", requests);
+        tally.serviceRequests += requestIds.length;
+
+        List<Object[]> tracking = new ArrayList<>();
+        List<Object[]> usages = new ArrayList<>();
+        List<Object[]> labor = new ArrayList<>();
+        List<Object[]> payments = new ArrayList<>();
+        List<PlannedRequest> paid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PlannedRequest request = chunk.get(i);
+            Integer requestId = requestIds[i];
+            tracking.addAll(withRequestId(request.tracking, requestId));
+            usages.addAll(withRequestId(request.usages, requestId));
+            labor.addAll(withRequestId(request.labor, requestId));
+
+            if (request.status == ServiceRequest.Status.Completed) {
+                fleet.recordService(request.vehicle, request.updatedAt.toLocalDate());
+            }
+            if (request.paymentMethod != null) {
+                request.requestId = requestId;
+                payments.add(new Object[]{requestId, fleet.customerIds[fleet.owners[request.vehicle]],
+                        request.netAmount(), request.paymentMethod.name(), "TXN" + String.format("%010d", requestId),
+                        Timestamp.valueOf(request.updatedAt), Payment.PaymentStatus.Completed.name()});
+                paid.add(request);
+            }
+        }
+        jdbcTemplate.batchUpdate(TRACKING_SQL, tracking);
+        jdbcTemplate.batchUpdate(USAGE_SQL, usages);
+        jdbcTemplate.batchUpdate(LABOR_SQL, labor);
+        tally.trackingEntries += tracking.size();
+        tally.materialUsages += usages.size();
+        tally.laborCharges += labor.size();
+
+        int[] paymentIds = insertReturningIds(PAYMENT_SQL, "payment_id", payments);
+        List<Object[]> invoices = new ArrayList<>(paid.size());
+        for (int i = 0; i < paid.size(); i++) {
+            PlannedRequest request = paid.get(i);
+            BigDecimal totalAmount = request.totalAmount();
+            invoices.add(new Object[]{request.requestId, paymentIds[i], totalAmount, request.taxes(),
+                    request.netAmount(), Timestamp.valueOf(request.updatedAt.plusMinutes(10)), true});
+        }
+        jdbcTemplate.batchUpdate(INVOICE_SQL, invoices);
+        tally.payments += paymentIds.length;
+        tally.invoices += invoices.size();
+    }
+
+    /**
+     * Set each customer's completed service count and last service date from the generated requests
+     */
+    private void updateCustomerHistory(Scale scale, Fleet fleet) {
+        for (int from = 0; from < scale.customers(); from += scale.chunkSize()) {
+            int to = Math.min(scale.customers(), from + scale.chunkSize());
+            List<Object[]> rows = new ArrayList<>();
+            for (int customer = from; customer < to; customer++) {
+                if (fleet.services[customer] > 0) {
+                    rows.add(new Object[]{fleet.services[customer],
+                            Date.valueOf(LocalDate.ofEpochDay(fleet.lastServiceDay[customer])),
+                            fleet.customerIds[customer]});
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(CUSTOMER_HISTORY_SQL, rows));
+        }
+    }
+
+    /**
+     * Batch insert the rows and return their generated ids in row order
+     */
+    private int[] insertReturningIds(String sql, String idColumn, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{idColumn}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(rows.get(i)).setValues(statement);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated ids but got " + generated.size());
+        }
+        int[] ids = new int[generated.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) generated.get(i).values().iterator().next()).intValue();
+        }
+        return ids;
+    }
+
+    private static List<Object[]> withRequestId(List<Object[]> rows, Integer requestId) {
+        for (Object[] row : rows) {
+            row[0] = requestId;
+        }
+        return rows;
+    }
+
+    private static Object[] userRow(Role role, String kind, int n, String encodedPassword, LocalDateTime createdAt) {
+        return new Object[]{role.name(), email(kind, n), encodedPassword,
+                Character.toUpperCase(kind.charAt(0)) + kind.substring(1), "No" + n,
+                "+91 9" + String.format("%09d", n), true, Timestamp.valueOf(createdAt)};
+    }
+
+    private static String email(String kind, int n) {
+        return kind + n + "@synthetic.albany.test";
+    }
+
+    private static String registration(int vehicle) {
+        return String.format("KA-%02d-%c%c-%04d", 1 + vehicle % 70, 'A' + vehicle / 10_000 % 26,
+                'A' + vehicle / 260_000 % 26, vehicle % 10_000);
+    }
+
+    private static String trackingNote(ServiceRequest.Status status, int entry) {
+        return switch (status) {
+            case Received -> entry == 0 ? "Vehicle received at the service desk" : "Awaiting inspection bay";
+            case Diagnosis -> "Inspection and diagnosis in progress";
+            case Repair -> "Repair work in progress";
+            case Completed -> "Service completed and vehicle ready for pickup";
+        };
+    }
+
+    /**
+     * Stage of an open request by percentile: 40% received, 25% in diagnosis and 35% in repair
+     */
+    private static ServiceRequest.Status openStatus(int percentile) {
+        return percentile < 40 ? ServiceRequest.Status.Received
+                : percentile < 65 ? ServiceRequest.Status.Diagnosis
+                : ServiceRequest.Status.Repair;
+    }
+
+    /**
+     * Most requests one vehicle gets: about one a month over the generated history,
+     * and never so few that the fleet cannot take every request
+     */
+    static int visitCap(Scale scale, int vehicles) {
+        int months = Math.max(30, scale.requests() / 1_500) / 30;
+        return Math.max(Math.max(6, months), 2 * Math.ceilDiv(scale.requests(), vehicles));
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private record Stock(int[] itemIds, BigDecimal[] prices) {
+    }
+
+    private record Popularity(PowerLaw vehicles, PowerLaw advisors, PowerLaw parts) {
+    }
+
+    /**
+     * Indexes below n drawn with weight 1 / (index + 1)^exponent, a bounded Zipf distribution.
+     * An index already drawn {@code cap} times is replaced by a uniform draw among those still under the cap.
+     */
+    private static final class PowerLaw {
+
+        private final double[] cumulative;
+        private final int[] draws;
+        private final int cap;
+
+        private PowerLaw(int n, double exponent, int cap) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                total += Math.pow(i + 1, -exponent);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= total;
+            }
+            draws = new int[n];
+            this.cap = cap;
+        }
+
+        private int next(SplittableRandom random) {
+            int found = Arrays.binarySearch(cumulative, random.nextDouble());
+            int index = Math.min(cumulative.length - 1, found >= 0 ? found + 1 : -found - 1);
+            while (draws[index] >= cap) {
+                index = random.nextInt(cumulative.length);
+            }
+            draws[index]++;
+            return index;
+        }
+    }
+
+    /**
+     * Vehicle ids with their owners, and each customer's completed services, indexed by generation order
+     */
+    private static final class Fleet {
+
+        private final int[] customerIds;
+        private final int[] services;
+        private final long[] lastServiceDay;
+        private int[] vehicleIds;
+        private int[] owners;
+        private int size;
+
+        private Fleet(int customers) {
+            customerIds = new int[customers];
+            services = new int[customers];
+            lastServiceDay = new long[customers];
+            vehicleIds = new int[customers + customers / 2];
+            owners = new int[vehicleIds.length];
+        }
+
+        private void add(int vehicleId, int customer) {
+            if (size == vehicleIds.length) {
+                vehicleIds = Arrays.copyOf(vehicleIds, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            vehicleIds[size] = vehicleId;
+            owners[size] = customer;
+            size++;
+        }
+
+        private void recordService(int vehicle, LocalDate day) {
+            int customer = owners[vehicle];
+            services[customer]++;
+            lastServiceDay[customer] = Math.max(lastServiceDay[customer], day.toEpochDay());
+        }
+    }
+
+    private static final class PlannedRequest {
+
+        private final int vehicle;
+        private final String serviceType;
+        private final ServiceRequest.Status status;
+        private final Integer advisorId;
+        private final LocalDateTime createdAt;
+        private final List<Object[]> tracking = new ArrayList<>();
+        private final List<Object[]> usages = new ArrayList<>();
+        private final List<Object[]> labor = new ArrayList<>();
+        private LocalDateTime updatedAt;
+        private BigDecimal partsSubtotal = BigDecimal.ZERO;
+        private BigDecimal laborSubtotal = BigDecimal.ZERO;
+        private Payment.PaymentMethod paymentMethod;
+        private Integer requestId;
+
+        private PlannedRequest(int vehicle, String serviceType, ServiceRequest.Status status, Integer advisorId,
+                               LocalDateTime createdAt) {
+            this.vehicle = vehicle;
+            this.serviceType = serviceType;
+            this.status = status;
+            this.advisorId = advisorId;
+            this.createdAt = createdAt;
+        }
+
+        private BigDecimal totalAmount() {
+            return partsSubtotal.add(laborSubtotal).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private BigDecimal taxes() {
+            return totalAmount().multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private BigDecimal netAmount() {
+            return totalAmount().add(taxes());
+        }
+    }
+
+    /**
+     * Running row counts, updated only from the generating thread
+     */
+    private static final class Tally {
+
+        private long users;
+        private long vehicles;
+        private long serviceRequests;
+        private long trackingEntries;
+        private long materialUsages;
+        private long laborCharges;
+        private long payments;
+        private long invoices;
+
+        private Counts toCounts() {
+            return new Counts(users, vehicles, serviceRequests, trackingEntries, materialUsages, laborCharges,
+                    payments, invoices);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.albany.restapi.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic dataset on startup when the synthetic-data profile is active, e.g.
+ * {@code --spring.profiles.active=synthetic-data --synthetic-data.requests=1000000}.
+ * Every synthetic user signs in with the password {@code password}.
+ */
+@Component
+@Profile("synthetic-data")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${synthetic-data.requests:100000}")
+    private int requests;
+
+    @Value("${synthetic-data.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(String... args) {
+        if (generator.alreadyGenerated()) {
+            log.info("Synthetic dataset already present, skipping generation");
+            return;
+        }
+
+        log.info("Generating synthetic dataset with {} service requests (seed {})", requests, seed);
+        generator.generate(SyntheticDataGenerator.Scale.ofRequests(requests).withSeed(seed),
+                passwordEncoder.encode("password"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.albany.restapi.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a service, or single service methods, to be timed by {@link ServiceMetricsAspect}
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TimedService {
+}
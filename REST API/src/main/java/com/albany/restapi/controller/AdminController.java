@@ -4,6 +4,7 @@ import com.albany.restapi.dto.CustomerRequest;
 import com.albany.restapi.dto.ServiceRequestDTO;
 import com.albany.restapi.model.*;
 import com.albany.restapi.repository.*;
+import com.albany.restapi.security.VerifiedPrincipalCache;
 import com.albany.restapi.service.ServiceRequestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ public class AdminController {
     private final ServiceRequestRepository serviceRequestRepository;
     private final ServiceRequestService serviceRequestService;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedPrincipalCache verifiedPrincipalCache;
 
     // Customer Management Endpoints
 
@@ -134,6 +136,7 @@ public class AdminController {
             user.setLastName(request.getLastName());
             user.setEmail(newEmail);
             user.setPhoneNumber(request.getPhoneNumber());
+            verifiedPrincipalCache.evictUser(currentEmail);
 
             // Update CustomerProfile
             profile.setStreet(request.getStreet());
@@ -163,6 +166,7 @@ public class AdminController {
                     User user = profile.getUser();
                     user.setActive(false);
                     userRepository.save(user);
+                    verifiedPrincipalCache.evictUser(user.getEmail());
 
                     return ResponseEntity.noContent().<Void>build();
                 })
@@ -187,8 +191,11 @@ public class AdminController {
 
     @GetMapping("/service-requests")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin')")
-    public ResponseEntity<List<ServiceRequestDTO>> getAllServiceRequests() {
-        return ResponseEntity.ok(serviceRequestService.getAllServiceRequests());
+    public ResponseEntity<List<ServiceRequestDTO>> getAllServiceRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+        return serviceRequestService.getServiceRequestsPage(cursor, direction, limit).toResponseEntity();
     }
 
     @GetMapping("/service-requests/{status}")
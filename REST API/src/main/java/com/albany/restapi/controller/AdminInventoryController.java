@@ -30,9 +30,12 @@ public class AdminInventoryController {
     
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'admin')")
-    public ResponseEntity<List<InventoryItemDTO>> getAllInventoryItems() {
-        log.info("Admin API: Fetching all inventory items");
-        return inventoryController.getAllInventoryItems();
+    public ResponseEntity<List<InventoryItemDTO>> getAllInventoryItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Admin API: Fetching inventory items page");
+        return inventoryController.getAllInventoryItems(cursor, direction, limit);
     }
 
     @GetMapping("/category/{category}")
@@ -1,6 +1,8 @@
 package com.albany.restapi.controller;
 
+import com.albany.restapi.dto.CursorPage;
 import com.albany.restapi.dto.CustomerRequest;
+import com.albany.restapi.dto.PageCursor;
 import com.albany.restapi.exception.CustomerNotFoundException;
 import com.albany.restapi.exception.CustomerValidationException;
 import com.albany.restapi.exception.DuplicateEmailException;
@@ -9,9 +11,13 @@ import com.albany.restapi.model.Role;
 import com.albany.restapi.model.User;
 import com.albany.restapi.repository.CustomerProfileRepository;
 import com.albany.restapi.repository.UserRepository;
+import com.albany.restapi.security.VerifiedPrincipalCache;
+import com.albany.restapi.service.KeysetPaging;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,17 +37,29 @@ public class CustomerController {
     private final UserRepository userRepository;
     private final CustomerProfileRepository customerProfileRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedPrincipalCache verifiedPrincipalCache;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'admin')")
-    public ResponseEntity<List<Map<String, Object>>> getAllCustomers() {
-        List<CustomerProfile> customers = customerProfileRepository.findAllActive();
+    public ResponseEntity<List<Map<String, Object>>> getAllCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+
+        // Customer IDs are the owning user IDs, so this pages by userId
+        Window<CustomerProfile> customers = customerProfileRepository.findByUser_IsActiveTrue(
+                KeysetPaging.idPosition("customerId", pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.idSort("customerId", sortDirection));
 
         List<Map<String, Object>> response = customers.stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+        return new CursorPage<>(response, KeysetPaging.nextCursor(customers,
+                customer -> PageCursor.encode(sortDirection, customer.getCustomerId()))).toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -127,6 +145,7 @@ public class CustomerController {
             user.setLastName(request.getLastName());
             user.setEmail(newEmail);
             user.setPhoneNumber(request.getPhoneNumber());
+            verifiedPrincipalCache.evictUser(currentEmail);
 
             // Update CustomerProfile
             profile.setStreet(request.getStreet());
@@ -154,6 +173,7 @@ public class CustomerController {
                     User user = profile.getUser();
                     user.setActive(false);
                     userRepository.save(user);
+                    verifiedPrincipalCache.evictUser(user.getEmail());
 
                     return ResponseEntity.noContent().<Void>build();
                 })
@@ -8,12 +8,15 @@ import com.albany.restapi.repository.ServiceRequestRepository;
 import com.albany.restapi.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -29,11 +32,13 @@ public class InvoiceController {
     private final InvoiceService invoiceService;
 
     /**
-     * Download an invoice as PDF
+     * Download an invoice as PDF.
+     * The ETag is the fingerprint of the invoice data, so a client holding the current copy gets a 304.
+     * The PDF is written straight to the response instead of being buffered first.
      */
     @GetMapping("/{invoiceId}/download")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'CUSTOMER', 'customer')")
-    public ResponseEntity<ByteArrayResource> downloadInvoice(@PathVariable Integer invoiceId) {
+    public ResponseEntity<StreamingResponseBody> downloadInvoice(@PathVariable Integer invoiceId, WebRequest webRequest) {
         log.info("Downloading invoice with ID: {}", invoiceId);
         
         // Find the invoice
@@ -44,11 +49,20 @@ public class InvoiceController {
         ServiceRequest serviceRequest = serviceRequestRepository.findById(invoice.getRequestId())
                 .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + invoice.getRequestId()));
         
-        // Generate the PDF
-        byte[] pdfBytes = invoiceService.generateInvoicePdf(invoice, serviceRequest);
-        
-        // Prepare the response with PDF file
-        ByteArrayResource resource = new ByteArrayResource(pdfBytes);
+        // Fingerprint the invoice inputs before deciding whether anything needs rendering.
+        // This also initializes every association the PDF reads, so rendering on the async thread
+        // does not need the persistence context.
+        InvoiceService.InvoiceContent content = invoiceService.loadInvoiceContent(invoice, serviceRequest);
+        String etag = "\"" + content.fingerprint() + "\"";
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        StreamingResponseBody body = out -> invoiceService.writeInvoicePdf(content, out);
         
         // Create a descriptive filename
         Vehicle vehicle = serviceRequest.getVehicle();
@@ -60,9 +74,10 @@ public class InvoiceController {
         
         return ResponseEntity.ok()
                 .headers(headers)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdfBytes.length)
-                .body(resource);
+                .body(body);
     }
     
     /**
@@ -70,7 +85,7 @@ public class InvoiceController {
      */
     @GetMapping("/service-request/{requestId}/download")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'CUSTOMER', 'customer')")
-    public ResponseEntity<?> downloadInvoiceByServiceRequest(@PathVariable Integer requestId) {
+    public ResponseEntity<?> downloadInvoiceByServiceRequest(@PathVariable Integer requestId, WebRequest webRequest) {
         log.info("Finding and downloading invoice for service request ID: {}", requestId);
         
         // Find the invoice by service request ID
@@ -78,6 +93,6 @@ public class InvoiceController {
                 .orElseThrow(() -> new RuntimeException("Invoice not found for service request ID: " + requestId));
         
         // Redirect to the invoice download endpoint
-        return downloadInvoice(invoice.getInvoiceId());
+        return downloadInvoice(invoice.getInvoiceId(), webRequest);
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.albany.restapi.controller;
+
+import com.albany.restapi.dto.SearchSuggestionDTO;
+import com.albany.restapi.service.VehicleSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int MAX_SUGGESTIONS = 25;
+
+    private final VehicleSearchIndex vehicleSearchIndex;
+
+    /**
+     * Ranked vehicle and customer suggestions for a registration, vehicle or customer name fragment
+     */
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
+    public ResponseEntity<List<SearchSuggestionDTO>> typeahead(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(vehicleSearchIndex.suggest(query, boundedLimit));
+    }
+}
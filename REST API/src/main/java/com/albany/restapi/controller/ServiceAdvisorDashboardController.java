@@ -2,6 +2,7 @@ package com.albany.restapi.controller;
 
 import com.albany.restapi.dto.*;
 import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.service.AdvisorPrincipalResolver;
 import com.albany.restapi.service.InventoryService;
 import com.albany.restapi.service.ServiceAdvisorDashboardService;
 import com.albany.restapi.service.ServiceRequestService;
@@ -22,6 +23,7 @@ import java.util.Map;
 public class ServiceAdvisorDashboardController {
 
     private final ServiceAdvisorDashboardService dashboardService;
+    private final AdvisorPrincipalResolver advisorPrincipalResolver;
     private final InventoryService inventoryService;
     private final ServiceRequestService serviceRequestService;
 
@@ -32,7 +34,8 @@ public class ServiceAdvisorDashboardController {
     @PreAuthorize("hasAnyRole('SERVICE_ADVISOR', 'serviceAdvisor')")
     public ResponseEntity<List<VehicleInServiceDTO>> getAssignedVehicles(Authentication authentication) {
         log.info("Fetching assigned vehicles for service advisor: {}", authentication.getName());
-        List<VehicleInServiceDTO> assignedVehicles = dashboardService.getAssignedVehicles(authentication.getName());
+        List<VehicleInServiceDTO> assignedVehicles = dashboardService.getAssignedVehicles(
+                advisorPrincipalResolver.resolve(authentication.getName()));
         return ResponseEntity.ok(assignedVehicles);
     }
 
@@ -48,7 +51,8 @@ public class ServiceAdvisorDashboardController {
         log.info("Fetching service details for request ID: {} by service advisor: {}", 
                 requestId, authentication.getName());
                 
-        ServiceDetailResponseDTO details = dashboardService.getServiceDetails(requestId, authentication.getName());
+        ServiceDetailResponseDTO details = dashboardService.getServiceDetails(
+                requestId, advisorPrincipalResolver.resolve(authentication.getName()));
         return ResponseEntity.ok(details);
     }
 
@@ -59,7 +63,7 @@ public class ServiceAdvisorDashboardController {
     @PreAuthorize("hasAnyRole('SERVICE_ADVISOR', 'serviceAdvisor')")
     public ResponseEntity<List<InventoryItemDTO>> getInventoryItems() {
         log.info("Fetching inventory items for service advisor dashboard");
-        List<InventoryItemDTO> items = inventoryService.getAllInventoryItems();
+        List<InventoryItemDTO> items = inventoryService.getAvailableInventoryItems();
         return ResponseEntity.ok(items);
     }
 
@@ -77,11 +81,27 @@ public class ServiceAdvisorDashboardController {
                 requestId, authentication.getName());
                 
         ServiceMaterialsDTO response = dashboardService.addMaterialsToServiceRequest(
-                requestId, materialsRequest, authentication.getName());
+                requestId, materialsRequest, advisorPrincipalResolver.resolve(authentication.getName()));
                 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the current bill summary of a service request
+     */
+    @GetMapping("/service/{requestId}/bill-summary")
+    @PreAuthorize("hasAnyRole('SERVICE_ADVISOR', 'serviceAdvisor')")
+    public ResponseEntity<ServiceBillSummaryDTO> getBillSummary(
+            @PathVariable Integer requestId,
+            Authentication authentication) {
+
+        log.info("Fetching bill summary for request ID: {} by service advisor: {}",
+                requestId, authentication.getName());
+
+        return ResponseEntity.ok(dashboardService.getBillSummary(
+                requestId, advisorPrincipalResolver.resolve(authentication.getName())));
+    }
+
     /**
      * Add labor charges to a service request
      */
@@ -96,7 +116,7 @@ public class ServiceAdvisorDashboardController {
                 requestId, authentication.getName());
                 
         ServiceBillSummaryDTO response = dashboardService.addLaborCharges(
-                requestId, laborCharges, authentication.getName());
+                requestId, laborCharges, advisorPrincipalResolver.resolve(authentication.getName()));
                 
         return ResponseEntity.ok(response);
     }
@@ -130,7 +150,8 @@ public class ServiceAdvisorDashboardController {
         }
         
         Map<String, Object> result = dashboardService.updateServiceStatus(
-                requestId, newStatus, notes, notifyCustomer, authentication.getName());
+                requestId, newStatus, notes, notifyCustomer,
+                advisorPrincipalResolver.resolve(authentication.getName()));
                 
         return ResponseEntity.ok(result);
     }
@@ -149,7 +170,7 @@ public class ServiceAdvisorDashboardController {
                 requestId, authentication.getName());
                 
         BillResponseDTO response = dashboardService.generateServiceBill(
-                requestId, billRequest, authentication.getName());
+                requestId, billRequest, advisorPrincipalResolver.resolve(authentication.getName()));
                 
         return ResponseEntity.ok(response);
     }
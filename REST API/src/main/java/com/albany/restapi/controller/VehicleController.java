@@ -1,5 +1,7 @@
 package com.albany.restapi.controller;
 
+import com.albany.restapi.dto.CursorPage;
+import com.albany.restapi.dto.PageCursor;
 import com.albany.restapi.model.CustomerProfile;
 import com.albany.restapi.model.Role;
 import com.albany.restapi.model.User;
@@ -7,8 +9,11 @@ import com.albany.restapi.model.Vehicle;
 import com.albany.restapi.repository.CustomerProfileRepository;
 import com.albany.restapi.repository.UserRepository;
 import com.albany.restapi.repository.VehicleRepository;
+import com.albany.restapi.service.KeysetPaging;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -35,8 +40,20 @@ public class VehicleController {
      */
     @GetMapping("/vehicles")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin')")
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        return ResponseEntity.ok(vehicleRepository.findAll());
+    public ResponseEntity<List<Vehicle>> getAllVehicles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+
+        Window<Vehicle> vehicles = vehicleRepository.findAllBy(
+                KeysetPaging.idPosition("vehicleId", pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.idSort("vehicleId", sortDirection));
+
+        return new CursorPage<>(vehicles.getContent(), KeysetPaging.nextCursor(vehicles,
+                vehicle -> PageCursor.encode(sortDirection, vehicle.getVehicleId()))).toResponseEntity();
     }
 
     /**
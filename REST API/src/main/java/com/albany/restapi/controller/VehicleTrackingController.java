@@ -27,9 +27,12 @@ public class VehicleTrackingController {
      */
     @GetMapping("/vehicles-under-service")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
-    public ResponseEntity<List<VehicleInServiceDTO>> getVehiclesUnderService() {
+    public ResponseEntity<List<VehicleInServiceDTO>> getVehiclesUnderService(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching all vehicles under service");
-        return ResponseEntity.ok(vehicleTrackingService.getVehiclesUnderService());
+        return vehicleTrackingService.getVehiclesUnderService(cursor, direction, limit).toResponseEntity();
     }
 
     /**
@@ -37,9 +40,12 @@ public class VehicleTrackingController {
      */
     @GetMapping("/completed-services")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
-    public ResponseEntity<List<CompletedServiceDTO>> getCompletedServices() {
+    public ResponseEntity<List<CompletedServiceDTO>> getCompletedServices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
         log.info("Fetching all completed services");
-        return ResponseEntity.ok(vehicleTrackingService.getCompletedServices());
+        return vehicleTrackingService.getCompletedServices(cursor, direction, limit).toResponseEntity();
     }
 
     /**
@@ -164,11 +170,14 @@ public class VehicleTrackingController {
     @PostMapping("/vehicles-under-service/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
     public ResponseEntity<List<VehicleInServiceDTO>> filterVehiclesUnderService(
-            @RequestBody Map<String, Object> filterCriteria) {
+            @RequestBody Map<String, Object> filterCriteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
 
         log.info("Filtering vehicles under service with criteria: {}", filterCriteria);
-        List<VehicleInServiceDTO> filteredVehicles = vehicleTrackingService.filterVehiclesUnderService(filterCriteria);
-        return ResponseEntity.ok(filteredVehicles);
+        return vehicleTrackingService.filterVehiclesUnderService(filterCriteria, cursor, direction, limit)
+                .toResponseEntity();
     }
 
     /**
@@ -177,10 +186,13 @@ public class VehicleTrackingController {
     @PostMapping("/completed-services/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
     public ResponseEntity<List<CompletedServiceDTO>> filterCompletedServices(
-            @RequestBody Map<String, Object> filterCriteria) {
+            @RequestBody Map<String, Object> filterCriteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
 
         log.info("Filtering completed services with criteria: {}", filterCriteria);
-        List<CompletedServiceDTO> filteredServices = vehicleTrackingService.filterCompletedServices(filterCriteria);
-        return ResponseEntity.ok(filteredServices);
+        return vehicleTrackingService.filterCompletedServices(filterCriteria, cursor, direction, limit)
+                .toResponseEntity();
     }
 }
\ No newline at end of file
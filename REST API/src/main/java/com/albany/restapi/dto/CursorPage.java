@@ -0,0 +1,40 @@
+package com.albany.restapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged list and the cursor for the page after it (null on the last page).
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    // Set on a searched list when the search matched more vehicles than the list was filtered on
+    public static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean searchTruncated;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, false);
+    }
+
+    /**
+     * The list goes in the body as before; the continuation token goes in the X-Next-Cursor header
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (searchTruncated) {
+            response.header(SEARCH_TRUNCATED_HEADER, "true");
+        }
+        return response.body(items);
+    }
+}
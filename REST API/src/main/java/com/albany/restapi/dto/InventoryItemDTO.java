@@ -15,6 +15,8 @@ public class InventoryItemDTO {
     private String name;
     private String category;
     private BigDecimal currentStock;
+    private BigDecimal reservedStock; // Held for open service requests
+    private BigDecimal availableStock; // currentStock - reservedStock
     private BigDecimal unitPrice;
     private BigDecimal reorderLevel;
     private String stockStatus; // "Low", "Medium", "Good"
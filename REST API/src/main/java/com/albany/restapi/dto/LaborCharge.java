@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "labor_charges")
+@Table(name = "labor_charges", indexes = {
+        @Index(name = "idx_labor_charges_request", columnList = "requestId")
+})
 public class LaborCharge {
     
     @Id
@@ -17,4 +17,8 @@ public class LaborChargeDTO {
     private BigDecimal hours;
     private BigDecimal ratePerHour;
     private BigDecimal total;
+
+    public static LaborChargeDTO from(LaborCharge charge) {
+        return new LaborChargeDTO(charge.getDescription(), charge.getHours(), charge.getRatePerHour(), charge.getTotal());
+    }
 }
\ No newline at end of file
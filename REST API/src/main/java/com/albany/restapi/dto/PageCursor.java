@@ -0,0 +1,58 @@
+package com.albany.restapi.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Opaque continuation token for keyset-paged lists.
+ * Carries the sort direction and the sort key values of the last row returned.
+ */
+@Getter
+public class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final Sort.Direction direction;
+    private final List<String> keys;
+
+    private PageCursor(Sort.Direction direction, List<String> keys) {
+        this.direction = direction;
+        this.keys = keys;
+    }
+
+    public static String encode(Sort.Direction direction, Object... keys) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        joiner.add(direction.name());
+        for (Object key : keys) {
+            joiner.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[0]);
+            return new PageCursor(direction, List.copyOf(Arrays.asList(parts).subList(1, parts.length)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public String key(int index) {
+        if (index >= keys.size()) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return keys.get(index);
+    }
+}
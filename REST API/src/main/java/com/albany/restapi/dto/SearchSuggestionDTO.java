@@ -0,0 +1,20 @@
+package com.albany.restapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionDTO {
+    private String type; // "VEHICLE" or "CUSTOMER"
+    private Integer id;
+    private String label; // Vehicle name or customer name
+    private String detail; // Registration number or customer email
+    private Integer customerId;
+    private String customerName;
+    private int score;
+}
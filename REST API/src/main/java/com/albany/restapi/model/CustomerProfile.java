@@ -1,5 +1,6 @@
 package com.albany.restapi.model;
 
+import com.albany.restapi.service.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "CustomerProfiles")
 public class CustomerProfile {
 
@@ -12,7 +12,9 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "InventoryItems")
+@Table(name = "InventoryItems", indexes = {
+        @Index(name = "idx_inventory_items_reorder_margin", columnList = "reorderMargin")
+})
 public class InventoryItem {
     
     @Id
@@ -31,4 +33,26 @@ public class InventoryItem {
     
     @Column(precision = 10, scale = 2)
     private BigDecimal reorderLevel;
+
+    // Stock left above the reorder level, computed by the database so low-stock lookups can use an index
+    @Column(precision = 10, scale = 2, insertable = false, updatable = false,
+            columnDefinition = "decimal(10,2) generated always as (current_stock - reorder_level)")
+    private BigDecimal reorderMargin;
+
+    // Stock held for open service requests; only changed by the guarded updates in InventoryItemRepositoryImpl
+    @Column(precision = 10, scale = 2, insertable = false, updatable = false,
+            columnDefinition = "decimal(10,2) not null default 0")
+    private BigDecimal reservedStock;
+
+    // Bumped by every stock change so the parts ledger can tell newer snapshots from older ones
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long stockVersion;
+
+    /**
+     * Stock that can still be promised to a new service request
+     */
+    public BigDecimal getAvailableStock() {
+        return reservedStock != null ? currentStock.subtract(reservedStock) : currentStock;
+    }
 }
\ No newline at end of file
@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "MaterialsUsed")
+@Table(name = "MaterialsUsed", indexes = {
+        @Index(name = "idx_materials_used_request", columnList = "request_id"),
+        // Recent usages of an item, newest first
+        @Index(name = "idx_materials_used_item_used_at", columnList = "inventory_item_id, used_at")
+})
 public class MaterialUsage {
     
     @Id
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -14,7 +15,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "ServiceRequests")
+@Table(name = "ServiceRequests", indexes = {
+        // Status lists and their keyset pages, which are ordered by creation time
+        @Index(name = "idx_service_requests_status_created", columnList = "status, created_at, request_id"),
+        @Index(name = "idx_service_requests_advisor_status", columnList = "service_advisor_id, status"),
+        @Index(name = "idx_service_requests_created", columnList = "created_at, request_id")
+})
+@NamedEntityGraph(
+        name = "ServiceRequest.withParties",
+        attributeNodes = {
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                @NamedAttributeNode(value = "serviceAdvisor", subgraph = "serviceAdvisor")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode(value = "customer", subgraph = "customer")),
+                @NamedSubgraph(name = "customer", attributeNodes = @NamedAttributeNode("user")),
+                @NamedSubgraph(name = "serviceAdvisor", attributeNodes = @NamedAttributeNode("user"))
+        }
+)
 public class ServiceRequest {
 
     @Id
@@ -67,6 +85,16 @@ public class ServiceRequest {
     @Column(name = "user_id", nullable = false)
     private Integer userId;
 
+    // Running totals of the request's material usages and labor charges, kept by ServiceRequestTotals.
+    // Only its delta updates write them, so saving a stale entity cannot overwrite a newer total.
+    @Column(name = "parts_subtotal", insertable = false, updatable = false,
+            columnDefinition = "decimal(14,4) not null default 0")
+    private BigDecimal partsSubtotal;
+
+    @Column(name = "labor_subtotal", insertable = false, updatable = false,
+            columnDefinition = "decimal(14,4) not null default 0")
+    private BigDecimal laborSubtotal;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
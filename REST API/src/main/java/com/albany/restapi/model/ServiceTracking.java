@@ -14,7 +14,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "ServiceTracking")
+@Table(name = "ServiceTracking", indexes = {
+        // Service history, latest note and last update per status are all looked up by request
+        @Index(name = "idx_service_tracking_request_status", columnList = "requestId, status, updatedAt"),
+        @Index(name = "idx_service_tracking_request_updated", columnList = "requestId, updatedAt"),
+        // LaborChargeBackfill looks for legacy labor rows on every startup
+        @Index(name = "idx_service_tracking_labor_cost", columnList = "laborCost")
+})
 public class ServiceTracking {
 
     @Id
@@ -25,6 +31,7 @@ public class ServiceTracking {
 
     private String workDescription;
 
+    // Legacy labor fields; labor is recorded as LaborCharge rows and these are cleared by LaborChargeBackfill
     private Integer laborMinutes;
 
     @Column(precision = 10, scale = 2)
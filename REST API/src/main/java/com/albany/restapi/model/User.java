@@ -1,5 +1,6 @@
 package com.albany.restapi.model;
 
+import com.albany.restapi.service.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "users")
 public class User implements UserDetails {
     
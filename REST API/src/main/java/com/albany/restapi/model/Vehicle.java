@@ -1,5 +1,6 @@
 package com.albany.restapi.model;
 
+import com.albany.restapi.service.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "Vehicles")
 public class Vehicle {
     
@@ -0,0 +1,13 @@
+package com.albany.restapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Parts and labor subtotals of one request, summed in a single query.
+ */
+public interface BillTotalsView {
+
+    BigDecimal getPartsSubtotal();
+
+    BigDecimal getLaborSubtotal();
+}
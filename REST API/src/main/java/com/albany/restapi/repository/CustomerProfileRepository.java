@@ -1,6 +1,11 @@
 package com.albany.restapi.repository;
 
 import com.albany.restapi.model.CustomerProfile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +18,10 @@ public interface CustomerProfileRepository extends JpaRepository<CustomerProfile
     @Query("SELECT cp FROM CustomerProfile cp JOIN cp.user u WHERE u.isActive = true")
     List<CustomerProfile> findAllActive();
 
+    // Keyset-paged read of active customers
+    @EntityGraph(attributePaths = "user")
+    Window<CustomerProfile> findByUser_IsActiveTrue(ScrollPosition position, Limit limit, Sort sort);
+
     // Find customer profile by user ID
     @Query("SELECT cp FROM CustomerProfile cp WHERE cp.user.userId = :userId")
     CustomerProfile findByUserId(@Param("userId") Integer userId);
@@ -1,23 +1,40 @@
 package com.albany.restapi.repository;
 
 import com.albany.restapi.model.InventoryItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.util.List;
 
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Integer> {
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Integer>, InventoryItemRepositoryCustom {
     
     List<InventoryItem> findByCategory(String category);
+
+    // Keyset-paged read of all items
+    Window<InventoryItem> findAllBy(ScrollPosition position, Limit limit, Sort sort);
     
     List<InventoryItem> findByNameContainingIgnoreCase(String name);
     
-    @Query("SELECT i FROM InventoryItem i WHERE i.currentStock <= i.reorderLevel")
+    // Low stock means currentStock <= reorderLevel; the indexed margin column holds the difference
+    @Query("SELECT i FROM InventoryItem i WHERE i.reorderMargin <= 0")
     List<InventoryItem> findAllLowStock();
     
-    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.currentStock <= i.reorderLevel")
+    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.reorderMargin <= 0")
     long countLowStockItems();
     
     boolean existsByNameIgnoreCase(String name);
+
+    // Takes stock only if enough is left after reservations; returns 0 when it is not
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.currentStock = i.currentStock - :quantity, " +
+           "i.stockVersion = i.stockVersion + 1 " +
+           "WHERE i.itemId = :itemId AND i.currentStock - i.reservedStock >= :quantity")
+    int decrementStock(@Param("itemId") Integer itemId, @Param("quantity") BigDecimal quantity);
 }
\ No newline at end of file
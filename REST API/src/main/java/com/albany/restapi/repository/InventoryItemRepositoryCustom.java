@@ -0,0 +1,38 @@
+package com.albany.restapi.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryItemRepositoryCustom {
+
+    /**
+     * Reserve stock on several items in one batch of conditional updates; a negative quantity hands stock back.
+     * Returns the IDs of items that did not have enough unreserved stock; those rows are left unchanged.
+     */
+    List<Integer> reserveAll(Map<Integer, BigDecimal> quantities);
+
+    /**
+     * Take unreserved stock straight out of the stock on hand, or put it back for a negative quantity.
+     * Returns the IDs of items that did not have enough unreserved stock, like {@link #reserveAll}.
+     */
+    List<Integer> takeAll(Map<Integer, BigDecimal> quantities);
+
+    /**
+     * Hand reserved stock back so it can be promised again
+     */
+    void releaseAll(Map<Integer, BigDecimal> quantities);
+
+    /**
+     * Take reserved stock out of the stock on hand
+     */
+    void commitAll(Map<Integer, BigDecimal> quantities);
+
+    /**
+     * Read the current stock of the given items straight from the table, including changes made by this transaction
+     */
+    List<StockLevel> findStockLevels(Collection<Integer> itemIds);
+
+    List<StockLevel> findAllStockLevels();
+}
@@ -0,0 +1,132 @@
+package com.albany.restapi.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock is reserved, released and committed with guarded updates so the check and the change happen in the database,
+ * which keeps concurrent postings of the same part from overselling it.
+ * Every change bumps {@code stock_version}, the item's optimistic lock column.
+ */
+@RequiredArgsConstructor
+public class InventoryItemRepositoryImpl implements InventoryItemRepositoryCustom {
+
+    private static final String RESERVE_SQL =
+            "UPDATE inventory_items SET reserved_stock = reserved_stock + ?, stock_version = stock_version + 1 " +
+            "WHERE item_id = ? AND current_stock - reserved_stock >= ?";
+
+    private static final String TAKE_SQL =
+            "UPDATE inventory_items SET current_stock = current_stock - ?, stock_version = stock_version + 1 " +
+            "WHERE item_id = ? AND current_stock - reserved_stock >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE inventory_items SET reserved_stock = reserved_stock - ?, stock_version = stock_version + 1 " +
+            "WHERE item_id = ?";
+
+    private static final String COMMIT_SQL =
+            "UPDATE inventory_items SET current_stock = current_stock - ?, reserved_stock = reserved_stock - ?, " +
+            "stock_version = stock_version + 1 WHERE item_id = ?";
+
+    private static final String SELECT_LEVELS_SQL =
+            "SELECT item_id, name, category, unit_price, reorder_level, current_stock, reserved_stock, stock_version " +
+            "FROM inventory_items";
+
+    private static final RowMapper<StockLevel> STOCK_LEVEL_MAPPER = (rs, rowNum) -> new StockLevel(
+            rs.getInt("item_id"),
+            rs.getString("name"),
+            rs.getString("category"),
+            rs.getBigDecimal("unit_price"),
+            rs.getBigDecimal("reorder_level"),
+            rs.getBigDecimal("current_stock"),
+            rs.getBigDecimal("reserved_stock"),
+            rs.getLong("stock_version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Integer> reserveAll(Map<Integer, BigDecimal> quantities) {
+        return guardedBatch(RESERVE_SQL, quantities);
+    }
+
+    @Override
+    public List<Integer> takeAll(Map<Integer, BigDecimal> quantities) {
+        return guardedBatch(TAKE_SQL, quantities);
+    }
+
+    @Override
+    public void releaseAll(Map<Integer, BigDecimal> quantities) {
+        batch(RELEASE_SQL, ordered(quantities), false);
+    }
+
+    @Override
+    public void commitAll(Map<Integer, BigDecimal> quantities) {
+        JdbcBatch.run(entityManager, jdbcTemplate, COMMIT_SQL, ordered(quantities), (statement, entry) -> {
+            statement.setBigDecimal(1, entry.getValue());
+            statement.setBigDecimal(2, entry.getValue());
+            statement.setInt(3, entry.getKey());
+        });
+    }
+
+    @Override
+    public List<StockLevel> findStockLevels(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(itemIds.size(), "?"));
+        return jdbcTemplate.query(SELECT_LEVELS_SQL + " WHERE item_id IN (" + placeholders + ")",
+                STOCK_LEVEL_MAPPER, itemIds.toArray());
+    }
+
+    @Override
+    public List<StockLevel> findAllStockLevels() {
+        return jdbcTemplate.query(SELECT_LEVELS_SQL, STOCK_LEVEL_MAPPER);
+    }
+
+    /**
+     * Run a guarded batch and return the items whose row was left unchanged.
+     * A negative quantity always passes the guard, since unreserved stock is never below zero.
+     */
+    private List<Integer> guardedBatch(String sql, Map<Integer, BigDecimal> quantities) {
+        List<Map.Entry<Integer, BigDecimal>> entries = ordered(quantities);
+        int[] counts = batch(sql, entries, true);
+
+        List<Integer> shortItems = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (counts[i] == 0) {
+                shortItems.add(entries.get(i).getKey());
+            }
+        }
+        return shortItems;
+    }
+
+    /**
+     * Run one update per item as a {@link JdbcBatch}; the quantity is bound first and, when guarded, last as well
+     */
+    private int[] batch(String sql, List<Map.Entry<Integer, BigDecimal>> entries, boolean guarded) {
+        return JdbcBatch.run(entityManager, jdbcTemplate, sql, entries, (statement, entry) -> {
+            statement.setBigDecimal(1, entry.getValue());
+            statement.setInt(2, entry.getKey());
+            if (guarded) {
+                statement.setBigDecimal(3, entry.getValue());
+            }
+        });
+    }
+
+    /**
+     * Lock rows in ID order so two postings sharing items cannot deadlock
+     */
+    private List<Map.Entry<Integer, BigDecimal>> ordered(Map<Integer, BigDecimal> quantities) {
+        return new ArrayList<>(new TreeMap<>(quantities).entrySet());
+    }
+}
@@ -3,7 +3,9 @@ package com.albany.restapi.repository;
 import com.albany.restapi.model.Invoice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Integer> {
     
     @Query("SELECT COUNT(i) FROM Invoice i WHERE i.isDownloadable = true")
     long countDownloadableInvoices();
+
+    @Query("SELECT DISTINCT i.requestId FROM Invoice i WHERE i.requestId IN :requestIds")
+    List<Integer> findRequestIdsWithInvoice(@Param("requestIds") Collection<Integer> requestIds);
 }
\ No newline at end of file
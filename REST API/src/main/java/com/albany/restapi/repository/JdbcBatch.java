@@ -0,0 +1,32 @@
+package com.albany.restapi.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.List;
+
+/**
+ * The JDBC batch the repository fragments write through. Hibernate cannot batch inserts of entities whose IDs
+ * come from an identity column, and per-row guarded updates need their row counts, so those go to JDBC directly.
+ * Rows written this way are not attached to the persistence context and inserted IDs are not read back.
+ * Pending entity changes are flushed first, so the batch runs after them and sees their effect.
+ */
+final class JdbcBatch {
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Run the statement once per row as a single batch and return the update count of each row
+     */
+    static <T> int[] run(EntityManager entityManager, JdbcTemplate jdbcTemplate, String sql, List<T> rows,
+                         ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        entityManager.flush();
+        return jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter)[0];
+    }
+}
@@ -0,0 +1,13 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.dto.LaborCharge;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LaborChargeRepository extends JpaRepository<LaborCharge, Integer> {
+
+    List<LaborCharge> findByRequestIdOrderByChargeIdAsc(Integer requestId);
+
+    boolean existsByRequestId(Integer requestId);
+}
@@ -0,0 +1,13 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.MaterialUsage;
+
+import java.util.List;
+
+public interface MaterialUsageRepositoryCustom {
+
+    /**
+     * Insert new material usages as one {@link JdbcBatch}
+     */
+    void insertAll(List<MaterialUsage> usages);
+}
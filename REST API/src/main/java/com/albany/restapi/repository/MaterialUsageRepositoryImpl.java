@@ -0,0 +1,34 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.MaterialUsage;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts material usages through a {@link JdbcBatch}; their IDs come from an identity column.
+ */
+@RequiredArgsConstructor
+public class MaterialUsageRepositoryImpl implements MaterialUsageRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO materials_used (request_id, inventory_item_id, quantity, used_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<MaterialUsage> usages) {
+        Timestamp usedAt = Timestamp.valueOf(LocalDateTime.now());
+        JdbcBatch.run(entityManager, jdbcTemplate, INSERT_SQL, usages, (statement, usage) -> {
+            statement.setInt(1, usage.getServiceRequest().getRequestId());
+            statement.setInt(2, usage.getInventoryItem().getItemId());
+            statement.setBigDecimal(3, usage.getQuantity());
+            statement.setTimestamp(4, usage.getUsedAt() != null ? Timestamp.valueOf(usage.getUsedAt()) : usedAt);
+        });
+    }
+}
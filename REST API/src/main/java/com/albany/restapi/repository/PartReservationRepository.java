@@ -0,0 +1,11 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.PartReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PartReservationRepository extends JpaRepository<PartReservation, Long>, PartReservationRepositoryCustom {
+
+    List<PartReservation> findByRequestIdAndStatus(Integer requestId, PartReservation.Status status);
+}
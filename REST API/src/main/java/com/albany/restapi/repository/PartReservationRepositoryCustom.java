@@ -0,0 +1,13 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.PartReservation;
+
+import java.util.List;
+
+public interface PartReservationRepositoryCustom {
+
+    /**
+     * Insert new reservations as one {@link JdbcBatch}
+     */
+    void insertAll(List<PartReservation> reservations);
+}
@@ -0,0 +1,39 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.PartReservation;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts reservations through a {@link JdbcBatch}; their IDs come from an identity column.
+ */
+@RequiredArgsConstructor
+public class PartReservationRepositoryImpl implements PartReservationRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO part_reservations (request_id, item_id, quantity, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<PartReservation> reservations) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        JdbcBatch.run(entityManager, jdbcTemplate, INSERT_SQL, reservations, (statement, reservation) -> {
+            PartReservation.Status status = reservation.getStatus() != null ?
+                    reservation.getStatus() : PartReservation.Status.Reserved;
+            statement.setInt(1, reservation.getRequestId());
+            statement.setInt(2, reservation.getItemId());
+            statement.setBigDecimal(3, reservation.getQuantity());
+            statement.setString(4, status.name());
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+        });
+    }
+}
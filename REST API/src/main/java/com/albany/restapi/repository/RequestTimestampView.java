@@ -0,0 +1,13 @@
+package com.albany.restapi.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A per-request timestamp returned by the grouped tracking queries.
+ */
+public interface RequestTimestampView {
+
+    Integer getRequestId();
+
+    LocalDateTime getLastUpdatedAt();
+}
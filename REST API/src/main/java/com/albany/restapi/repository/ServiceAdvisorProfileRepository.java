@@ -1,6 +1,7 @@
 package com.albany.restapi.repository;
 
 import com.albany.restapi.model.ServiceAdvisorProfile;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -11,6 +12,10 @@ public interface ServiceAdvisorProfileRepository extends JpaRepository<ServiceAd
     // Change this method to use the correct property name with underscore notation
     Optional<ServiceAdvisorProfile> findByUser_UserId(Integer userId);
 
+    // Resolve the advisor behind an authenticated email in one query
+    @EntityGraph(attributePaths = "user")
+    Optional<ServiceAdvisorProfile> findByUser_Email(String email);
+
     @Query("SELECT sa FROM ServiceAdvisorProfile sa JOIN sa.user u WHERE u.isActive = true")
     List<ServiceAdvisorProfile> findAllActive();
 
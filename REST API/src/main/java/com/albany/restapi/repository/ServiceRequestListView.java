@@ -0,0 +1,48 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.model.Vehicle;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of a service request with the vehicle, customer and
+ * advisor columns the list screens need, fetched in a single joined select.
+ */
+public interface ServiceRequestListView {
+
+    Integer getRequestId();
+
+    ServiceRequest.Status getStatus();
+
+    String getServiceType();
+
+    LocalDate getDeliveryDate();
+
+    LocalDateTime getCreatedAt();
+
+    String getAdditionalDescription();
+
+    String getVehicleBrand();
+
+    String getVehicleModel();
+
+    String getRegistrationNumber();
+
+    Vehicle.Category getCategory();
+
+    String getCustomerFirstName();
+
+    String getCustomerLastName();
+
+    String getCustomerEmail();
+
+    String getMembershipStatus();
+
+    Integer getAdvisorId();
+
+    String getAdvisorFirstName();
+
+    String getAdvisorLastName();
+}
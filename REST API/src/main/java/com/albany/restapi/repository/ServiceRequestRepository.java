@@ -1,40 +1,133 @@
 package com.albany.restapi.repository;
 
 import com.albany.restapi.model.ServiceRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Integer> {
+public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Integer>,
+        JpaSpecificationExecutor<ServiceRequest> {
+
+    // List reads fetch vehicle -> customer -> user and advisor -> user in the same select
+    String WITH_PARTIES = "ServiceRequest.withParties";
+
+    // What the running totals should hold, correlated on the request alias r
+    String PARTS_TOTAL = "SELECT COALESCE(SUM(mu.quantity * i.unitPrice), 0) FROM MaterialUsage mu " +
+            "JOIN mu.inventoryItem i WHERE mu.serviceRequest = r";
+
+    String LABOR_TOTAL = "SELECT COALESCE(SUM(lc.total), 0) FROM LaborCharge lc WHERE lc.requestId = r.requestId";
+
+    @Override
+    @EntityGraph(WITH_PARTIES)
+    List<ServiceRequest> findAll();
+
+    // Keyset-paged read of all requests
+    @EntityGraph(WITH_PARTIES)
+    Window<ServiceRequest> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 
     // Find by customer ID (through vehicle)
+    @EntityGraph(WITH_PARTIES)
     List<ServiceRequest> findByVehicle_Customer_CustomerId(Integer customerId);
 
     // Find by user ID (through vehicle's customer's user)
+    @EntityGraph(WITH_PARTIES)
     @Query("SELECT sr FROM ServiceRequest sr JOIN sr.vehicle v JOIN v.customer c JOIN c.user u WHERE u.userId = :userId")
     List<ServiceRequest> findByVehicle_Customer_User_UserId(@Param("userId") Integer userId);
 
     // Find by service advisor ID
+    @EntityGraph(WITH_PARTIES)
     List<ServiceRequest> findByServiceAdvisor_AdvisorId(Integer advisorId);
 
     // Find by status
+    @EntityGraph(WITH_PARTIES)
     @Query("SELECT sr FROM ServiceRequest sr WHERE sr.status = :status")
     List<ServiceRequest> findByStatus(@Param("status") ServiceRequest.Status status);
 
+    // Keyset-paged find by status
+    @EntityGraph(WITH_PARTIES)
+    Window<ServiceRequest> findByStatus(ServiceRequest.Status status, ScrollPosition position, Limit limit, Sort sort);
+
+    // Find by any of the given statuses, grouped by status
+    @EntityGraph(WITH_PARTIES)
+    @Query("SELECT sr FROM ServiceRequest sr WHERE sr.status IN :statuses ORDER BY sr.status, sr.requestId")
+    List<ServiceRequest> findByStatusIn(@Param("statuses") Collection<ServiceRequest.Status> statuses);
+
     // Count by status
     @Query("SELECT COUNT(sr) FROM ServiceRequest sr WHERE sr.status = :status")
     long countByStatus(@Param("status") ServiceRequest.Status status);
 
     // Find all service requests that are not in the specified status
+    @EntityGraph(WITH_PARTIES)
     List<ServiceRequest> findByStatusNot(ServiceRequest.Status status);
 
+    // Keyset-paged find of requests not in the specified status
+    @EntityGraph(WITH_PARTIES)
+    Window<ServiceRequest> findByStatusNot(ServiceRequest.Status status, ScrollPosition position, Limit limit, Sort sort);
+
     // Find service requests by vehicle registration number
+    @EntityGraph(WITH_PARTIES)
     List<ServiceRequest> findByVehicle_RegistrationNumber(String registrationNumber);
 
-    // Find service requests by customer name (case insensitive, partial match)
-    @Query("SELECT sr FROM ServiceRequest sr JOIN sr.vehicle v JOIN v.customer c JOIN c.user u " +
-            "WHERE LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :customerName, '%'))")
-    List<ServiceRequest> findByCustomerName(@Param("customerName") String customerName);
+    // Request counts grouped by status and by the attributes the revenue estimate is priced on
+    @Query("SELECT sr.status AS status, sr.serviceType AS serviceType, v.category AS category, " +
+            "c.membershipStatus AS membershipStatus, COUNT(sr) AS requestCount " +
+            "FROM ServiceRequest sr LEFT JOIN sr.vehicle v LEFT JOIN v.customer c " +
+            "GROUP BY sr.status, sr.serviceType, v.category, c.membershipStatus")
+    List<ServiceRequestStatusBucket> aggregateByStatus();
+
+    // List rows for the given statuses with vehicle, customer and advisor columns joined in
+    @Query("SELECT sr.requestId AS requestId, sr.status AS status, sr.serviceType AS serviceType, " +
+            "sr.deliveryDate AS deliveryDate, sr.createdAt AS createdAt, " +
+            "sr.additionalDescription AS additionalDescription, " +
+            "v.brand AS vehicleBrand, v.model AS vehicleModel, v.registrationNumber AS registrationNumber, " +
+            "v.category AS category, u.firstName AS customerFirstName, u.lastName AS customerLastName, " +
+            "u.email AS customerEmail, c.membershipStatus AS membershipStatus, " +
+            "sa.advisorId AS advisorId, au.firstName AS advisorFirstName, au.lastName AS advisorLastName " +
+            "FROM ServiceRequest sr LEFT JOIN sr.vehicle v LEFT JOIN v.customer c LEFT JOIN c.user u " +
+            "LEFT JOIN sr.serviceAdvisor sa LEFT JOIN sa.user au " +
+            "WHERE sr.status IN :statuses ORDER BY sr.status, sr.requestId")
+    List<ServiceRequestListView> findListViewsByStatusIn(@Param("statuses") Collection<ServiceRequest.Status> statuses);
+
+    @Query("SELECT r.partsSubtotal AS partsSubtotal, r.laborSubtotal AS laborSubtotal " +
+            "FROM ServiceRequest r WHERE r.requestId = :requestId")
+    Optional<BillTotalsView> findBillTotals(@Param("requestId") Integer requestId);
+
+    // Running totals are only ever moved by a delta so concurrent changes add up instead of overwriting each other
+    @Modifying
+    @Query("UPDATE ServiceRequest r SET r.partsSubtotal = r.partsSubtotal + :delta WHERE r.requestId = :requestId")
+    int addToPartsSubtotal(@Param("requestId") Integer requestId, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE ServiceRequest r SET r.laborSubtotal = r.laborSubtotal + :delta WHERE r.requestId = :requestId")
+    int addToLaborSubtotal(@Param("requestId") Integer requestId, @Param("delta") BigDecimal delta);
+
+    // A unit price change moves the parts total of every request that used the item
+    @Modifying
+    @Query("UPDATE ServiceRequest r SET r.partsSubtotal = r.partsSubtotal + :priceDelta * " +
+            "(SELECT SUM(mu.quantity) FROM MaterialUsage mu WHERE mu.serviceRequest = r AND mu.inventoryItem.itemId = :itemId) " +
+            "WHERE EXISTS (SELECT 1 FROM MaterialUsage mu WHERE mu.serviceRequest = r AND mu.inventoryItem.itemId = :itemId)")
+    int repriceParts(@Param("itemId") Integer itemId, @Param("priceDelta") BigDecimal priceDelta);
+
+    /**
+     * Recompute the running totals from material usages and labor charges, touching only rows that drifted.
+     * Returns the number of rows corrected.
+     */
+    @Modifying
+    @Query("UPDATE ServiceRequest r SET " +
+            "r.partsSubtotal = (" + PARTS_TOTAL + "), " +
+            "r.laborSubtotal = (" + LABOR_TOTAL + ") " +
+            "WHERE r.partsSubtotal <> (" + PARTS_TOTAL + ") OR r.laborSubtotal <> (" + LABOR_TOTAL + ")")
+    int reconcileTotals();
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.model.Vehicle;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Criteria building blocks for filtering service requests in the database.
+ */
+public final class ServiceRequestSpecifications {
+
+    private ServiceRequestSpecifications() {
+    }
+
+    public static Specification<ServiceRequest> hasStatus(ServiceRequest.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<ServiceRequest> statusNot(ServiceRequest.Status status) {
+        return (root, query, cb) -> cb.notEqual(root.get("status"), status);
+    }
+
+    public static Specification<ServiceRequest> hasVehicleCategory(Vehicle.Category category) {
+        return (root, query, cb) -> cb.equal(joinOnce(root, "vehicle").get("category"), category);
+    }
+
+    public static Specification<ServiceRequest> hasServiceType(String serviceType) {
+        return (root, query, cb) -> cb.equal(root.get("serviceType"), serviceType);
+    }
+
+    /**
+     * Requests for any of the given vehicles (e.g. the capped matches of a search index lookup); none for an empty set.
+     * Compares the foreign key on the request row, so no join is needed.
+     */
+    public static Specification<ServiceRequest> hasVehicleIn(Collection<Integer> vehicleIds) {
+        return (root, query, cb) -> vehicleIds.isEmpty()
+                ? cb.disjunction()
+                : root.get("vehicle").get("vehicleId").in(vehicleIds);
+    }
+
+    /**
+     * Fetch vehicle -> customer -> user and advisor -> user with the rows, like the WITH_PARTIES entity graph
+     */
+    public static Specification<ServiceRequest> fetchParties() {
+        return (root, query, cb) -> {
+            // Count queries cannot carry fetch joins
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                Fetch<ServiceRequest, Vehicle> vehicle = root.fetch("vehicle", JoinType.LEFT);
+                vehicle.fetch("customer", JoinType.LEFT).fetch("user", JoinType.LEFT);
+                root.fetch("serviceAdvisor", JoinType.LEFT).fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * The existing fetch or join of the attribute, or a new left join if the query has neither yet
+     */
+    @SuppressWarnings("unchecked")
+    private static <X, Y> Join<X, Y> joinOnce(From<?, X> from, String attribute) {
+        for (Fetch<X, ?> fetch : from.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute) && fetch instanceof Join<?, ?> join) {
+                return (Join<X, Y>) join;
+            }
+        }
+        for (Join<X, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute)) {
+                return (Join<X, Y>) join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.model.Vehicle;
+
+/**
+ * One row of the grouped dashboard aggregate: the number of requests sharing a status
+ * and the attributes the revenue estimate is priced on.
+ */
+public interface ServiceRequestStatusBucket {
+
+    ServiceRequest.Status getStatus();
+
+    String getServiceType();
+
+    Vehicle.Category getCategory();
+
+    String getMembershipStatus();
+
+    Long getRequestCount();
+}
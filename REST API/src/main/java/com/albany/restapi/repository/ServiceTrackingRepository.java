@@ -6,8 +6,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,19 +17,22 @@ public interface ServiceTrackingRepository extends JpaRepository<ServiceTracking
 
     List<ServiceTracking> findByStatus(ServiceRequest.Status status);
 
-    @Query("SELECT SUM(st.laborCost) FROM ServiceTracking st WHERE st.requestId = :requestId")
-    Optional<BigDecimal> findTotalLaborCostByRequestId(@Param("requestId") Integer requestId);
-
-    @Query("SELECT SUM(st.laborMinutes) FROM ServiceTracking st WHERE st.requestId = :requestId")
-    Integer sumLaborMinutesByRequestId(@Param("requestId") Integer requestId);
-
     @Query("SELECT CAST(MAX(st.updatedAt) AS LocalDate) FROM ServiceTracking st WHERE st.requestId = :requestId AND st.status = :status")
     Optional<LocalDate> findLastUpdateDateByRequestIdAndStatus(
             @Param("requestId") Integer requestId,
             @Param("status") ServiceRequest.Status status);
 
-    /**
-     * Find service tracking entries that have labor costs (for labor charges)
-     */
-    List<ServiceTracking> findByRequestIdAndLaborCostNotNull(Integer requestId);
+    @Query("SELECT st.requestId AS requestId, MAX(st.updatedAt) AS lastUpdatedAt FROM ServiceTracking st " +
+            "WHERE st.requestId IN :requestIds AND st.status = :status GROUP BY st.requestId")
+    List<RequestTimestampView> findLastUpdateByRequestIdsAndStatus(
+            @Param("requestIds") Collection<Integer> requestIds,
+            @Param("status") ServiceRequest.Status status);
+
+    // The latest entry's description is shown as the bill's notes
+    @Query("SELECT st.workDescription FROM ServiceTracking st WHERE st.requestId = :requestId " +
+            "ORDER BY st.updatedAt DESC, st.trackingId DESC LIMIT 1")
+    Optional<String> findLatestWorkDescription(@Param("requestId") Integer requestId);
+
+    // Entries written before labor charges had their own table
+    List<ServiceTracking> findByLaborCostNotNull();
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.InventoryItem;
+
+import java.math.BigDecimal;
+
+/**
+ * An inventory item's catalogue details and stock as of one {@code stockVersion}.
+ */
+public record StockLevel(
+        Integer itemId,
+        String name,
+        String category,
+        BigDecimal unitPrice,
+        BigDecimal reorderLevel,
+        BigDecimal onHand,
+        BigDecimal reserved,
+        long version) {
+
+    public static StockLevel of(InventoryItem item) {
+        return new StockLevel(item.getItemId(), item.getName(), item.getCategory(), item.getUnitPrice(),
+                item.getReorderLevel(), item.getCurrentStock(),
+                item.getReservedStock() != null ? item.getReservedStock() : BigDecimal.ZERO,
+                item.getStockVersion());
+    }
+
+    /**
+     * Stock that can still be promised to a new service request
+     */
+    public BigDecimal available() {
+        return onHand.subtract(reserved);
+    }
+}
@@ -1,6 +1,11 @@
 package com.albany.restapi.repository;
 
 import com.albany.restapi.model.Vehicle;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -8,6 +13,10 @@ import java.util.List;
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
     
     List<Vehicle> findByCustomer_CustomerId(Integer customerId);
+
+    // Keyset-paged read of all vehicles with their owners
+    @EntityGraph(attributePaths = "customer.user")
+    Window<Vehicle> findAllBy(ScrollPosition position, Limit limit, Sort sort);
     
     boolean existsByRegistrationNumber(String registrationNumber);
 }
\ No newline at end of file
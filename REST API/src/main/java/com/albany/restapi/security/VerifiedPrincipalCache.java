@@ -0,0 +1,85 @@
+package com.albany.restapi.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps verified tokens to the user they were issued for, so a repeat request skips the user lookup.
+ * Entries live until the token expires or {@link #TIME_TO_LIVE} passes, whichever is first,
+ * and are dropped for a user when they are deactivated or their credentials change (see {@link #evictUser(String)}).
+ */
+@Component
+@Slf4j
+public class VerifiedPrincipalCache {
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final Map<String, CachedPrincipal> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public UserDetails get(VerifiedToken verified) {
+        synchronized (cache) {
+            CachedPrincipal entry = cache.get(verified.token());
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                cache.remove(verified.token());
+                return null;
+            }
+            return entry.userDetails();
+        }
+    }
+
+    public void put(VerifiedToken verified, UserDetails userDetails) {
+        long expiresAt = System.currentTimeMillis() + TIME_TO_LIVE.toMillis();
+        if (verified.expiration() != null) {
+            expiresAt = Math.min(expiresAt, verified.expiration().getTime());
+        }
+        synchronized (cache) {
+            cache.put(verified.token(), new CachedPrincipal(userDetails, expiresAt));
+        }
+    }
+
+    /**
+     * Drop every cached token for the user now and, inside a transaction, again after commit so a
+     * concurrent request cannot re-cache the old row in between
+     */
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        remove(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    private void remove(String username) {
+        synchronized (cache) {
+            cache.values().removeIf(entry -> username.equals(entry.userDetails().getUsername()));
+        }
+        log.debug("Evicted cached principals for user: {}", username);
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, long expiresAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.albany.restapi.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked, read from a single parse.
+ */
+public record VerifiedToken(
+        String token,
+        String subject,
+        Integer userId,
+        String role,
+        Date issuedAt,
+        Date expiration
+) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,107 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.ServiceAdvisorProfile;
+import com.albany.restapi.repository.ServiceAdvisorProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves the service advisor profile behind an authenticated email.
+ * The result is held on the current request, and a small LRU cache keyed by email serves later requests
+ * until the advisor is updated or deactivated (see {@link #evict(String)}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdvisorPrincipalResolver {
+
+    private static final String REQUEST_ATTRIBUTE = AdvisorPrincipalResolver.class.getName() + ".advisor";
+    private static final int MAX_ENTRIES = 256;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final ServiceAdvisorProfileRepository serviceAdvisorProfileRepository;
+
+    private final Map<String, CachedAdvisor> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAdvisor> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public ServiceAdvisorProfile resolve(String email) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof ServiceAdvisorProfile held
+                && email.equals(held.getUser().getEmail())) {
+            return held;
+        }
+
+        ServiceAdvisorProfile advisor = cached(email);
+        if (advisor == null) {
+            advisor = serviceAdvisorProfileRepository.findByUser_Email(email)
+                    .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + email));
+            synchronized (cache) {
+                cache.put(email, new CachedAdvisor(advisor, System.nanoTime() + TIME_TO_LIVE.toNanos()));
+            }
+        }
+
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, advisor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return advisor;
+    }
+
+    /**
+     * Drop the cached advisor now and, inside a transaction, again after commit so a concurrent
+     * request cannot re-cache the old row in between
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        remove(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+    private void remove(String email) {
+        synchronized (cache) {
+            cache.remove(email);
+        }
+        log.debug("Evicted cached service advisor: {}", email);
+    }
+
+    private ServiceAdvisorProfile cached(String email) {
+        synchronized (cache) {
+            CachedAdvisor entry = cache.get(email);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() - System.nanoTime() <= 0) {
+                cache.remove(email);
+                return null;
+            }
+            return entry.advisor();
+        }
+    }
+
+    private record CachedAdvisor(ServiceAdvisorProfile advisor, long expiresAt) {
+    }
+}
@@ -6,6 +6,7 @@ import com.albany.restapi.dto.PasswordChangeRequest;
 import com.albany.restapi.model.User;
 import com.albany.restapi.repository.UserRepository;
 import com.albany.restapi.security.JwtUtil;
+import com.albany.restapi.security.VerifiedPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -26,6 +27,7 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final VerifiedPrincipalCache verifiedPrincipalCache;
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         try {
@@ -93,6 +95,7 @@ public class AuthenticationService {
         // Update the password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        verifiedPrincipalCache.evictUser(user.getEmail());
 
         // Send email notification
         try {
@@ -1,5 +1,6 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
 import com.albany.restapi.dto.BillRequestDTO;
 import com.albany.restapi.dto.BillResponseDTO;
 import com.albany.restapi.dto.LaborChargeDTO;
@@ -16,9 +17,10 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class BillService {
@@ -27,6 +29,7 @@ public class BillService {
     private final MaterialUsageRepository materialUsageRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final ServiceTrackingRepository serviceTrackingRepository;
+    private final LaborChargeRepository laborChargeRepository;
     private final EmailService emailService;
 
     /**
@@ -146,19 +149,13 @@ public class BillService {
      * Helper method to create a dummy bill request for demonstration
      */
     private BillRequestDTO createDummyBillRequest(Integer requestId) {
-        // Get service request
-        ServiceRequest request = serviceRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + requestId));
-
         // Get material usages
         List<MaterialUsage> materialUsages = materialUsageRepository.findByServiceRequest_RequestId(requestId);
         List<MaterialItemDTO> materials = new ArrayList<>();
-        BigDecimal materialsTotal = BigDecimal.ZERO;
 
         for (MaterialUsage usage : materialUsages) {
             InventoryItem item = usage.getInventoryItem();
             BigDecimal itemTotal = usage.getQuantity().multiply(item.getUnitPrice());
-            materialsTotal = materialsTotal.add(itemTotal);
 
             MaterialItemDTO materialItem = new MaterialItemDTO();
             materialItem.setItemId(item.getItemId());
@@ -171,47 +168,21 @@ public class BillService {
         }
 
         // Get labor charges
-        List<ServiceTracking> laborEntries = serviceTrackingRepository.findByRequestIdAndLaborCostNotNull(requestId);
-        List<LaborChargeDTO> laborCharges = new ArrayList<>();
-        BigDecimal laborTotal = BigDecimal.ZERO;
-
-        for (ServiceTracking tracking : laborEntries) {
-            if (tracking.getWorkDescription() != null &&
-                    tracking.getWorkDescription().startsWith("Labor:") &&
-                    tracking.getLaborCost() != null) {
-
-                BigDecimal hours = BigDecimal.ZERO;
-                if (tracking.getLaborMinutes() != null) {
-                    hours = new BigDecimal(tracking.getLaborMinutes()).divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-                }
-
-                BigDecimal ratePerHour = BigDecimal.ZERO;
-                if (tracking.getLaborMinutes() != null && tracking.getLaborMinutes() > 0 && tracking.getLaborCost() != null) {
-                    ratePerHour = tracking.getLaborCost()
-                            .multiply(new BigDecimal("60"))
-                            .divide(new BigDecimal(tracking.getLaborMinutes()), 2, RoundingMode.HALF_UP);
-                }
-
-                LaborChargeDTO laborChargeDTO = new LaborChargeDTO();
-                laborChargeDTO.setDescription(tracking.getWorkDescription().substring(7).trim());
-                laborChargeDTO.setHours(hours);
-                laborChargeDTO.setRatePerHour(ratePerHour);
-                laborChargeDTO.setTotal(tracking.getLaborCost());
-
-                laborCharges.add(laborChargeDTO);
-                laborTotal = laborTotal.add(tracking.getLaborCost());
-            }
-        }
+        List<LaborChargeDTO> laborCharges = laborChargeRepository.findByRequestIdOrderByChargeIdAsc(requestId).stream()
+                .map(LaborChargeDTO::from)
+                .collect(Collectors.toList());
 
-        // Calculate totals
+        // Totals come from the request's running totals, read as stored rather than from the loaded entity
+        BillTotalsView totals = serviceRequestRepository.findBillTotals(requestId)
+                .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + requestId));
+        BigDecimal materialsTotal = totals.getPartsSubtotal().setScale(2, RoundingMode.HALF_UP);
+        BigDecimal laborTotal = totals.getLaborSubtotal().setScale(2, RoundingMode.HALF_UP);
         BigDecimal subtotal = materialsTotal.add(laborTotal);
         BigDecimal gst = subtotal.multiply(new BigDecimal("0.07")).setScale(2, RoundingMode.HALF_UP);
         BigDecimal grandTotal = subtotal.add(gst);
 
         // Get notes if any
-        Optional<ServiceTracking> latestTracking = serviceTrackingRepository.findByRequestId(requestId).stream()
-                .max((a, b) -> a.getUpdatedAt().compareTo(b.getUpdatedAt()));
-        String notes = latestTracking.map(ServiceTracking::getWorkDescription).orElse("");
+        String notes = serviceTrackingRepository.findLatestWorkDescription(requestId).orElse("");
 
         // Create bill request
         BillRequestDTO billRequest = new BillRequestDTO();
@@ -1,35 +1,68 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
 import com.albany.restapi.dto.*;
 import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.model.Vehicle;
+import com.albany.restapi.repository.ServiceRequestListView;
 import com.albany.restapi.repository.ServiceRequestRepository;
+import com.albany.restapi.repository.ServiceRequestStatusBucket;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 public class DashboardService {
 
+    // Map common service types to base costs
+    private static final Map<String, BigDecimal> SERVICE_BASE_COSTS = Map.of(
+            "Oil Change", BigDecimal.valueOf(2000.00),
+            "Brake Service", BigDecimal.valueOf(5000.00),
+            "Tire Rotation", BigDecimal.valueOf(1500.00),
+            "Engine Repair", BigDecimal.valueOf(15000.00),
+            "Transmission Service", BigDecimal.valueOf(10000.00),
+            "Regular Maintenance", BigDecimal.valueOf(3500.00),
+            "Battery Replacement", BigDecimal.valueOf(4000.00),
+            "Diagnostics", BigDecimal.valueOf(2500.00)
+    );
+
+    private static final BigDecimal DEFAULT_BASE_COST = BigDecimal.valueOf(5000.00);
+
     private final ServiceRequestRepository serviceRequestRepository;
 
     public DashboardDTO getDashboardData() {
-        // Get counts
-        long vehiclesDueCount = serviceRequestRepository.countByStatus(ServiceRequest.Status.Received);
-        long vehiclesInProgressCount = serviceRequestRepository.countByStatus(ServiceRequest.Status.Diagnosis) +
-                serviceRequestRepository.countByStatus(ServiceRequest.Status.Repair);
-        long vehiclesCompletedCount = serviceRequestRepository.countByStatus(ServiceRequest.Status.Completed);
+        // Counts per status and completed revenue come from one grouped aggregate
+        Map<ServiceRequest.Status, Long> counts = new EnumMap<>(ServiceRequest.Status.class);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
 
-        // Get revenue from completed services
-        BigDecimal totalRevenue = calculateTotalRevenue();
+        for (ServiceRequestStatusBucket bucket : serviceRequestRepository.aggregateByStatus()) {
+            if (bucket.getStatus() == null) {
+                continue;
+            }
+            counts.merge(bucket.getStatus(), bucket.getRequestCount(), Long::sum);
+
+            // Every request in a bucket is priced the same, so one estimate covers the whole group
+            if (bucket.getStatus() == ServiceRequest.Status.Completed) {
+                BigDecimal serviceCost = calculateServiceCost(
+                        bucket.getServiceType(), bucket.getCategory(), bucket.getMembershipStatus());
+                totalRevenue = totalRevenue.add(serviceCost.multiply(BigDecimal.valueOf(bucket.getRequestCount())));
+            }
+        }
+
+        long vehiclesDueCount = counts.getOrDefault(ServiceRequest.Status.Received, 0L);
+        long vehiclesInProgressCount = counts.getOrDefault(ServiceRequest.Status.Diagnosis, 0L) +
+                counts.getOrDefault(ServiceRequest.Status.Repair, 0L);
+        long vehiclesCompletedCount = counts.getOrDefault(ServiceRequest.Status.Completed, 0L);
 
         // Get lists of vehicles
         List<VehicleDueDTO> vehiclesDueList = getVehiclesDueList();
@@ -48,32 +81,14 @@ public class DashboardService {
                 .build();
     }
 
-    private BigDecimal calculateTotalRevenue() {
-        // Get all completed service requests
-        List<ServiceRequest> completedRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Completed);
-
-        // Initialize revenue
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-
-        // For each completed request, calculate the total based on service type and vehicle category
-        for (ServiceRequest request : completedRequests) {
-            // Calculate cost based on service type and vehicle attributes
-            BigDecimal serviceCost = calculateServiceCost(request);
-            totalRevenue = totalRevenue.add(serviceCost);
-        }
-
-        return totalRevenue;
-    }
-
-    private BigDecimal calculateServiceCost(ServiceRequest request) {
+    private BigDecimal calculateServiceCost(String serviceType, Vehicle.Category category, String membershipStatus) {
         // Get base cost based on service type
-        String serviceType = request.getServiceType();
         BigDecimal baseServiceCost = getServiceBaseCost(serviceType);
 
         // Apply multiplier based on vehicle category (premium for cars and trucks)
         BigDecimal categoryMultiplier = BigDecimal.ONE; // default
-        if (request.getVehicle() != null && request.getVehicle().getCategory() != null) {
-            switch (request.getVehicle().getCategory()) {
+        if (category != null) {
+            switch (category) {
                 case Car:
                     categoryMultiplier = BigDecimal.valueOf(1.2);
                     break;
@@ -88,48 +103,29 @@ public class DashboardService {
 
         // Apply premium customer discount if applicable
         BigDecimal membershipMultiplier = BigDecimal.ONE;
-        if (request.getVehicle() != null &&
-                request.getVehicle().getCustomer() != null &&
-                "Premium".equals(request.getVehicle().getCustomer().getMembershipStatus())) {
+        if ("Premium".equals(membershipStatus)) {
             membershipMultiplier = BigDecimal.valueOf(0.9); // 10% discount for premium members
         }
 
         // Calculate final cost
-        BigDecimal finalCost = baseServiceCost
+        return baseServiceCost
                 .multiply(categoryMultiplier)
                 .multiply(membershipMultiplier)
                 .setScale(2, RoundingMode.HALF_UP);
-
-        return finalCost;
     }
 
     private BigDecimal getServiceBaseCost(String serviceType) {
-        if (serviceType == null) return BigDecimal.valueOf(5000.00);
-
-        // Map common service types to base costs
-        Map<String, BigDecimal> serviceCosts = new HashMap<>();
-        serviceCosts.put("Oil Change", BigDecimal.valueOf(2000.00));
-        serviceCosts.put("Brake Service", BigDecimal.valueOf(5000.00));
-        serviceCosts.put("Tire Rotation", BigDecimal.valueOf(1500.00));
-        serviceCosts.put("Engine Repair", BigDecimal.valueOf(15000.00));
-        serviceCosts.put("Transmission Service", BigDecimal.valueOf(10000.00));
-        serviceCosts.put("Regular Maintenance", BigDecimal.valueOf(3500.00));
-        serviceCosts.put("Battery Replacement", BigDecimal.valueOf(4000.00));
-        serviceCosts.put("Diagnostics", BigDecimal.valueOf(2500.00));
-
-        return serviceCosts.getOrDefault(serviceType, BigDecimal.valueOf(5000.00));
+        if (serviceType == null) return DEFAULT_BASE_COST;
+        return SERVICE_BASE_COSTS.getOrDefault(serviceType, DEFAULT_BASE_COST);
     }
 
     private List<VehicleDueDTO> getVehiclesDueList() {
-        List<ServiceRequest> requests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Received);
-
-        return requests.stream().map(request -> {
-            String vehicleName = request.getVehicle().getBrand() + " " + request.getVehicle().getModel();
-            String customerName = request.getVehicle().getCustomer().getUser().getFirstName() + " " +
-                    request.getVehicle().getCustomer().getUser().getLastName();
+        List<ServiceRequestListView> rows = serviceRequestRepository.findListViewsByStatusIn(
+                EnumSet.of(ServiceRequest.Status.Received));
 
+        return rows.stream().map(row -> {
             // Get the membership status directly from the database without modification
-            String membershipStatus = request.getVehicle().getCustomer().getMembershipStatus();
+            String membershipStatus = row.getMembershipStatus();
 
             // Default to Standard only if completely null
             if (membershipStatus == null) {
@@ -137,100 +133,89 @@ public class DashboardService {
             }
 
             return VehicleDueDTO.builder()
-                    .requestId(request.getRequestId())
-                    .vehicleName(vehicleName)
-                    .registrationNumber(request.getVehicle().getRegistrationNumber())
-                    .customerName(customerName)
-                    .customerEmail(request.getVehicle().getCustomer().getUser().getEmail())
-                    .status(request.getStatus().name())
-                    .dueDate(request.getDeliveryDate())
-                    .category(request.getVehicle().getCategory().name())
+                    .requestId(row.getRequestId())
+                    .vehicleName(row.getVehicleBrand() + " " + row.getVehicleModel())
+                    .registrationNumber(row.getRegistrationNumber())
+                    .customerName(row.getCustomerFirstName() + " " + row.getCustomerLastName())
+                    .customerEmail(row.getCustomerEmail())
+                    .status(row.getStatus().name())
+                    .dueDate(row.getDeliveryDate())
+                    .category(row.getCategory() != null ? row.getCategory().name() : null)
                     .membershipStatus(membershipStatus)
                     .build();
         }).collect(Collectors.toList());
     }
 
     private List<VehicleInServiceDTO> getVehiclesInServiceList() {
-        List<ServiceRequest> diagnosisRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Diagnosis);
-        List<ServiceRequest> repairRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Repair);
-
-        List<ServiceRequest> inServiceRequests = new ArrayList<>();
-        inServiceRequests.addAll(diagnosisRequests);
-        inServiceRequests.addAll(repairRequests);
-
-        return inServiceRequests.stream().map(request -> {
-            String vehicleName = request.getVehicle().getBrand() + " " + request.getVehicle().getModel();
-            String advisorName = request.getServiceAdvisor() != null ?
-                    request.getServiceAdvisor().getUser().getFirstName() + " " +
-                            request.getServiceAdvisor().getUser().getLastName() :
+        List<ServiceRequestListView> rows = serviceRequestRepository.findListViewsByStatusIn(
+                EnumSet.of(ServiceRequest.Status.Diagnosis, ServiceRequest.Status.Repair));
+
+        return rows.stream().map(row -> {
+            String advisorName = row.getAdvisorId() != null ?
+                    row.getAdvisorFirstName() + " " + row.getAdvisorLastName() :
                     "Not Assigned";
 
-            String advisorId = request.getServiceAdvisor() != null ?
-                    request.getServiceAdvisor().getFormattedId() :
+            String advisorId = row.getAdvisorId() != null ?
+                    "SA-" + String.format("%03d", row.getAdvisorId()) :
                     "N/A";
 
             // For estimatedCompletionDate, we'll use delivery date
-            LocalDate startDate = request.getCreatedAt().toLocalDate();
+            LocalDate startDate = row.getCreatedAt().toLocalDate();
 
             // Get customer information
             String customerName = "N/A";
             String customerEmail = "N/A";
             String membershipStatus = "Standard";
 
-            if (request.getVehicle() != null && request.getVehicle().getCustomer() != null) {
-                if (request.getVehicle().getCustomer().getUser() != null) {
-                    customerName = request.getVehicle().getCustomer().getUser().getFirstName() + " " +
-                            request.getVehicle().getCustomer().getUser().getLastName();
-                    customerEmail = request.getVehicle().getCustomer().getUser().getEmail();
-                }
+            if (row.getCustomerEmail() != null) {
+                customerName = row.getCustomerFirstName() + " " + row.getCustomerLastName();
+                customerEmail = row.getCustomerEmail();
+            }
 
-                if (request.getVehicle().getCustomer().getMembershipStatus() != null) {
-                    membershipStatus = request.getVehicle().getCustomer().getMembershipStatus();
-                }
+            if (row.getMembershipStatus() != null) {
+                membershipStatus = row.getMembershipStatus();
             }
 
             return VehicleInServiceDTO.builder()
-                    .requestId(request.getRequestId())
-                    .vehicleName(vehicleName)
-                    .registrationNumber(request.getVehicle().getRegistrationNumber())
+                    .requestId(row.getRequestId())
+                    .vehicleName(row.getVehicleBrand() + " " + row.getVehicleModel())
+                    .registrationNumber(row.getRegistrationNumber())
                     .serviceAdvisorName(advisorName)
                     .serviceAdvisorId(advisorId)
-                    .status(request.getStatus().name())
+                    .status(row.getStatus().name())
                     .startDate(startDate)
-                    .estimatedCompletionDate(request.getDeliveryDate())
-                    .category(request.getVehicle().getCategory().name())
+                    .estimatedCompletionDate(row.getDeliveryDate())
+                    .category(row.getCategory() != null ? row.getCategory().name() : null)
                     .customerName(customerName)
                     .customerEmail(customerEmail)
                     .membershipStatus(membershipStatus)
-                    .serviceType(request.getServiceType())
-                    .additionalDescription(request.getAdditionalDescription())
+                    .serviceType(row.getServiceType())
+                    .additionalDescription(row.getAdditionalDescription())
                     .build();
         }).collect(Collectors.toList());
     }
 
     private List<CompletedServiceDTO> getCompletedServicesList() {
-        List<ServiceRequest> requests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Completed);
-
-        return requests.stream().map(request -> {
-            String vehicleName = request.getVehicle().getBrand() + " " + request.getVehicle().getModel();
-            String customerName = request.getVehicle().getCustomer().getUser().getFirstName() + " " +
-                    request.getVehicle().getCustomer().getUser().getLastName();
-            String advisorName = request.getServiceAdvisor() != null ?
-                    request.getServiceAdvisor().getUser().getFirstName() + " " +
-                            request.getServiceAdvisor().getUser().getLastName() :
+        List<ServiceRequestListView> rows = serviceRequestRepository.findListViewsByStatusIn(
+                EnumSet.of(ServiceRequest.Status.Completed));
+
+        return rows.stream().map(row -> {
+            String advisorName = row.getAdvisorId() != null ?
+                    row.getAdvisorFirstName() + " " + row.getAdvisorLastName() :
                     "Not Assigned";
 
             // Calculate actual service cost
-            BigDecimal totalCost = calculateServiceCost(request);
+            BigDecimal totalCost = calculateServiceCost(
+                    row.getServiceType(), row.getCategory(), row.getMembershipStatus());
 
             // Check if there's an invoice (mock implementation)
             boolean hasInvoice = Math.random() > 0.3; // 70% chance of having an invoice
 
             return CompletedServiceDTO.builder()
-                    .serviceId(request.getRequestId())
-                    .vehicleName(vehicleName)
-                    .registrationNumber(request.getVehicle().getRegistrationNumber())
-                    .customerName(customerName)
+                    .serviceId(row.getRequestId())
+                    .vehicleName(row.getVehicleBrand() + " " + row.getVehicleModel())
+                    .registrationNumber(row.getRegistrationNumber())
+                    .customerName(row.getCustomerFirstName() + " " + row.getCustomerLastName())
                     .completedDate(LocalDate.now().minusDays((long)(Math.random() * 30)))
                     .serviceAdvisorName(advisorName)
                     .totalCost(totalCost)
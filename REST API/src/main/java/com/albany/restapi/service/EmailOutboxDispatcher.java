@@ -0,0 +1,230 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.EmailOutboxMessage;
+import com.albany.restapi.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in the background.
+ * Each batch is handed to the mail sender in one call so it goes out over a single SMTP connection.
+ * Delivered messages are deleted; failed ones are retried with exponential backoff until {@link #MAX_ATTEMPTS}.
+ * A message that gives up keeps only its envelope and error (the body may hold a temporary password)
+ * and is purged once past the failed-message retention.
+ * Assumes a single application instance polls the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    static final int BATCH_SIZE = 50;
+    static final int MAX_ATTEMPTS = 8;
+    static final String REDACTED_BODY = "[removed after delivery failed]";
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.failed-retention:7d}")
+    private Duration failedRetention;
+
+    // Refreshed after every poll so scraping the gauges never queries the database
+    private final AtomicLong pendingMessages = new AtomicLong();
+    private final AtomicLong failedMessages = new AtomicLong();
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter abandonedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("email.outbox.pending", pendingMessages, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.failed", failedMessages, AtomicLong::get)
+                .description("Emails that exhausted their retries")
+                .register(meterRegistry);
+
+        sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        abandonedCounter = Counter.builder("email.outbox.abandoned").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        try {
+            // Keep going while full batches come back so a backlog drains within one poll
+            while (dispatchBatch() == BATCH_SIZE) {
+                log.debug("Outbox batch full, sending the next one");
+            }
+        } finally {
+            refreshDepth();
+        }
+    }
+
+    /**
+     * Delete failed messages older than the retention; they are kept that long only to investigate the error
+     */
+    @Scheduled(cron = "${email.outbox.purge-cron:0 45 2 * * *}")
+    @Transactional
+    public int purgeFailed() {
+        int purged = emailOutboxRepository.deleteByStatusCreatedBefore(
+                EmailOutboxMessage.Status.Failed, LocalDateTime.now().minus(failedRetention));
+        if (purged > 0) {
+            log.info("Purged {} failed emails from the outbox", purged);
+        }
+        refreshDepth();
+        return purged;
+    }
+
+    /**
+     * Send one batch of due messages and return how many were attempted
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByMessageIdAsc(
+                EmailOutboxMessage.Status.Pending, now, Limit.of(BATCH_SIZE));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<EmailOutboxMessage> failed = new ArrayList<>();
+        Map<MimeMessage, EmailOutboxMessage> batch = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : due) {
+            try {
+                batch.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                recordFailure(message, e, now);
+                failed.add(message);
+            }
+        }
+
+        Map<Object, Exception> sendFailures = Map.of();
+        MailException batchFailure = null;
+        if (!batch.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                mailSender.send(batch.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                outcome = "error";
+                // Holds the individual messages the server refused, or every message when it could not connect
+                sendFailures = e.getFailedMessages();
+                if (sendFailures.isEmpty()) {
+                    batchFailure = e;
+                }
+            } catch (MailException e) {
+                outcome = "error";
+                batchFailure = e;
+            } finally {
+                // One SMTP session per batch, so this is the time the mail server takes for the whole batch
+                sample.stop(Timer.builder("email.send")
+                        .description("Time spent sending a batch of emails to the mail server")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+
+        List<EmailOutboxMessage> delivered = new ArrayList<>();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : batch.entrySet()) {
+            Exception error = batchFailure != null ? batchFailure : sendFailures.get(entry.getKey());
+            if (error == null) {
+                delivered.add(entry.getValue());
+            } else {
+                recordFailure(entry.getValue(), error, now);
+                failed.add(entry.getValue());
+            }
+        }
+
+        emailOutboxRepository.deleteAll(delivered);
+        emailOutboxRepository.saveAll(failed);
+        sentCounter.increment(delivered.size());
+
+        log.info("Outbox batch: {} sent, {} failed", delivered.size(), failed.size());
+        return due.size();
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        boolean multipart = message.getAttachment() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, multipart);
+
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), message.isHtml());
+        if (multipart) {
+            helper.addAttachment(message.getAttachmentName(), new ByteArrayResource(message.getAttachment()));
+        }
+        return mimeMessage;
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(error.getMessage()));
+
+        if (attempts >= MAX_ATTEMPTS) {
+            message.setStatus(EmailOutboxMessage.Status.Failed);
+            // Nothing sends it again, so drop the content (temporary passwords, bills) and keep the envelope
+            message.setBody(REDACTED_BODY);
+            message.setAttachment(null);
+            abandonedCounter.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getMessageId(), message.getRecipient(), attempts, error.getMessage());
+            return;
+        }
+
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+        retriedCounter.increment();
+        log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                message.getMessageId(), message.getRecipient(), attempts, message.getNextAttemptAt(), error.getMessage());
+    }
+
+    static Duration backoff(int attempts) {
+        // 30s, 1m, 2m, 4m ... capped at an hour
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void refreshDepth() {
+        pendingMessages.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.Pending));
+        failedMessages.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.Failed));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -24,9 +24,12 @@ public class InventoryController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'admin', 'SERVICE_ADVISOR', 'serviceAdvisor')")
-    public ResponseEntity<List<InventoryItemDTO>> getAllInventoryItems() {
-        log.info("Fetching all inventory items");
-        return ResponseEntity.ok(inventoryService.getAllInventoryItems());
+    public ResponseEntity<List<InventoryItemDTO>> getAllInventoryItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Fetching inventory items page");
+        return inventoryService.getInventoryItemsPage(cursor, direction, limit).toResponseEntity();
     }
 
     @GetMapping("/category/{category}")
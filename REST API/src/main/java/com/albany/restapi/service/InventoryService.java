@@ -1,14 +1,20 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
+import com.albany.restapi.dto.CursorPage;
 import com.albany.restapi.dto.InventoryItemDTO;
 import com.albany.restapi.dto.MaterialUsageDTO;
+import com.albany.restapi.dto.PageCursor;
 import com.albany.restapi.model.InventoryItem;
 import com.albany.restapi.model.MaterialUsage;
 import com.albany.restapi.model.ServiceRequest;
 import com.albany.restapi.repository.InventoryItemRepository;
 import com.albany.restapi.repository.MaterialUsageRepository;
 import com.albany.restapi.repository.ServiceRequestRepository;
+import com.albany.restapi.repository.StockLevel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,12 +24,15 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 public class InventoryService {
 
     private final InventoryItemRepository inventoryItemRepository;
     private final MaterialUsageRepository materialUsageRepository;
     private final ServiceRequestRepository serviceRequestRepository;
+    private final PartsLedger partsLedger;
+    private final ServiceRequestTotals serviceRequestTotals;
 
     public List<InventoryItemDTO> getAllInventoryItems() {
         return inventoryItemRepository.findAll().stream()
@@ -31,6 +40,32 @@ public class InventoryService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<InventoryItemDTO> getInventoryItemsPage(String cursor, String direction, Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+
+        Window<InventoryItem> items = inventoryItemRepository.findAllBy(
+                KeysetPaging.idPosition("itemId", pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.idSort("itemId", sortDirection));
+
+        List<InventoryItemDTO> dtos = items.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        return new CursorPage<>(dtos, KeysetPaging.nextCursor(items,
+                item -> PageCursor.encode(sortDirection, item.getItemId())));
+    }
+
+    /**
+     * Every item with the stock still available to promise, served from the parts ledger for the advisor parts picker
+     */
+    public List<InventoryItemDTO> getAvailableInventoryItems() {
+        return partsLedger.all().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<InventoryItemDTO> getInventoryItemsByCategory(String category) {
         return inventoryItemRepository.findByCategory(category).stream()
                 .map(this::convertToDTO)
@@ -59,7 +94,8 @@ public class InventoryService {
         updateInventoryItemFromRequest(item, request);
 
         // Save and return
-        InventoryItem savedItem = inventoryItemRepository.save(item);
+        InventoryItem savedItem = inventoryItemRepository.saveAndFlush(item);
+        partsLedger.recordAfterCommit(List.of(StockLevel.of(savedItem)));
         return convertToDTO(savedItem);
     }
 
@@ -73,10 +109,13 @@ public class InventoryService {
                 .orElseThrow(() -> new RuntimeException("Inventory item not found"));
 
         // Update fields
+        BigDecimal oldPrice = item.getUnitPrice();
         updateInventoryItemFromRequest(item, request);
 
-        // Save and return
-        InventoryItem updatedItem = inventoryItemRepository.save(item);
+        // Save and return; the version check fails if stock was reserved or used since the item was read
+        InventoryItem updatedItem = inventoryItemRepository.saveAndFlush(item);
+        serviceRequestTotals.repriceItem(id, oldPrice, updatedItem.getUnitPrice());
+        partsLedger.recordAfterCommit(List.of(StockLevel.of(updatedItem)));
         return convertToDTO(updatedItem);
     }
 
@@ -93,6 +132,7 @@ public class InventoryService {
         }
 
         inventoryItemRepository.deleteById(id);
+        partsLedger.forgetAfterCommit(id);
     }
 
     public List<MaterialUsageDTO> getRecentUsagesByItemId(Integer itemId) {
@@ -111,14 +151,11 @@ public class InventoryService {
         InventoryItem item = inventoryItemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Inventory item not found"));
 
-        // Check if there's enough stock
-        if (item.getCurrentStock().compareTo(quantity) < 0) {
+        // Check and update stock in one statement so concurrent usages cannot oversell
+        if (inventoryItemRepository.decrementStock(itemId, quantity) == 0) {
             throw new RuntimeException("Not enough stock available");
         }
-
-        // Update stock
-        item.setCurrentStock(item.getCurrentStock().subtract(quantity));
-        inventoryItemRepository.save(item);
+        partsLedger.recordAfterCommit(inventoryItemRepository.findStockLevels(List.of(itemId)));
 
         // Record usage
         MaterialUsage usage = new MaterialUsage();
@@ -127,6 +164,7 @@ public class InventoryService {
         usage.setQuantity(quantity);
 
         materialUsageRepository.save(usage);
+        serviceRequestTotals.addParts(requestId, quantity.multiply(item.getUnitPrice()));
     }
 
     // Helper methods
@@ -173,26 +211,32 @@ public class InventoryService {
     }
 
     private InventoryItemDTO convertToDTO(InventoryItem item) {
+        return convertToDTO(StockLevel.of(item));
+    }
+
+    private InventoryItemDTO convertToDTO(StockLevel level) {
         // Calculate total value
-        BigDecimal totalValue = item.getCurrentStock().multiply(item.getUnitPrice());
+        BigDecimal totalValue = level.onHand().multiply(level.unitPrice());
         
         // Determine stock status
         String stockStatus;
-        if (item.getCurrentStock().compareTo(item.getReorderLevel().multiply(new BigDecimal("0.5"))) <= 0) {
+        if (level.onHand().compareTo(level.reorderLevel().multiply(new BigDecimal("0.5"))) <= 0) {
             stockStatus = "Low";
-        } else if (item.getCurrentStock().compareTo(item.getReorderLevel()) <= 0) {
+        } else if (level.onHand().compareTo(level.reorderLevel()) <= 0) {
             stockStatus = "Medium";
         } else {
             stockStatus = "Good";
         }
         
         return InventoryItemDTO.builder()
-                .itemId(item.getItemId())
-                .name(item.getName())
-                .category(item.getCategory())
-                .currentStock(item.getCurrentStock())
-                .unitPrice(item.getUnitPrice())
-                .reorderLevel(item.getReorderLevel())
+                .itemId(level.itemId())
+                .name(level.name())
+                .category(level.category())
+                .currentStock(level.onHand())
+                .reservedStock(level.reserved())
+                .availableStock(level.available())
+                .unitPrice(level.unitPrice())
+                .reorderLevel(level.reorderLevel())
                 .stockStatus(stockStatus)
                 .totalValue(totalValue)
                 .build();
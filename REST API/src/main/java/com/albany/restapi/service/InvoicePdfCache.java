@@ -0,0 +1,193 @@
+package com.albany.restapi.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rendered invoice PDFs keyed by invoice ID and the fingerprint of the data they were rendered from.
+ * Only the latest fingerprint is kept per invoice, so a change to any input simply misses and replaces the old copy.
+ * A size-bounded in-memory tier sits in front of a local directory that survives restarts.
+ * Misses are rendered straight into the caller's stream while a copy is written to the directory.
+ */
+@Component
+@Slf4j
+public class InvoicePdfCache {
+
+    private static final long MAX_MEMORY_BYTES = 32L * 1024 * 1024;
+
+    // Larger PDFs are streamed from disk rather than held in the memory tier
+    private static final long MAX_ENTRY_BYTES = 1024 * 1024;
+
+    @Value("${invoice.pdf-cache.dir:${java.io.tmpdir}/albany-invoice-pdfs}")
+    private String cacheDirectory;
+
+    private Path directory;
+    private long memoryBytes;
+
+    private final Map<Integer, CachedPdf> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    @PostConstruct
+    void init() {
+        directory = Paths.get(cacheDirectory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            // Without the directory the memory tier still works
+            log.warn("Invoice PDF cache directory {} is not usable: {}", directory, e.getMessage());
+            directory = null;
+        }
+    }
+
+    /**
+     * Renders a PDF into a stream; used only when the cache has no copy for the current fingerprint
+     */
+    @FunctionalInterface
+    public interface PdfRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Write the PDF for the invoice to {@code out}, from the cache when the fingerprint matches
+     * and otherwise by rendering it while keeping a copy for the next download
+     */
+    public void write(Integer invoiceId, String fingerprint, OutputStream out, PdfRenderer renderer) throws IOException {
+        byte[] cached = memoryCopy(invoiceId, fingerprint);
+        if (cached != null) {
+            out.write(cached);
+            return;
+        }
+
+        Path file = file(invoiceId, fingerprint);
+        if (file != null && Files.isRegularFile(file)) {
+            long size = Files.size(file);
+            if (size <= MAX_ENTRY_BYTES) {
+                byte[] content = Files.readAllBytes(file);
+                remember(invoiceId, fingerprint, content);
+                out.write(content);
+            } else {
+                Files.copy(file, out);
+            }
+            return;
+        }
+
+        if (file == null) {
+            // No directory to spool into, so keep the rendering in memory for the next download
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            renderer.render(new TeeOutputStream(out, copy));
+            remember(invoiceId, fingerprint, copy.toByteArray());
+            return;
+        }
+
+        // Write the copy to a temporary file first so readers never see a partial PDF
+        Path temp = Files.createTempFile(directory, invoiceId + "-", ".tmp");
+        try {
+            try (OutputStream copy = Files.newOutputStream(temp)) {
+                renderer.render(new TeeOutputStream(out, copy));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            removeStaleFiles(invoiceId, file);
+            forget(invoiceId);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private byte[] memoryCopy(Integer invoiceId, String fingerprint) {
+        synchronized (memory) {
+            CachedPdf cached = memory.get(invoiceId);
+            return cached != null && cached.fingerprint().equals(fingerprint) ? cached.content() : null;
+        }
+    }
+
+    private void remember(Integer invoiceId, String fingerprint, byte[] content) {
+        if (content.length > MAX_ENTRY_BYTES) {
+            return;
+        }
+        synchronized (memory) {
+            CachedPdf previous = memory.put(invoiceId, new CachedPdf(fingerprint, content));
+            if (previous != null) {
+                memoryBytes -= previous.content().length;
+            }
+            memoryBytes += content.length;
+
+            // Drop least recently downloaded invoices until the tier fits its budget again
+            Iterator<CachedPdf> eldest = memory.values().iterator();
+            while (memoryBytes > MAX_MEMORY_BYTES && eldest.hasNext()) {
+                memoryBytes -= eldest.next().content().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void forget(Integer invoiceId) {
+        synchronized (memory) {
+            CachedPdf previous = memory.remove(invoiceId);
+            if (previous != null) {
+                memoryBytes -= previous.content().length;
+            }
+        }
+    }
+
+    private void removeStaleFiles(Integer invoiceId, Path current) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, invoiceId + "-*.pdf")) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path file(Integer invoiceId, String fingerprint) {
+        return directory != null ? directory.resolve(invoiceId + "-" + fingerprint + ".pdf") : null;
+    }
+
+    private record CachedPdf(String fingerprint, byte[] content) {
+    }
+
+    /**
+     * Sends every byte to the response and to the cached copy
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream primary;
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream primary, OutputStream copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+            copy.flush();
+        }
+    }
+}
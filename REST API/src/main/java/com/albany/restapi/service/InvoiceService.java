@@ -1,30 +1,47 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
+import com.albany.restapi.dto.LaborCharge;
 import com.albany.restapi.model.*;
 import com.albany.restapi.repository.*;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.itextpdf.text.pdf.draw.LineSeparator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
 import java.util.List;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class InvoiceService {
 
-    private final ServiceTrackingRepository serviceTrackingRepository;
+    private final LaborChargeRepository laborChargeRepository;
     private final MaterialUsageRepository materialUsageRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final CustomerProfileRepository customerProfileRepository;
+    private final InvoicePdfCache invoicePdfCache;
+    private final MeterRegistry meterRegistry;
+
+    // Bump when the layout changes so PDFs rendered by an older build are not served
+    private static final String LAYOUT_VERSION = "2";
 
     private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD, BaseColor.DARK_GRAY);
     private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, BaseColor.DARK_GRAY);
@@ -33,15 +50,74 @@ public class InvoiceService {
     private static final Font BOLD_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD, BaseColor.BLACK);
     private static final Font TOTAL_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, new BaseColor(114, 47, 55));
 
+    /**
+     * Everything an invoice PDF is rendered from, loaded once, with a fingerprint of its contents
+     */
+    public record InvoiceContent(
+            Invoice invoice,
+            ServiceRequest serviceRequest,
+            List<MaterialUsage> materials,
+            List<LaborCharge> laborCharges,
+            String fingerprint
+    ) {
+    }
+
+    /**
+     * Load the materials and labor for an invoice and fingerprint every value that appears on the PDF
+     */
+    public InvoiceContent loadInvoiceContent(Invoice invoice, ServiceRequest serviceRequest) {
+        List<MaterialUsage> materials = materialUsageRepository.findByServiceRequest_RequestId(serviceRequest.getRequestId());
+        List<LaborCharge> laborCharges = laborChargeRepository.findByRequestIdOrderByChargeIdAsc(serviceRequest.getRequestId());
+
+        return new InvoiceContent(invoice, serviceRequest, materials, laborCharges,
+                fingerprint(invoice, serviceRequest, materials, laborCharges));
+    }
+
+    /**
+     * Write the PDF for the invoice to the stream, rendering it only when its inputs changed since the last download
+     */
+    public void writeInvoicePdf(InvoiceContent content, OutputStream out) throws IOException {
+        invoicePdfCache.write(content.invoice().getInvoiceId(), content.fingerprint(), out,
+                target -> renderInvoicePdf(content, target));
+    }
+
     /**
      * Generate a PDF invoice for a service request
      */
     public byte[] generateInvoicePdf(Invoice invoice, ServiceRequest serviceRequest) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderInvoicePdf(loadInvoiceContent(invoice, serviceRequest), baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Render the PDF, timed as invoice.pdf.render so cache misses show up apart from served downloads
+     */
+    private void renderInvoicePdf(InvoiceContent content, OutputStream out) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            drawInvoicePdf(content, out);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("invoice.pdf.render")
+                    .description("Time spent drawing invoice PDFs")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private void drawInvoicePdf(InvoiceContent content, OutputStream out) {
+        Invoice invoice = content.invoice();
+        ServiceRequest serviceRequest = content.serviceRequest();
         
         try {
             Document document = new Document(PageSize.A4);
-            PdfWriter writer = PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+
+            // The caller owns the stream, which may be the HTTP response
+            writer.setCloseStream(false);
             
             // Add metadata
             document.addTitle("Invoice #" + invoice.getInvoiceId());
@@ -65,13 +141,13 @@ public class InvoiceService {
             addServiceDetails(document, serviceRequest);
             
             // Add materials used
-            addMaterialsUsed(document, serviceRequest);
+            addMaterialsUsed(document, content.materials());
             
             // Add labor charges
-            addLaborCharges(document, serviceRequest);
+            addLaborCharges(document, content.laborCharges());
             
             // Add invoice summary
-            addInvoiceSummary(document, invoice, serviceRequest);
+            addInvoiceSummary(document, content);
             
             // Add footer
             addFooter(document);
@@ -79,8 +155,6 @@ public class InvoiceService {
             document.close();
             writer.close();
             
-            return baos.toByteArray();
-            
         } catch (Exception e) {
             log.error("Error generating invoice PDF", e);
             throw new RuntimeException("Failed to generate invoice PDF: " + e.getMessage());
@@ -253,15 +327,12 @@ public class InvoiceService {
         document.add(serviceTable);
     }
     
-    private void addMaterialsUsed(Document document, ServiceRequest serviceRequest) throws DocumentException {
+    private void addMaterialsUsed(Document document, List<MaterialUsage> materials) throws DocumentException {
         Paragraph materialsTitle = new Paragraph("MATERIALS USED", HEADER_FONT);
         materialsTitle.setSpacingBefore(5);
         materialsTitle.setSpacingAfter(10);
         document.add(materialsTitle);
         
-        // Get materials used for this service request
-        List<MaterialUsage> materials = materialUsageRepository.findByServiceRequest_RequestId(serviceRequest.getRequestId());
-        
         if (materials.isEmpty()) {
             document.add(new Paragraph("No materials recorded for this service.", NORMAL_FONT));
             return;
@@ -313,16 +384,13 @@ public class InvoiceService {
         document.add(materialsTable);
     }
     
-    private void addLaborCharges(Document document, ServiceRequest serviceRequest) throws DocumentException {
+    private void addLaborCharges(Document document, List<LaborCharge> laborCharges) throws DocumentException {
         Paragraph laborTitle = new Paragraph("LABOR CHARGES", HEADER_FONT);
         laborTitle.setSpacingBefore(5);
         laborTitle.setSpacingAfter(10);
         document.add(laborTitle);
         
-        // Get labor charges from service tracking
-        List<ServiceTracking> trackingEntries = serviceTrackingRepository.findByRequestId(serviceRequest.getRequestId());
-        
-        if (trackingEntries.isEmpty()) {
+        if (laborCharges.isEmpty()) {
             document.add(new Paragraph("No labor charges recorded for this service.", NORMAL_FONT));
             return;
         }
@@ -343,27 +411,13 @@ public class InvoiceService {
         // Add labor entries
         BigDecimal laborTotalCost = BigDecimal.ZERO;
         
-        for (ServiceTracking tracking : trackingEntries) {
-            // Skip entries without labor information
-            if (tracking.getLaborMinutes() == null || tracking.getLaborMinutes() == 0) {
-                continue;
-            }
-            
-            // Calculate hours from minutes
-            BigDecimal hours = new BigDecimal(tracking.getLaborMinutes())
-                                .divide(new BigDecimal(60), 1, RoundingMode.HALF_UP);
+        for (LaborCharge charge : laborCharges) {
+            addCell(laborTable, charge.getDescription(), NORMAL_FONT);
+            addCell(laborTable, charge.getHours().setScale(1, RoundingMode.HALF_UP).toString(), NORMAL_FONT);
+            addCell(laborTable, formatCurrency(charge.getRatePerHour()), NORMAL_FONT);
+            addCell(laborTable, formatCurrency(charge.getTotal()), NORMAL_FONT);
             
-            // Calculate hourly rate
-            BigDecimal hourlyRate = tracking.getLaborCost()
-                                  .multiply(new BigDecimal(60))
-                                  .divide(new BigDecimal(tracking.getLaborMinutes()), 2, RoundingMode.HALF_UP);
-            
-            addCell(laborTable, tracking.getWorkDescription(), NORMAL_FONT);
-            addCell(laborTable, hours.toString(), NORMAL_FONT);
-            addCell(laborTable, formatCurrency(hourlyRate), NORMAL_FONT);
-            addCell(laborTable, formatCurrency(tracking.getLaborCost()), NORMAL_FONT);
-            
-            laborTotalCost = laborTotalCost.add(tracking.getLaborCost());
+            laborTotalCost = laborTotalCost.add(charge.getTotal());
         }
         
         // Add total row
@@ -381,7 +435,10 @@ public class InvoiceService {
         document.add(laborTable);
     }
 
-    private void addInvoiceSummary(Document document, Invoice invoice, ServiceRequest serviceRequest) throws DocumentException {
+    private void addInvoiceSummary(Document document, InvoiceContent content) throws DocumentException {
+        Invoice invoice = content.invoice();
+        ServiceRequest serviceRequest = content.serviceRequest();
+
         Paragraph summaryTitle = new Paragraph("INVOICE SUMMARY", HEADER_FONT);
         summaryTitle.setSpacingBefore(10);
         summaryTitle.setSpacingAfter(10);
@@ -393,7 +450,8 @@ public class InvoiceService {
         summaryTable.setSpacingAfter(20);
 
         // Materials total
-        BigDecimal materialsTotalCost = getTotalMaterialCost(serviceRequest);
+        BigDecimal materialsTotalCost = serviceRequest.getPartsSubtotal() != null ?
+                serviceRequest.getPartsSubtotal() : getTotalMaterialCost(content.materials());
         addCell(summaryTable, "Materials Total:", BOLD_FONT, Element.ALIGN_LEFT);
         addCell(summaryTable, formatCurrency(materialsTotalCost), NORMAL_FONT, Element.ALIGN_RIGHT);
 
@@ -406,7 +464,8 @@ public class InvoiceService {
         }
 
         // Original labor total
-        BigDecimal laborTotalCost = getTotalLaborCost(serviceRequest);
+        BigDecimal laborTotalCost = serviceRequest.getLaborSubtotal() != null ?
+                serviceRequest.getLaborSubtotal() : getTotalLaborCost(content.laborCharges());
 
         // For premium customers, apply 20% discount on labor
         BigDecimal laborDiscount = BigDecimal.ZERO;
@@ -517,17 +576,75 @@ public class InvoiceService {
         return "₹" + amount.setScale(2, RoundingMode.HALF_UP);
     }
     
-    private BigDecimal getTotalMaterialCost(ServiceRequest serviceRequest) {
-        List<MaterialUsage> materials = materialUsageRepository.findByServiceRequest_RequestId(serviceRequest.getRequestId());
-        
+    private BigDecimal getTotalMaterialCost(List<MaterialUsage> materials) {
         return materials.stream()
             .filter(m -> m.getInventoryItem() != null)
             .map(m -> m.getInventoryItem().getUnitPrice().multiply(m.getQuantity()))
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
     
-    private BigDecimal getTotalLaborCost(ServiceRequest serviceRequest) {
-        return serviceTrackingRepository.findTotalLaborCostByRequestId(serviceRequest.getRequestId())
-            .orElse(BigDecimal.ZERO);
+    private BigDecimal getTotalLaborCost(List<LaborCharge> laborCharges) {
+        return laborCharges.stream()
+            .map(LaborCharge::getTotal)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private String fingerprint(Invoice invoice, ServiceRequest serviceRequest,
+                               List<MaterialUsage> materials, List<LaborCharge> laborCharges) {
+        StringBuilder inputs = new StringBuilder(512);
+        append(inputs, LAYOUT_VERSION);
+
+        append(inputs, invoice.getInvoiceId(), invoice.getRequestId(), invoice.getInvoiceDate(), invoice.getTaxes());
+        append(inputs, serviceRequest.getRequestId(), serviceRequest.getStatus(), serviceRequest.getServiceType(),
+                serviceRequest.getAdditionalDescription(), serviceRequest.getCreatedAt(),
+                serviceRequest.getPartsSubtotal(), serviceRequest.getLaborSubtotal());
+
+        // Without an update time the completion date printed is today's, so the PDF changes daily
+        append(inputs, serviceRequest.getUpdatedAt() != null ? serviceRequest.getUpdatedAt() : LocalDate.now());
+
+        Vehicle vehicle = serviceRequest.getVehicle();
+        if (vehicle != null) {
+            append(inputs, vehicle.getBrand(), vehicle.getModel(), vehicle.getRegistrationNumber(),
+                    vehicle.getYear(), vehicle.getCategory());
+
+            CustomerProfile customer = vehicle.getCustomer();
+            if (customer != null) {
+                append(inputs, customer.getStreet(), customer.getCity(), customer.getState(),
+                        customer.getPostalCode(), customer.getMembershipStatus());
+
+                User user = customer.getUser();
+                if (user != null) {
+                    append(inputs, user.getFirstName(), user.getLastName(), user.getEmail(), user.getPhoneNumber());
+                }
+            }
+        }
+
+        for (MaterialUsage usage : materials) {
+            InventoryItem item = usage.getInventoryItem();
+            append(inputs, usage.getMaterialUsageId(), usage.getQuantity());
+            if (item != null) {
+                append(inputs, item.getName(), item.getUnitPrice());
+            }
+        }
+
+        for (LaborCharge charge : laborCharges) {
+            append(inputs, charge.getChargeId(), charge.getDescription(), charge.getHours(),
+                    charge.getRatePerHour(), charge.getTotal());
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputs.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void append(StringBuilder inputs, Object... values) {
+        for (Object value : values) {
+            // Unit separator keeps adjacent fields from running together
+            inputs.append(value instanceof BigDecimal amount ? amount.toPlainString() : String.valueOf(value))
+                    .append('\u001f');
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.PageCursor;
+import com.albany.restapi.model.ServiceRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helpers for turning list request parameters into keyset scroll arguments and back into cursors.
+ * Service requests are ordered by createdAt then requestId; other lists by their id.
+ */
+public final class KeysetPaging {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private KeysetPaging() {
+    }
+
+    public static PageCursor cursor(String token) {
+        return token == null || token.isBlank() ? null : PageCursor.decode(token);
+    }
+
+    /**
+     * A cursor keeps the direction of the page it came from; otherwise use the requested one (default ascending)
+     */
+    public static Sort.Direction direction(PageCursor cursor, String requested) {
+        if (cursor != null) {
+            return cursor.getDirection();
+        }
+        return requested == null ? Sort.Direction.ASC : Sort.Direction.fromString(requested);
+    }
+
+    public static Limit limit(Integer requested) {
+        if (requested == null) {
+            return Limit.of(DEFAULT_LIMIT);
+        }
+        return Limit.of(Math.max(1, Math.min(requested, MAX_LIMIT)));
+    }
+
+    public static Sort requestSort(Sort.Direction direction) {
+        return Sort.by(direction, "createdAt", "requestId");
+    }
+
+    public static ScrollPosition requestPosition(PageCursor cursor) {
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            return ScrollPosition.forward(Map.of(
+                    "createdAt", LocalDateTime.parse(cursor.key(0)),
+                    "requestId", Integer.valueOf(cursor.key(1))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public static String requestCursor(ServiceRequest request, Sort.Direction direction) {
+        return PageCursor.encode(direction, request.getCreatedAt(), request.getRequestId());
+    }
+
+    public static Sort idSort(String idProperty, Sort.Direction direction) {
+        return Sort.by(direction, idProperty);
+    }
+
+    public static ScrollPosition idPosition(String idProperty, PageCursor cursor) {
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            return ScrollPosition.forward(Map.of(idProperty, Integer.valueOf(cursor.key(0))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Cursor pointing after the last row of the window, or null when there is nothing further
+     */
+    public static <T> String nextCursor(Window<T> window, Function<T, String> cursorOf) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return cursorOf.apply(window.getContent().get(window.size() - 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.albany.restapi.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compares the lines stored for a service request with a newly submitted list, so an edit only writes what changed.
+ * Lines are paired by key, in order when a key repeats. With {@code pairLeftovers} the lines left over on both sides
+ * are then paired in order too, which turns an edited line into one update instead of a delete and an insert.
+ */
+record LineDiff<S, T>(List<Pair<S, T>> paired, List<T> added, List<S> removed) {
+
+    record Pair<S, T>(S stored, T submitted) {
+    }
+
+    static <S, T, K> LineDiff<S, T> compare(List<S> stored, List<T> submitted,
+                                            Function<S, K> storedKey, Function<T, K> submittedKey,
+                                            boolean pairLeftovers) {
+        Map<K, Deque<S>> candidates = new HashMap<>();
+        for (S line : stored) {
+            candidates.computeIfAbsent(storedKey.apply(line), key -> new ArrayDeque<>()).add(line);
+        }
+
+        List<Pair<S, T>> paired = new ArrayList<>();
+        List<T> added = new ArrayList<>();
+        Set<S> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T line : submitted) {
+            Deque<S> sameKey = candidates.get(submittedKey.apply(line));
+            S match = sameKey != null ? sameKey.poll() : null;
+            if (match != null) {
+                paired.add(new Pair<>(match, line));
+                matched.add(match);
+            } else {
+                added.add(line);
+            }
+        }
+
+        // Keep the stored order so leftovers pair up the way they were listed
+        List<S> removed = new ArrayList<>();
+        for (S line : stored) {
+            if (!matched.contains(line)) {
+                removed.add(line);
+            }
+        }
+
+        if (pairLeftovers) {
+            int leftovers = Math.min(removed.size(), added.size());
+            for (int i = 0; i < leftovers; i++) {
+                paired.add(new Pair<>(removed.get(i), added.get(i)));
+            }
+            removed = new ArrayList<>(removed.subList(leftovers, removed.size()));
+            added = new ArrayList<>(added.subList(leftovers, added.size()));
+        }
+        return new LineDiff<>(paired, added, removed);
+    }
+}
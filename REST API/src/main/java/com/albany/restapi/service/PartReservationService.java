@@ -0,0 +1,171 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.PartReservation;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.InventoryItemRepository;
+import com.albany.restapi.repository.PartReservationRepository;
+import com.albany.restapi.repository.StockLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Holds parts for a service request while it is in diagnosis or repair.
+ * Reserved parts stop counting as available straight away but stay in stock until the service is completed,
+ * when they are committed; editing the parts list reserves or releases only the quantities that changed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartReservationService {
+
+    private final PartReservationRepository partReservationRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final PartsLedger partsLedger;
+
+    /**
+     * Apply changes to the quantity of each item the request holds, or fail without changing anything.
+     * Positive amounts are reserved and negative ones handed back; parts of a completed service are already
+     * out of stock, so for one they are taken from or returned to the stock on hand straight away.
+     */
+    @Transactional
+    public void adjust(Integer requestId, Map<Integer, BigDecimal> deltas, boolean completed) {
+        PartReservation.Status held = completed ? PartReservation.Status.Committed : PartReservation.Status.Reserved;
+
+        Map<Integer, BigDecimal> added = new HashMap<>();
+        Map<Integer, BigDecimal> removed = new HashMap<>();
+        deltas.forEach((itemId, delta) -> {
+            if (delta.signum() > 0) {
+                added.put(itemId, delta);
+            } else if (delta.signum() < 0) {
+                removed.put(itemId, delta.negate());
+            }
+        });
+
+        // Only hand back what the request's reservations actually hold
+        Map<Integer, BigDecimal> changes = new HashMap<>(added);
+        shrink(requestId, removed, held).forEach((itemId, quantity) -> changes.put(itemId, quantity.negate()));
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // One batch in item order covers both directions
+        List<Integer> shortItems = completed ?
+                inventoryItemRepository.takeAll(changes) :
+                inventoryItemRepository.reserveAll(changes);
+        List<StockLevel> levels = inventoryItemRepository.findStockLevels(changes.keySet());
+        if (!shortItems.isEmpty()) {
+            StockLevel shortItem = levels.stream()
+                    .filter(level -> level.itemId().equals(shortItems.get(0)))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Inventory item not found: " + shortItems.get(0)));
+            // The exception rolls back the changes already made in this batch
+            throw new RuntimeException(
+                    "Not enough stock for item: " + shortItem.name() +
+                            ". Available: " + shortItem.available() +
+                            ", Requested: " + changes.get(shortItem.itemId()));
+        }
+
+        List<PartReservation> reservations = new ArrayList<>();
+        added.forEach((itemId, quantity) -> reservations.add(PartReservation.builder()
+                .requestId(requestId)
+                .itemId(itemId)
+                .quantity(quantity)
+                .status(held)
+                .build()));
+        partReservationRepository.insertAll(reservations);
+
+        partsLedger.recordAfterCommit(levels);
+        log.debug("Adjusted {} items for service request {}", changes.size(), requestId);
+    }
+
+    /**
+     * Hand back everything the request still holds
+     */
+    @Transactional
+    public void release(Integer requestId) {
+        settle(requestId, PartReservation.Status.Released);
+    }
+
+    /**
+     * Take everything the request holds out of stock; called when the service is completed
+     */
+    @Transactional
+    public void commit(Integer requestId) {
+        settle(requestId, PartReservation.Status.Committed);
+    }
+
+    /**
+     * Commit the request's reservations when its status moves to Completed
+     */
+    @Transactional
+    public void onStatusChange(Integer requestId, ServiceRequest.Status oldStatus, ServiceRequest.Status newStatus) {
+        if (newStatus == ServiceRequest.Status.Completed && oldStatus != ServiceRequest.Status.Completed) {
+            commit(requestId);
+        }
+    }
+
+    /**
+     * Take the given quantities off the request's newest reservations in the given status
+     * and return how much was found per item
+     */
+    private Map<Integer, BigDecimal> shrink(Integer requestId, Map<Integer, BigDecimal> quantities,
+                                            PartReservation.Status held) {
+        Map<Integer, BigDecimal> found = new HashMap<>();
+        if (quantities.isEmpty()) {
+            return found;
+        }
+
+        List<PartReservation> reservations = new ArrayList<>(
+                partReservationRepository.findByRequestIdAndStatus(requestId, held));
+        reservations.sort(Comparator.comparing(PartReservation::getReservationId).reversed());
+
+        Map<Integer, BigDecimal> remaining = new HashMap<>(quantities);
+        for (PartReservation reservation : reservations) {
+            BigDecimal left = remaining.get(reservation.getItemId());
+            if (left == null || left.signum() <= 0) {
+                continue;
+            }
+
+            BigDecimal taken = left.min(reservation.getQuantity());
+            if (taken.compareTo(reservation.getQuantity()) == 0) {
+                reservation.setStatus(PartReservation.Status.Released);
+            } else {
+                reservation.setQuantity(reservation.getQuantity().subtract(taken));
+            }
+            remaining.put(reservation.getItemId(), left.subtract(taken));
+            found.merge(reservation.getItemId(), taken, BigDecimal::add);
+        }
+        return found;
+    }
+
+    private void settle(Integer requestId, PartReservation.Status outcome) {
+        List<PartReservation> open = partReservationRepository.findByRequestIdAndStatus(
+                requestId, PartReservation.Status.Reserved);
+        if (open.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, BigDecimal> quantities = open.stream()
+                .collect(Collectors.toMap(PartReservation::getItemId, PartReservation::getQuantity,
+                        BigDecimal::add, HashMap::new));
+        if (outcome == PartReservation.Status.Committed) {
+            inventoryItemRepository.commitAll(quantities);
+        } else {
+            inventoryItemRepository.releaseAll(quantities);
+        }
+        open.forEach(reservation -> reservation.setStatus(outcome));
+
+        partsLedger.recordAfterCommit(inventoryItemRepository.findStockLevels(quantities.keySet()));
+        log.debug("{} {} reservations for service request {}", outcome, open.size(), requestId);
+    }
+}
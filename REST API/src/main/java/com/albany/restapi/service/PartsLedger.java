@@ -0,0 +1,149 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.repository.InventoryItemRepository;
+import com.albany.restapi.repository.StockLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of every item's stock and reservations, so the parts picker never queries the database.
+ * Writers change the table first and hand the rows they read back to {@link #recordAfterCommit(Collection)};
+ * a snapshot only replaces one with a lower {@code stockVersion}, so late or out-of-order commits cannot roll it back.
+ * Items are spread over lock stripes so writers to different parts do not contend.
+ * Assumes a single application instance changes stock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartsLedger {
+
+    private static final int STRIPES = 32;
+
+    private final InventoryItemRepository inventoryItemRepository;
+
+    private final Stripe[] stripes = createStripes();
+    private volatile boolean loaded;
+
+    /**
+     * Every item, ordered by ID
+     */
+    public List<StockLevel> all() {
+        ensureLoaded();
+        List<StockLevel> levels = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                levels.addAll(stripe.levels.values());
+            }
+        }
+        levels.sort(Comparator.comparing(StockLevel::itemId));
+        return levels;
+    }
+
+    /**
+     * The item's current stock, or {@code null} when it does not exist
+     */
+    public StockLevel get(Integer itemId) {
+        ensureLoaded();
+        StockLevel level = stripe(itemId).get(itemId);
+        if (level == null) {
+            // Created outside this ledger's view, e.g. directly in the database
+            inventoryItemRepository.findStockLevels(List.of(itemId)).forEach(this::record);
+            level = stripe(itemId).get(itemId);
+        }
+        return level;
+    }
+
+    /**
+     * Apply snapshots read inside the current transaction once it commits, or straight away outside one
+     */
+    public void recordAfterCommit(Collection<StockLevel> levels) {
+        if (levels.isEmpty()) {
+            return;
+        }
+        List<StockLevel> snapshot = List.copyOf(levels);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot.forEach(PartsLedger.this::record);
+                }
+            });
+        } else {
+            snapshot.forEach(this::record);
+        }
+    }
+
+    /**
+     * Drop a deleted item once the deletion commits
+     */
+    public void forgetAfterCommit(Integer itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stripe(itemId).remove(itemId);
+                }
+            });
+        } else {
+            stripe(itemId).remove(itemId);
+        }
+    }
+
+    void record(StockLevel level) {
+        stripe(level.itemId()).put(level);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<StockLevel> levels = inventoryItemRepository.findAllStockLevels();
+                levels.forEach(this::record);
+                loaded = true;
+                log.info("Parts ledger loaded {} items", levels.size());
+            }
+        }
+    }
+
+    private Stripe stripe(Integer itemId) {
+        return stripes[Math.floorMod(itemId.hashCode(), STRIPES)];
+    }
+
+    private static Stripe[] createStripes() {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    private static final class Stripe {
+
+        private final Map<Integer, StockLevel> levels = new HashMap<>();
+
+        synchronized StockLevel get(Integer itemId) {
+            return levels.get(itemId);
+        }
+
+        synchronized void put(StockLevel level) {
+            levels.merge(level.itemId(), level,
+                    (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        }
+
+        synchronized void remove(Integer itemId) {
+            levels.remove(itemId);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.albany.restapi.service;
+
+/**
+ * Snapshots of indexed entities, published on writes and applied to the search index after commit.
+ */
+public final class SearchIndexEvents {
+
+    private SearchIndexEvents() {
+    }
+
+    public record VehicleSaved(Integer vehicleId, String registrationNumber, String brand, String model,
+                               Integer customerId) {
+    }
+
+    public record VehicleRemoved(Integer vehicleId) {
+    }
+
+    public record CustomerSaved(Integer customerId, String firstName, String lastName, String email,
+                                boolean active) {
+    }
+
+    public record CustomerRemoved(Integer customerId) {
+    }
+
+    /**
+     * A user row changed; only applied when the user already has a customer entry in the index
+     */
+    public record UserSaved(Integer userId, String firstName, String lastName, String email, boolean active) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.CustomerProfile;
+import com.albany.restapi.model.User;
+import com.albany.restapi.model.Vehicle;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on Vehicle, CustomerProfile and User that publishes search index updates.
+ * Events carry plain values so they can be applied after the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        if (entity instanceof Vehicle vehicle) {
+            eventPublisher.publishEvent(new SearchIndexEvents.VehicleSaved(
+                    vehicle.getVehicleId(),
+                    vehicle.getRegistrationNumber(),
+                    vehicle.getBrand(),
+                    vehicle.getModel(),
+                    vehicle.getCustomer() != null ? vehicle.getCustomer().getCustomerId() : null));
+        } else if (entity instanceof CustomerProfile customer && customer.getUser() != null) {
+            User user = customer.getUser();
+            eventPublisher.publishEvent(new SearchIndexEvents.CustomerSaved(
+                    customer.getCustomerId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                    user.isActive()));
+        } else if (entity instanceof User user) {
+            eventPublisher.publishEvent(new SearchIndexEvents.UserSaved(
+                    user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.isActive()));
+        }
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        if (entity instanceof Vehicle vehicle) {
+            eventPublisher.publishEvent(new SearchIndexEvents.VehicleRemoved(vehicle.getVehicleId()));
+        } else if (entity instanceof CustomerProfile customer) {
+            eventPublisher.publishEvent(new SearchIndexEvents.CustomerRemoved(customer.getCustomerId()));
+        } else if (entity instanceof User user) {
+            // Customer IDs are the owning user IDs
+            eventPublisher.publishEvent(new SearchIndexEvents.CustomerRemoved(user.getUserId()));
+        }
+    }
+}
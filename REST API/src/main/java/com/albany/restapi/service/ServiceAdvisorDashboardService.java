@@ -1,5 +1,6 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
 import com.albany.restapi.dto.*;
 import com.albany.restapi.model.*;
 import com.albany.restapi.repository.*;
@@ -16,30 +17,24 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class ServiceAdvisorDashboardService {
 
     private final ServiceRequestRepository serviceRequestRepository;
-    private final UserRepository userRepository;
-    private final ServiceAdvisorProfileRepository serviceAdvisorProfileRepository;
     private final MaterialUsageRepository materialUsageRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final ServiceTrackingRepository serviceTrackingRepository;
+    private final LaborChargeRepository laborChargeRepository;
+    private final PartReservationService partReservationService;
+    private final ServiceRequestTotals serviceRequestTotals;
     private final EmailService emailService;
 
     /**
      * Get vehicles assigned to a specific service advisor
      */
-    public List<VehicleInServiceDTO> getAssignedVehicles(String serviceAdvisorEmail) {
-        // Find the service advisor user
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-
-        // Get service advisor profile
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
-
+    public List<VehicleInServiceDTO> getAssignedVehicles(ServiceAdvisorProfile advisor) {
         // Find all service requests assigned to this service advisor
         List<ServiceRequest> assignedRequests = serviceRequestRepository
                 .findByServiceAdvisor_AdvisorId(advisor.getAdvisorId());
@@ -53,23 +48,9 @@ public class ServiceAdvisorDashboardService {
     /**
      * Get detailed information about a service request
      */
-    public ServiceDetailResponseDTO getServiceDetails(Integer requestId, String serviceAdvisorEmail) {
-        // Find the service advisor user
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-
-        // Get service advisor profile
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
-
-        // Get service request
-        ServiceRequest request = serviceRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + requestId));
-
-        // Check if this service request is assigned to this service advisor
-        if (request.getServiceAdvisor() == null || !request.getServiceAdvisor().getAdvisorId().equals(advisor.getAdvisorId())) {
-            throw new RuntimeException("This service request is not assigned to you");
-        }
+    public ServiceDetailResponseDTO getServiceDetails(Integer requestId, ServiceAdvisorProfile advisor) {
+        // Get service request assigned to this service advisor
+        ServiceRequest request = validateServiceRequestAccess(requestId, advisor);
 
         // Create response DTO
         ServiceDetailResponseDTO response = new ServiceDetailResponseDTO();
@@ -100,7 +81,7 @@ public class ServiceAdvisorDashboardService {
 
         // Service advisor information
         response.setServiceAdvisorId(advisor.getAdvisorId());
-        response.setServiceAdvisorName(user.getFirstName() + " " + user.getLastName());
+        response.setServiceAdvisorName(advisor.getUser().getFirstName() + " " + advisor.getUser().getLastName());
 
         // Request dates
         response.setRequestDate(request.getCreatedAt().toLocalDate());
@@ -125,49 +106,31 @@ public class ServiceAdvisorDashboardService {
     public ServiceMaterialsDTO addMaterialsToServiceRequest(
             Integer requestId,
             ServiceMaterialsDTO materialsRequest,
-            String serviceAdvisorEmail) {
+            ServiceAdvisorProfile advisor) {
 
         // Validate service request and service advisor
-        ServiceRequest request = validateServiceRequestAccess(requestId, serviceAdvisorEmail);
-
-        // Get service advisor profile
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
-
-        // Delete existing material usages if requested
-        if (materialsRequest.isReplaceExisting()) {
-            List<MaterialUsage> existingUsages = materialUsageRepository.findByServiceRequest_RequestId(requestId);
-            materialUsageRepository.deleteAll(existingUsages);
-        }
+        ServiceRequest request = validateServiceRequestAccess(requestId, advisor);
+
+        // Load every requested item in one query
+        Set<Integer> itemIds = materialsRequest.getItems().stream()
+                .map(MaterialItemDTO::getItemId)
+                .collect(Collectors.toSet());
+        Map<Integer, InventoryItem> inventoryItems = inventoryItemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(InventoryItem::getItemId, item -> item));
 
         // Process each new material
         List<MaterialItemDTO> processedMaterials = new ArrayList<>();
+        Map<Integer, BigDecimal> submittedQuantities = new LinkedHashMap<>();
         BigDecimal totalMaterialsCost = BigDecimal.ZERO;
 
         for (MaterialItemDTO materialItem : materialsRequest.getItems()) {
-            InventoryItem inventoryItem = inventoryItemRepository.findById(materialItem.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Inventory item not found: " + materialItem.getItemId()));
-
-            // Check if there's enough stock
-            if (inventoryItem.getCurrentStock().compareTo(materialItem.getQuantity()) < 0) {
-                throw new RuntimeException(
-                        "Not enough stock for item: " + inventoryItem.getName() +
-                                ". Available: " + inventoryItem.getCurrentStock() +
-                                ", Requested: " + materialItem.getQuantity());
+            InventoryItem inventoryItem = inventoryItems.get(materialItem.getItemId());
+            if (inventoryItem == null) {
+                throw new RuntimeException("Inventory item not found: " + materialItem.getItemId());
             }
 
-            // Create material usage record
-            MaterialUsage usage = new MaterialUsage();
-            usage.setServiceRequest(request);
-            usage.setInventoryItem(inventoryItem);
-            usage.setQuantity(materialItem.getQuantity());
-            materialUsageRepository.save(usage);
-
-            // Update inventory stock
-            inventoryItem.setCurrentStock(inventoryItem.getCurrentStock().subtract(materialItem.getQuantity()));
-            inventoryItemRepository.save(inventoryItem);
+            // Stock is held per item, so repeated lines add up
+            submittedQuantities.merge(inventoryItem.getItemId(), materialItem.getQuantity(), BigDecimal::add);
 
             // Calculate total for this item
             BigDecimal itemTotal = materialItem.getQuantity().multiply(inventoryItem.getUnitPrice());
@@ -183,78 +146,232 @@ public class ServiceAdvisorDashboardService {
             processedMaterials.add(processedItem);
         }
 
-        // Create service tracking entry for materials added
-        ServiceTracking tracking = new ServiceTracking();
-        tracking.setRequestId(requestId);
-        tracking.setWorkDescription("Added parts and materials to service");
-        tracking.setStatus(request.getStatus());
-        tracking.setTotalMaterialCost(totalMaterialsCost);
-        tracking.setServiceAdvisor(advisor);
-        serviceTrackingRepository.save(tracking);
+        // Existing usages are either diffed against the new list or kept for the bill summary, so load them once
+        List<MaterialUsage> existingUsages = materialUsageRepository.findByServiceRequest_RequestId(requestId);
+        MaterialChanges changes = materialsRequest.isReplaceExisting() ?
+                replaceMaterials(request, existingUsages, submittedQuantities, inventoryItems) :
+                appendMaterials(request, existingUsages, materialsRequest.getItems(), inventoryItems);
 
-        // Prepare response
+        if (changes.isEmpty()) {
+            log.debug("Parts list of service request {} is unchanged", requestId);
+        } else {
+            // Hold or hand back only the quantities that changed; a completed service takes them from stock at once
+            partReservationService.adjust(requestId, changes.stockDeltas(),
+                    request.getStatus() == ServiceRequest.Status.Completed);
+
+            // Changed usages are written on flush; deleted rows go out and new rows go in as batches
+            materialUsageRepository.deleteAll(changes.deleted());
+            materialUsageRepository.insertAll(changes.inserted());
+            serviceRequestTotals.addParts(requestId, changes.costDelta());
+
+            // Create service tracking entry for materials added
+            ServiceTracking tracking = new ServiceTracking();
+            tracking.setRequestId(requestId);
+            tracking.setWorkDescription("Added parts and materials to service");
+            tracking.setStatus(request.getStatus());
+            tracking.setTotalMaterialCost(totalMaterialsCost);
+            tracking.setServiceAdvisor(advisor);
+            serviceTrackingRepository.save(tracking);
+        }
+
+        // Prepare response; the bill is built from the usages already in memory
         ServiceMaterialsDTO response = new ServiceMaterialsDTO();
         response.setItems(processedMaterials);
         response.setTotalMaterialsCost(totalMaterialsCost);
-        response.setCurrentBill(getCurrentBillSummary(requestId));
+        response.setCurrentBill(buildBillSummary(requestId, changes.billed()));
 
         return response;
     }
 
     /**
-     * Add labor charges to a service request - using ServiceTracking
+     * Usage rows to write for a parts list edit, and what the edit does to stock and to the parts total
+     */
+    private record MaterialChanges(
+            List<MaterialUsage> inserted,
+            List<MaterialUsage> deleted,
+            Map<Integer, BigDecimal> stockDeltas,
+            BigDecimal costDelta,
+            List<MaterialUsage> billed) {
+
+        boolean isEmpty() {
+            return stockDeltas.isEmpty() && deleted.isEmpty() && inserted.isEmpty();
+        }
+    }
+
+    /**
+     * Bring the stored usages in line with the submitted quantities, keeping one row per item.
+     * Unchanged items are left alone, changed ones updated in place and the rest inserted or deleted.
+     */
+    private MaterialChanges replaceMaterials(ServiceRequest request, List<MaterialUsage> existingUsages,
+                                             Map<Integer, BigDecimal> submittedQuantities,
+                                             Map<Integer, InventoryItem> inventoryItems) {
+        // Earlier appends may have left several rows for one item; the first one is kept
+        Map<Integer, BigDecimal> storedQuantities = new HashMap<>();
+        List<MaterialUsage> firstUsages = new ArrayList<>();
+        List<MaterialUsage> deleted = new ArrayList<>();
+        BigDecimal costDelta = BigDecimal.ZERO;
+        for (MaterialUsage usage : existingUsages) {
+            Integer itemId = usage.getInventoryItem().getItemId();
+            if (storedQuantities.containsKey(itemId)) {
+                deleted.add(usage);
+            } else {
+                firstUsages.add(usage);
+            }
+            storedQuantities.merge(itemId, usage.getQuantity(), BigDecimal::add);
+            costDelta = costDelta.subtract(usage.getQuantity().multiply(usage.getInventoryItem().getUnitPrice()));
+        }
+
+        LineDiff<MaterialUsage, Map.Entry<Integer, BigDecimal>> diff = LineDiff.compare(
+                firstUsages, new ArrayList<>(submittedQuantities.entrySet()),
+                usage -> usage.getInventoryItem().getItemId(), Map.Entry::getKey, false);
+
+        Map<Integer, BigDecimal> stockDeltas = new HashMap<>();
+        List<MaterialUsage> billed = new ArrayList<>();
+        for (LineDiff.Pair<MaterialUsage, Map.Entry<Integer, BigDecimal>> pair : diff.paired()) {
+            MaterialUsage usage = pair.stored();
+            Integer itemId = pair.submitted().getKey();
+            BigDecimal quantity = pair.submitted().getValue();
+
+            BigDecimal delta = quantity.subtract(storedQuantities.get(itemId));
+            if (delta.signum() != 0) {
+                stockDeltas.put(itemId, delta);
+            }
+            // Also collapses rows merged into this one above
+            if (usage.getQuantity().compareTo(quantity) != 0) {
+                usage.setQuantity(quantity);
+                usage.setUsedAt(LocalDateTime.now());
+            }
+            billed.add(usage);
+            costDelta = costDelta.add(quantity.multiply(usage.getInventoryItem().getUnitPrice()));
+        }
+
+        List<MaterialUsage> inserted = new ArrayList<>();
+        for (Map.Entry<Integer, BigDecimal> line : diff.added()) {
+            InventoryItem inventoryItem = inventoryItems.get(line.getKey());
+            inserted.add(newUsage(request, inventoryItem, line.getValue()));
+            stockDeltas.put(line.getKey(), line.getValue());
+            costDelta = costDelta.add(line.getValue().multiply(inventoryItem.getUnitPrice()));
+        }
+
+        for (MaterialUsage usage : diff.removed()) {
+            Integer itemId = usage.getInventoryItem().getItemId();
+            stockDeltas.put(itemId, storedQuantities.get(itemId).negate());
+            deleted.add(usage);
+        }
+
+        billed.addAll(inserted);
+        return new MaterialChanges(inserted, deleted, stockDeltas, costDelta, billed);
+    }
+
+    /**
+     * Add every submitted line as a new usage next to the stored ones
+     */
+    private MaterialChanges appendMaterials(ServiceRequest request, List<MaterialUsage> existingUsages,
+                                            List<MaterialItemDTO> lines, Map<Integer, InventoryItem> inventoryItems) {
+        List<MaterialUsage> inserted = new ArrayList<>();
+        Map<Integer, BigDecimal> stockDeltas = new HashMap<>();
+        BigDecimal costDelta = BigDecimal.ZERO;
+        for (MaterialItemDTO line : lines) {
+            InventoryItem inventoryItem = inventoryItems.get(line.getItemId());
+            inserted.add(newUsage(request, inventoryItem, line.getQuantity()));
+            stockDeltas.merge(line.getItemId(), line.getQuantity(), BigDecimal::add);
+            costDelta = costDelta.add(line.getQuantity().multiply(inventoryItem.getUnitPrice()));
+        }
+
+        List<MaterialUsage> billed = new ArrayList<>(existingUsages);
+        billed.addAll(inserted);
+        return new MaterialChanges(inserted, List.of(), stockDeltas, costDelta, billed);
+    }
+
+    private static boolean sameAmount(BigDecimal stored, BigDecimal submitted) {
+        return stored == null ? submitted == null : submitted != null && stored.compareTo(submitted) == 0;
+    }
+
+    private MaterialUsage newUsage(ServiceRequest request, InventoryItem inventoryItem, BigDecimal quantity) {
+        MaterialUsage usage = new MaterialUsage();
+        usage.setServiceRequest(request);
+        usage.setInventoryItem(inventoryItem);
+        usage.setQuantity(quantity);
+        usage.setUsedAt(LocalDateTime.now());
+        return usage;
+    }
+
+    /**
+     * Get the current bill summary of a service request
+     */
+    public ServiceBillSummaryDTO getBillSummary(Integer requestId, ServiceAdvisorProfile advisor) {
+        validateServiceRequestAccess(requestId, advisor);
+        return getCurrentBillSummary(requestId);
+    }
+
+    /**
+     * Replace the labor charges of a service request, writing only the lines that changed
      */
     @Transactional
     public ServiceBillSummaryDTO addLaborCharges(
             Integer requestId,
             List<LaborChargeDTO> laborCharges,
-            String serviceAdvisorEmail) {
+            ServiceAdvisorProfile advisor) {
 
         // Validate service request and service advisor
-        ServiceRequest request = validateServiceRequestAccess(requestId, serviceAdvisorEmail);
-
-        // Get service advisor profile
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
+        ServiceRequest request = validateServiceRequestAccess(requestId, advisor);
 
-        // Delete existing labor charges (service tracking entries with laborCost > 0)
-        List<ServiceTracking> existingLaborEntries = serviceTrackingRepository.findByRequestIdAndLaborCostNotNull(requestId);
-        serviceTrackingRepository.deleteAll(existingLaborEntries);
+        // Diff the submitted charges against the stored ones so only changed lines are written
+        List<LaborCharge> storedCharges = laborChargeRepository.findByRequestIdOrderByChargeIdAsc(requestId);
+        LineDiff<LaborCharge, LaborChargeDTO> diff = LineDiff.compare(storedCharges, laborCharges,
+                LaborCharge::getDescription, LaborChargeDTO::getDescription, true);
 
-        // Process each labor charge
+        BigDecimal previousLaborCost = storedCharges.stream()
+                .map(LaborCharge::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
         BigDecimal totalLaborCost = BigDecimal.ZERO;
+        boolean changed = !diff.removed().isEmpty();
 
-        for (LaborChargeDTO chargeDTO : laborCharges) {
-            // Calculate total cost and minutes
+        for (LineDiff.Pair<LaborCharge, LaborChargeDTO> pair : diff.paired()) {
+            LaborCharge charge = pair.stored();
+            LaborChargeDTO chargeDTO = pair.submitted();
             BigDecimal totalCost = chargeDTO.getHours().multiply(chargeDTO.getRatePerHour());
             totalLaborCost = totalLaborCost.add(totalCost);
 
-            // Convert hours to minutes (1 hour = 60 minutes)
-            int minutes = chargeDTO.getHours().multiply(new BigDecimal("60")).intValue();
+            // Dirty checking writes the charge only if one of its values changed
+            if (!Objects.equals(charge.getDescription(), chargeDTO.getDescription()) ||
+                    !sameAmount(charge.getHours(), chargeDTO.getHours()) ||
+                    !sameAmount(charge.getRatePerHour(), chargeDTO.getRatePerHour())) {
+                charge.setDescription(chargeDTO.getDescription());
+                charge.setHours(chargeDTO.getHours());
+                charge.setRatePerHour(chargeDTO.getRatePerHour());
+                charge.setTotal(totalCost);
+                changed = true;
+            }
+        }
 
-            // Create a service tracking entry for this labor charge
-            ServiceTracking laborTracking = new ServiceTracking();
-            laborTracking.setRequestId(requestId);
-            laborTracking.setWorkDescription("Labor: " + chargeDTO.getDescription());
-            laborTracking.setStatus(request.getStatus());
-            laborTracking.setLaborCost(totalCost);
-            laborTracking.setLaborMinutes(minutes);
-            laborTracking.setServiceAdvisor(advisor);
+        List<LaborCharge> newCharges = new ArrayList<>();
+        for (LaborChargeDTO chargeDTO : diff.added()) {
+            BigDecimal totalCost = chargeDTO.getHours().multiply(chargeDTO.getRatePerHour());
+            totalLaborCost = totalLaborCost.add(totalCost);
 
-            serviceTrackingRepository.save(laborTracking);
+            newCharges.add(LaborCharge.builder()
+                    .requestId(requestId)
+                    .description(chargeDTO.getDescription())
+                    .hours(chargeDTO.getHours())
+                    .ratePerHour(chargeDTO.getRatePerHour())
+                    .total(totalCost)
+                    .build());
         }
 
-        // Create a summary tracking entry
-        if (!laborCharges.isEmpty()) {
+        // Write and record the edit only if something changed; the amounts live only in the labor charges
+        if (changed || !newCharges.isEmpty()) {
+            laborChargeRepository.deleteAll(diff.removed());
+            laborChargeRepository.saveAll(newCharges);
+            serviceRequestTotals.addLabor(requestId, totalLaborCost.subtract(previousLaborCost));
+
             ServiceTracking summaryTracking = new ServiceTracking();
             summaryTracking.setRequestId(requestId);
             summaryTracking.setWorkDescription("Added labor charges to service");
             summaryTracking.setStatus(request.getStatus());
-            summaryTracking.setLaborCost(totalLaborCost);
             summaryTracking.setServiceAdvisor(advisor);
             serviceTrackingRepository.save(summaryTracking);
+            log.debug("Labor charges for service request {} now total {}", requestId, totalLaborCost);
         }
 
         // Return updated bill summary
@@ -270,21 +387,16 @@ public class ServiceAdvisorDashboardService {
             ServiceRequest.Status newStatus,
             String notes,
             boolean notifyCustomer,
-            String serviceAdvisorEmail) {
+            ServiceAdvisorProfile advisor) {
 
         // Validate service request and service advisor
-        ServiceRequest request = validateServiceRequestAccess(requestId, serviceAdvisorEmail);
-
-        // Get service advisor profile
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
+        ServiceRequest request = validateServiceRequestAccess(requestId, advisor);
 
         // Update service request status
         ServiceRequest.Status oldStatus = request.getStatus();
         request.setStatus(newStatus);
         serviceRequestRepository.save(request);
+        partReservationService.onStatusChange(requestId, oldStatus, newStatus);
 
         // Create service tracking entry
         ServiceTracking tracking = new ServiceTracking();
@@ -301,7 +413,7 @@ public class ServiceAdvisorDashboardService {
         response.put("oldStatus", oldStatus.name());
         response.put("newStatus", newStatus.name());
         response.put("timestamp", LocalDateTime.now());
-        response.put("updatedBy", user.getFirstName() + " " + user.getLastName());
+        response.put("updatedBy", advisor.getUser().getFirstName() + " " + advisor.getUser().getLastName());
 
         // Send notification to customer if requested
         if (notifyCustomer) {
@@ -340,16 +452,10 @@ public class ServiceAdvisorDashboardService {
     public BillResponseDTO generateServiceBill(
             Integer requestId,
             BillRequestDTO billRequest,
-            String serviceAdvisorEmail) {
+            ServiceAdvisorProfile advisor) {
 
         // Validate service request and service advisor
-        ServiceRequest request = validateServiceRequestAccess(requestId, serviceAdvisorEmail);
-
-        // Get service advisor profile
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
+        ServiceRequest request = validateServiceRequestAccess(requestId, advisor);
 
         // Create bill response
         BillResponseDTO response = new BillResponseDTO();
@@ -402,7 +508,6 @@ public class ServiceAdvisorDashboardService {
         tracking.setRequestId(requestId);
         tracking.setWorkDescription("Generated service bill: " + response.getBillId());
         tracking.setStatus(request.getStatus());
-        tracking.setLaborCost(billRequest.getLaborTotal());
         tracking.setTotalMaterialCost(billRequest.getMaterialsTotal());
         tracking.setServiceAdvisor(advisor);
         serviceTrackingRepository.save(tracking);
@@ -414,66 +519,41 @@ public class ServiceAdvisorDashboardService {
      * Helper method to get the current bill summary for a service request
      */
     private ServiceBillSummaryDTO getCurrentBillSummary(Integer requestId) {
+        return buildBillSummary(requestId, materialUsageRepository.findByServiceRequest_RequestId(requestId));
+    }
+
+    /**
+     * Build the bill summary from material usages the caller already holds.
+     * Labor lines, totals and notes take one query each however long the service history is.
+     */
+    private ServiceBillSummaryDTO buildBillSummary(Integer requestId, List<MaterialUsage> materialUsages) {
         ServiceBillSummaryDTO bill = new ServiceBillSummaryDTO();
         bill.setRequestId(requestId);
 
-        // Get all material usages for this request
-        List<MaterialUsage> materialUsages = materialUsageRepository.findByServiceRequest_RequestId(requestId);
-
-        // Calculate parts subtotal and prepare items for response
-        BigDecimal partsSubtotal = BigDecimal.ZERO;
+        // Prepare material items for response
         List<MaterialItemDTO> materials = new ArrayList<>();
-
         for (MaterialUsage usage : materialUsages) {
             InventoryItem item = usage.getInventoryItem();
-            BigDecimal itemTotal = usage.getQuantity().multiply(item.getUnitPrice());
-            partsSubtotal = partsSubtotal.add(itemTotal);
 
             MaterialItemDTO materialItem = new MaterialItemDTO();
             materialItem.setItemId(item.getItemId()); // Fixed: Using Integer itemId
             materialItem.setName(item.getName());
             materialItem.setQuantity(usage.getQuantity());
             materialItem.setUnitPrice(item.getUnitPrice());
-            materialItem.setTotal(itemTotal);
+            materialItem.setTotal(usage.getQuantity().multiply(item.getUnitPrice()));
 
             materials.add(materialItem);
         }
 
-        // Get all labor charges from service tracking
-        List<ServiceTracking> laborEntries = serviceTrackingRepository.findByRequestIdAndLaborCostNotNull(requestId);
-
-        // Calculate labor subtotal and prepare charges for response
-        BigDecimal laborSubtotal = BigDecimal.ZERO;
-        List<LaborChargeDTO> laborChargeDTOs = new ArrayList<>();
-
-        // Filter entries - only include those that have a description starting with "Labor:"
-        for (ServiceTracking tracking : laborEntries) {
-            if (tracking.getWorkDescription() != null &&
-                    tracking.getWorkDescription().startsWith("Labor:") &&
-                    tracking.getLaborCost() != null) {
-
-                BigDecimal hours = BigDecimal.ZERO;
-                if (tracking.getLaborMinutes() != null) {
-                    hours = new BigDecimal(tracking.getLaborMinutes()).divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-                }
-
-                BigDecimal ratePerHour = BigDecimal.ZERO;
-                if (tracking.getLaborMinutes() != null && tracking.getLaborMinutes() > 0 && tracking.getLaborCost() != null) {
-                    ratePerHour = tracking.getLaborCost()
-                            .multiply(new BigDecimal("60"))
-                            .divide(new BigDecimal(tracking.getLaborMinutes()), 2, RoundingMode.HALF_UP);
-                }
-
-                LaborChargeDTO laborChargeDTO = new LaborChargeDTO();
-                laborChargeDTO.setDescription(tracking.getWorkDescription().substring(7).trim()); // Remove "Labor: " prefix
-                laborChargeDTO.setHours(hours);
-                laborChargeDTO.setRatePerHour(ratePerHour);
-                laborChargeDTO.setTotal(tracking.getLaborCost());
-
-                laborChargeDTOs.add(laborChargeDTO);
-                laborSubtotal = laborSubtotal.add(tracking.getLaborCost());
-            }
-        }
+        List<LaborChargeDTO> laborChargeDTOs = laborChargeRepository.findByRequestIdOrderByChargeIdAsc(requestId).stream()
+                .map(LaborChargeDTO::from)
+                .collect(Collectors.toList());
+
+        // Subtotals are summed by the database
+        BillTotalsView totals = serviceRequestRepository.findBillTotals(requestId)
+                .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + requestId));
+        BigDecimal partsSubtotal = totals.getPartsSubtotal();
+        BigDecimal laborSubtotal = totals.getLaborSubtotal();
 
         // Calculate subtotal, tax and total
         BigDecimal subtotal = partsSubtotal.add(laborSubtotal);
@@ -489,17 +569,8 @@ public class ServiceAdvisorDashboardService {
         bill.setTax(tax);
         bill.setTotal(total);
 
-        // Get notes if any from tracking entries but not labor entries
-        List<ServiceTracking> trackingEntries = serviceTrackingRepository.findByRequestId(requestId);
-        if (!trackingEntries.isEmpty()) {
-            Optional<ServiceTracking> latestNonLaborEntry = trackingEntries.stream()
-                    .filter(t -> t.getWorkDescription() == null || !t.getWorkDescription().startsWith("Labor:"))
-                    .max(Comparator.comparing(ServiceTracking::getUpdatedAt));
-
-            if (latestNonLaborEntry.isPresent()) {
-                bill.setNotes(latestNonLaborEntry.get().getWorkDescription());
-            }
-        }
+        // Use the latest history entry as notes
+        serviceTrackingRepository.findLatestWorkDescription(requestId).ifPresent(bill::setNotes);
 
         return bill;
     }
@@ -507,15 +578,7 @@ public class ServiceAdvisorDashboardService {
     /**
      * Helper method to validate a service request access by a service advisor
      */
-    private ServiceRequest validateServiceRequestAccess(Integer requestId, String serviceAdvisorEmail) {
-        // Find the service advisor user
-        User user = userRepository.findByEmail(serviceAdvisorEmail)
-                .orElseThrow(() -> new RuntimeException("Service advisor not found with email: " + serviceAdvisorEmail));
-
-        // Get service advisor profile
-        ServiceAdvisorProfile advisor = serviceAdvisorProfileRepository.findByUser_UserId(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Service advisor profile not found for user: " + user.getUserId()));
-
+    private ServiceRequest validateServiceRequestAccess(Integer requestId, ServiceAdvisorProfile advisor) {
         // Get service request
         ServiceRequest request = serviceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new RuntimeException("Service request not found with ID: " + requestId));
@@ -7,6 +7,7 @@ import com.albany.restapi.model.ServiceAdvisorProfile;
 import com.albany.restapi.model.User;
 import com.albany.restapi.repository.ServiceAdvisorProfileRepository;
 import com.albany.restapi.repository.UserRepository;
+import com.albany.restapi.security.VerifiedPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +27,8 @@ public class ServiceAdvisorService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final AdvisorPrincipalResolver advisorPrincipalResolver;
+    private final VerifiedPrincipalCache verifiedPrincipalCache;
 
     @Transactional
     public ServiceAdvisorResponse createServiceAdvisor(ServiceAdvisorRequest request) {
@@ -87,6 +90,8 @@ public class ServiceAdvisorService {
                 .orElseThrow(() -> new RuntimeException("Service Advisor not found"));
 
         User user = profile.getUser();
+        advisorPrincipalResolver.evict(user.getEmail());
+        verifiedPrincipalCache.evictUser(user.getEmail());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
@@ -126,6 +131,8 @@ public class ServiceAdvisorService {
 
         // Soft delete - mark as inactive
         User user = profile.getUser();
+        advisorPrincipalResolver.evict(user.getEmail());
+        verifiedPrincipalCache.evictUser(user.getEmail());
         user.setActive(false);
         userRepository.save(user);
     }
@@ -1,5 +1,6 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
 import com.albany.restapi.dto.ServiceAssignmentDTO;
 import com.albany.restapi.dto.ServiceRequestDTO;
 import com.albany.restapi.dto.VehicleInServiceDTO;
@@ -12,11 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class ServiceAssignmentService {
@@ -105,12 +107,8 @@ public class ServiceAssignmentService {
      */
     public List<VehicleInServiceDTO> getAssignedRequests() {
         // Get service requests with status "Diagnosis" or "Repair"
-        List<ServiceRequest> diagnosisRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Diagnosis);
-        List<ServiceRequest> repairRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Repair);
-
-        List<ServiceRequest> inProgressRequests = new ArrayList<>();
-        inProgressRequests.addAll(diagnosisRequests);
-        inProgressRequests.addAll(repairRequests);
+        List<ServiceRequest> inProgressRequests = serviceRequestRepository.findByStatusIn(
+                EnumSet.of(ServiceRequest.Status.Diagnosis, ServiceRequest.Status.Repair));
 
         // Convert to DTOs
         return inProgressRequests.stream()
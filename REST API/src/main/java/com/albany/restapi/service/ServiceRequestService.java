@@ -1,11 +1,16 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
+import com.albany.restapi.dto.CursorPage;
+import com.albany.restapi.dto.PageCursor;
 import com.albany.restapi.dto.ServiceRequestDTO;
 import com.albany.restapi.exception.ResourceNotFoundException;
 import com.albany.restapi.model.*;
 import com.albany.restapi.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +20,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class ServiceRequestService {
@@ -24,6 +30,7 @@ public class ServiceRequestService {
     private final AdminProfileRepository adminProfileRepository;
     private final ServiceAdvisorProfileRepository serviceAdvisorRepository;
     private final CustomerProfileRepository customerProfileRepository;
+    private final PartReservationService partReservationService;
 
     /**
      * Get all service requests
@@ -37,6 +44,27 @@ public class ServiceRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of service requests, ordered by creation time
+     */
+    public CursorPage<ServiceRequestDTO> getServiceRequestsPage(String cursor, String direction, Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+
+        Window<ServiceRequest> requests = serviceRequestRepository.findAllBy(
+                KeysetPaging.requestPosition(pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.requestSort(sortDirection));
+        log.debug("Found {} service requests in page", requests.size());
+
+        List<ServiceRequestDTO> dtos = requests.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        return new CursorPage<>(dtos, KeysetPaging.nextCursor(requests,
+                request -> KeysetPaging.requestCursor(request, sortDirection)));
+    }
+
     /**
      * Get service requests by customer ID
      */
@@ -183,7 +211,9 @@ public class ServiceRequestService {
                     });
 
             // Update status
+            ServiceRequest.Status oldStatus = serviceRequest.getStatus();
             serviceRequest.setStatus(newStatus);
+            partReservationService.onStatusChange(requestId, oldStatus, newStatus);
 
             // Save and return
             ServiceRequest updatedRequest = serviceRequestRepository.save(serviceRequest);
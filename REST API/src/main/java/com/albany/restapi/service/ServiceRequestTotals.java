@@ -0,0 +1,63 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.repository.ServiceRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps the parts and labor running totals on ServiceRequest in step with its material usages and labor charges.
+ * Every change to those rows reports its delta here inside the same transaction;
+ * {@link #reconcile()} rebuilds the totals from the child tables in case anything bypassed that.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceRequestTotals {
+
+    private final ServiceRequestRepository serviceRequestRepository;
+
+    public void addParts(Integer requestId, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            serviceRequestRepository.addToPartsSubtotal(requestId, delta);
+        }
+    }
+
+    public void addLabor(Integer requestId, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            serviceRequestRepository.addToLaborSubtotal(requestId, delta);
+        }
+    }
+
+    /**
+     * Move the parts totals of every request that used the item after its unit price changed
+     */
+    public void repriceItem(Integer itemId, BigDecimal oldPrice, BigDecimal newPrice) {
+        BigDecimal priceDelta = newPrice.subtract(oldPrice);
+        if (priceDelta.signum() != 0) {
+            int updated = serviceRequestRepository.repriceParts(itemId, priceDelta);
+            log.debug("Repriced item {} on {} service requests", itemId, updated);
+        }
+    }
+
+    /**
+     * Rebuild the running totals; runs once at startup to fill them for existing requests and then nightly
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${service-request.totals.reconcile-cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcile() {
+        int corrected = serviceRequestRepository.reconcileTotals();
+        if (corrected > 0) {
+            log.warn("Corrected running totals on {} service requests", corrected);
+        } else {
+            log.info("Service request running totals are consistent");
+        }
+    }
+}
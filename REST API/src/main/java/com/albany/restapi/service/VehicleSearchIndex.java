@@ -0,0 +1,436 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.SearchSuggestionDTO;
+import com.albany.restapi.model.CustomerProfile;
+import com.albany.restapi.model.User;
+import com.albany.restapi.model.Vehicle;
+import com.albany.restapi.repository.CustomerProfileRepository;
+import com.albany.restapi.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over vehicle registration numbers, brand/model and customer names.
+ * Queries of three or more characters are answered from a trigram index, shorter ones from a sorted prefix index;
+ * candidates are then checked against the text and ranked. Loaded at startup and kept current from entity writes.
+ * Also answers the free-text search filter of the vehicle tracking lists, as the set of matching vehicle ids.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleSearchIndex {
+
+    public static final String TYPE_VEHICLE = "VEHICLE";
+    public static final String TYPE_CUSTOMER = "CUSTOMER";
+
+    private static final int GRAM = 3;
+    private static final int REBUILD_BATCH = 500;
+
+    // Registration numbers rank above names for the same kind of match
+    private static final int REGISTRATION_BOOST = 10;
+
+    private final VehicleRepository vehicleRepository;
+    private final CustomerProfileRepository customerProfileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final NavigableMap<String, Set<String>> prefixes = new TreeMap<>();
+    private final Map<Integer, Set<Integer>> vehiclesByCustomer = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<CustomerProfile> customers;
+        do {
+            customers = customerProfileRepository.findByUser_IsActiveTrue(
+                    position, Limit.of(REBUILD_BATCH), Sort.by("customerId"));
+            customers.forEach(customer -> {
+                User user = customer.getUser();
+                upsert(customerDocument(customer.getCustomerId(), user.getFirstName(), user.getLastName(),
+                        user.getEmail()));
+            });
+            if (!customers.isEmpty()) {
+                position = customers.positionAt(customers.size() - 1);
+            }
+        } while (customers.hasNext());
+
+        position = ScrollPosition.keyset();
+        Window<Vehicle> vehicles;
+        do {
+            vehicles = vehicleRepository.findAllBy(position, Limit.of(REBUILD_BATCH), Sort.by("vehicleId"));
+            vehicles.forEach(vehicle -> upsert(vehicleDocument(vehicle.getVehicleId(), vehicle.getRegistrationNumber(),
+                    vehicle.getBrand(), vehicle.getModel(),
+                    vehicle.getCustomer() != null ? vehicle.getCustomer().getCustomerId() : null)));
+            if (!vehicles.isEmpty()) {
+                position = vehicles.positionAt(vehicles.size() - 1);
+            }
+        } while (vehicles.hasNext());
+
+        log.info("Search index loaded {} entries in {} ms", size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Ranked suggestions for a typed fragment
+     */
+    public List<SearchSuggestionDTO> suggest(String query, int limit) {
+        String needle = compact(query);
+        if (needle.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SearchSuggestionDTO> suggestions = new ArrayList<>();
+            for (String key : candidates(needle)) {
+                Document document = documents.get(key);
+                int score = document != null ? document.score(needle) : 0;
+                if (score > 0) {
+                    suggestions.add(toSuggestion(document, score));
+                }
+            }
+
+            suggestions.sort(Comparator.comparingInt(SearchSuggestionDTO::getScore).reversed()
+                    .thenComparing(SearchSuggestionDTO::getLabel, Comparator.nullsLast(String::compareToIgnoreCase)));
+            return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The best-ranked vehicles matching the fragment on their own fields or through their owner's name,
+     * at most {@code limit} of them. Matches and ranks the same way as suggest().
+     */
+    public VehicleMatches matchingVehicles(String query, int limit) {
+        String needle = compact(query);
+        if (needle.isEmpty()) {
+            return new VehicleMatches(Collections.emptySet(), false);
+        }
+
+        Map<Integer, Integer> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String key : candidates(needle)) {
+                Document document = documents.get(key);
+                int score = document != null ? document.score(needle) : 0;
+                if (score == 0) {
+                    continue;
+                }
+                if (TYPE_VEHICLE.equals(document.type())) {
+                    scores.merge(document.id(), score, Math::max);
+                } else {
+                    for (Integer vehicleId : vehiclesByCustomer.getOrDefault(document.id(), Collections.emptySet())) {
+                        scores.merge(vehicleId, score, Math::max);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Ties go to the oldest vehicle so a repeated search keeps the same set
+        Set<Integer> vehicleIds = new LinkedHashSet<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> vehicleIds.add(entry.getKey()));
+        return new VehicleMatches(vehicleIds, scores.size() > limit);
+    }
+
+    /**
+     * Vehicle ids for a search, best first; {@code truncated} when more vehicles matched than were returned
+     */
+    public record VehicleMatches(Set<Integer> vehicleIds, boolean truncated) {
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleSaved(SearchIndexEvents.VehicleSaved event) {
+        upsert(vehicleDocument(event.vehicleId(), event.registrationNumber(), event.brand(), event.model(),
+                event.customerId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleRemoved(SearchIndexEvents.VehicleRemoved event) {
+        remove(vehicleKey(event.vehicleId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerSaved(SearchIndexEvents.CustomerSaved event) {
+        if (event.active()) {
+            upsert(customerDocument(event.customerId(), event.firstName(), event.lastName(), event.email()));
+        } else {
+            remove(customerKey(event.customerId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerRemoved(SearchIndexEvents.CustomerRemoved event) {
+        remove(customerKey(event.customerId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(SearchIndexEvents.UserSaved event) {
+        String key = customerKey(event.userId());
+        lock.writeLock().lock();
+        try {
+            if (!documents.containsKey(key)) {
+                return;
+            }
+            if (event.active()) {
+                upsert(customerDocument(event.userId(), event.firstName(), event.lastName(), event.email()));
+            } else {
+                remove(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Index maintenance
+
+    private void upsert(Document document) {
+        lock.writeLock().lock();
+        try {
+            remove(document.key());
+            documents.put(document.key(), document);
+            if (TYPE_VEHICLE.equals(document.type()) && document.customerId() != null) {
+                vehiclesByCustomer.computeIfAbsent(document.customerId(), c -> new HashSet<>()).add(document.id());
+            }
+            for (Field field : document.fields()) {
+                for (String gram : grams(field.compact())) {
+                    trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(document.key());
+                }
+                for (String prefixKey : field.prefixKeys()) {
+                    prefixes.computeIfAbsent(prefixKey, p -> new HashSet<>()).add(document.key());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.remove(key);
+            if (existing == null) {
+                return;
+            }
+            if (TYPE_VEHICLE.equals(existing.type()) && existing.customerId() != null) {
+                Set<Integer> owned = vehiclesByCustomer.get(existing.customerId());
+                if (owned != null) {
+                    owned.remove(existing.id());
+                    if (owned.isEmpty()) {
+                        vehiclesByCustomer.remove(existing.customerId());
+                    }
+                }
+            }
+            for (Field field : existing.fields()) {
+                for (String gram : grams(field.compact())) {
+                    removePosting(trigrams, gram, key);
+                }
+                for (String prefixKey : field.prefixKeys()) {
+                    removePosting(prefixes, prefixKey, key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void removePosting(Map<String, Set<String>> postings, String term, String key) {
+        Set<String> keys = postings.get(term);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private Collection<String> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            Set<String> matches = new HashSet<>();
+            prefixes.subMap(needle, true, needle + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(matches::addAll);
+            return matches;
+        }
+
+        // Intersect postings starting from the rarest trigram
+        List<Set<String>> postings = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<String> keys = trigrams.get(gram);
+            if (keys == null) {
+                return Collections.emptySet();
+            }
+            postings.add(keys);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> matches = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !matches.isEmpty(); i++) {
+            matches.retainAll(postings.get(i));
+        }
+        return matches;
+    }
+
+    private SearchSuggestionDTO toSuggestion(Document document, int score) {
+        SearchSuggestionDTO.SearchSuggestionDTOBuilder suggestion = SearchSuggestionDTO.builder()
+                .type(document.type())
+                .id(document.id())
+                .label(document.label())
+                .detail(document.detail())
+                .customerId(document.customerId())
+                .score(score);
+
+        if (document.customerId() != null) {
+            Document owner = documents.get(customerKey(document.customerId()));
+            if (owner != null) {
+                suggestion.customerName(owner.label());
+            }
+        }
+        return suggestion.build();
+    }
+
+    // Documents
+
+    private static Document vehicleDocument(Integer vehicleId, String registrationNumber, String brand, String model,
+                                            Integer customerId) {
+        String vehicleName = joinNonNull(brand, model);
+        return new Document(vehicleKey(vehicleId), TYPE_VEHICLE, vehicleId, vehicleName, registrationNumber,
+                customerId, List.of(
+                        Field.of(registrationNumber, REGISTRATION_BOOST),
+                        Field.of(vehicleName, 0)));
+    }
+
+    private static Document customerDocument(Integer customerId, String firstName, String lastName, String email) {
+        String customerName = joinNonNull(firstName, lastName);
+        return new Document(customerKey(customerId), TYPE_CUSTOMER, customerId, customerName, email, customerId,
+                List.of(Field.of(customerName, 0)));
+    }
+
+    private static String vehicleKey(Integer vehicleId) {
+        return TYPE_VEHICLE + ":" + vehicleId;
+    }
+
+    private static String customerKey(Integer customerId) {
+        return TYPE_CUSTOMER + ":" + customerId;
+    }
+
+    private static String joinNonNull(String first, String second) {
+        StringJoiner joiner = new StringJoiner(" ");
+        if (first != null && !first.isBlank()) {
+            joiner.add(first.trim());
+        }
+        if (second != null && !second.isBlank()) {
+            joiner.add(second.trim());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Lower-cased letters and digits only, so "KA-01 AB" and "ka01ab" index and match the same way
+     */
+    private static String compact(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder compact = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(compact::appendCodePoint);
+        return compact.toString();
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String part : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part.toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String compact) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= compact.length(); i++) {
+            grams.add(compact.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private record Field(String compact, List<String> tokens, int boost) {
+
+        static Field of(String text, int boost) {
+            return new Field(compact(text), tokens(text), boost);
+        }
+
+        Set<String> prefixKeys() {
+            Set<String> keys = new HashSet<>(tokens);
+            if (!compact.isEmpty()) {
+                keys.add(compact);
+            }
+            return keys;
+        }
+
+        int score(String needle) {
+            if (compact.isEmpty()) {
+                return 0;
+            }
+            if (compact.equals(needle)) {
+                return 100 + boost;
+            }
+            if (compact.startsWith(needle)) {
+                return 80 + boost;
+            }
+            for (String token : tokens) {
+                if (token.startsWith(needle)) {
+                    return 60 + boost;
+                }
+            }
+            return compact.contains(needle) ? 40 + boost : 0;
+        }
+    }
+
+    private record Document(String key, String type, Integer id, String label, String detail, Integer customerId,
+                            List<Field> fields) {
+
+        int score(String needle) {
+            int best = 0;
+            for (Field field : fields) {
+                best = Math.max(best, field.score(needle));
+            }
+            return best;
+        }
+    }
+}
@@ -1,58 +1,88 @@
 package com.albany.restapi.service;
 
+import com.albany.restapi.config.TimedService;
 import com.albany.restapi.dto.CompletedServiceDTO;
+import com.albany.restapi.dto.CursorPage;
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.dto.PageCursor;
 import com.albany.restapi.dto.VehicleInServiceDTO;
 import com.albany.restapi.model.*;
 import com.albany.restapi.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@TimedService
 @RequiredArgsConstructor
 @Slf4j
 public class VehicleTrackingService {
 
+    // Bounds the vehicle id list a search puts into one IN predicate
+    static final int MAX_SEARCH_VEHICLES = 500;
+
     private final ServiceRequestRepository serviceRequestRepository;
     private final VehicleRepository vehicleRepository;
     private final ServiceAdvisorProfileRepository serviceAdvisorRepository;
     private final MaterialUsageRepository materialUsageRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final ServiceTrackingRepository serviceTrackingRepository;
+    private final LaborChargeRepository laborChargeRepository;
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
+    private final PartReservationService partReservationService;
+    private final ServiceRequestTotals serviceRequestTotals;
+    private final VehicleSearchIndex vehicleSearchIndex;
 
     /**
-     * Retrieves all vehicles currently under service (not completed)
+     * Retrieves one page of vehicles currently under service (not completed), ordered by creation time
      */
-    public List<VehicleInServiceDTO> getVehiclesUnderService() {
+    public CursorPage<VehicleInServiceDTO> getVehiclesUnderService(String cursor, String direction, Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+
         // Find service requests that are not completed
-        List<ServiceRequest> activeRequests = serviceRequestRepository.findByStatusNot(ServiceRequest.Status.Completed);
+        Window<ServiceRequest> activeRequests = serviceRequestRepository.findByStatusNot(
+                ServiceRequest.Status.Completed,
+                KeysetPaging.requestPosition(pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.requestSort(sortDirection));
 
-        return activeRequests.stream()
+        List<VehicleInServiceDTO> vehicles = activeRequests.stream()
                 .map(this::mapToVehicleInServiceDTO)
                 .collect(Collectors.toList());
+
+        return new CursorPage<>(vehicles, KeysetPaging.nextCursor(activeRequests,
+                request -> KeysetPaging.requestCursor(request, sortDirection)));
     }
 
     /**
-     * Retrieves all completed services
+     * Retrieves one page of completed services, ordered by creation time
      */
-    public List<CompletedServiceDTO> getCompletedServices() {
-        // Find completed service requests
-        List<ServiceRequest> completedRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Completed);
+    public CursorPage<CompletedServiceDTO> getCompletedServices(String cursor, String direction, Integer limit) {
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
 
-        return completedRequests.stream()
-                .map(this::mapToCompletedServiceDTO)
-                .collect(Collectors.toList());
+        // Find completed service requests
+        Window<ServiceRequest> completedRequests = serviceRequestRepository.findByStatus(
+                ServiceRequest.Status.Completed,
+                KeysetPaging.requestPosition(pageCursor),
+                KeysetPaging.limit(limit),
+                KeysetPaging.requestSort(sortDirection));
+
+        return new CursorPage<>(mapToCompletedServiceDTOs(completedRequests.getContent()),
+                KeysetPaging.nextCursor(completedRequests,
+                        request -> KeysetPaging.requestCursor(request, sortDirection)));
     }
 
     /**
@@ -72,6 +102,7 @@ public class VehicleTrackingService {
 
         ServiceRequest.Status oldStatus = request.getStatus();
         request.setStatus(newStatus);
+        partReservationService.onStatusChange(requestId, oldStatus, newStatus);
 
         // Create a service tracking entry to record this status change
         ServiceTracking tracking = new ServiceTracking();
@@ -85,23 +116,20 @@ public class VehicleTrackingService {
             customer.setLastServiceDate(LocalDate.now());
             customer.setTotalServices(customer.getTotalServices() + 1);
 
-            // Calculate final labor cost if not set
-            if (tracking.getLaborCost() == null) {
-                // Default to at least 1 labor hour (60 minutes) if no tracking exists
-                Integer laborMinutes = serviceTrackingRepository.sumLaborMinutesByRequestId(requestId);
-                if (laborMinutes == null || laborMinutes == 0) {
-                    laborMinutes = 60;
-                }
-
-                // Calculate labor cost at $10 per minute (simplified example)
-                BigDecimal laborRate = new BigDecimal("10.00");
-                tracking.setLaborMinutes(laborMinutes);
-                tracking.setLaborCost(laborRate.multiply(new BigDecimal(laborMinutes)));
+            // Charge at least 1 labor hour if none was recorded ($10 per minute, simplified example)
+            if (!laborChargeRepository.existsByRequestId(requestId)) {
+                LaborCharge standardLabor = laborChargeRepository.save(LaborCharge.builder()
+                        .requestId(requestId)
+                        .description("Standard labor")
+                        .hours(BigDecimal.ONE)
+                        .ratePerHour(new BigDecimal("600.00"))
+                        .total(new BigDecimal("600.00"))
+                        .build());
+                serviceRequestTotals.addLabor(requestId, standardLabor.getTotal());
             }
 
-            // Calculate material cost from actual used materials
-            BigDecimal materialCost = calculateMaterialCost(requestId);
-            tracking.setTotalMaterialCost(materialCost);
+            // Material cost comes from the request's running parts total
+            tracking.setTotalMaterialCost(partsCost(currentTotals(requestId).getPartsSubtotal()));
         }
 
         serviceTrackingRepository.save(tracking);
@@ -231,98 +259,111 @@ public class VehicleTrackingService {
     }
 
     /**
-     * Filter vehicles based on criteria
+     * Filter vehicles based on criteria, one page at a time
      */
-    public List<VehicleInServiceDTO> filterVehiclesUnderService(Map<String, Object> filterCriteria) {
-        // Start with all vehicles under service
-        List<ServiceRequest> filteredRequests = serviceRequestRepository.findByStatusNot(ServiceRequest.Status.Completed);
-
-        // Apply database-level filters where possible
-        if (filterCriteria.containsKey("vehicleType") && filterCriteria.get("vehicleType") != null) {
-            String vehicleType = filterCriteria.get("vehicleType").toString();
-            try {
-                Vehicle.Category category = Vehicle.Category.valueOf(vehicleType);
-                filteredRequests = filteredRequests.stream()
-                        .filter(req -> req.getVehicle().getCategory() == category)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid vehicle category filter: {}", vehicleType);
-            }
-        }
-
-        if (filterCriteria.containsKey("status") && filterCriteria.get("status") != null) {
+    public CursorPage<VehicleInServiceDTO> filterVehiclesUnderService(
+            Map<String, Object> filterCriteria, String cursor, String direction, Integer limit) {
+        // Vehicles under service, narrowed by the criteria in the same query
+        Specification<ServiceRequest> specification = ServiceRequestSpecifications
+                .statusNot(ServiceRequest.Status.Completed)
+                .and(vehicleTypeFilter(filterCriteria));
+
+        if (filterCriteria.get("status") != null) {
             String statusStr = filterCriteria.get("status").toString();
             try {
                 ServiceRequest.Status status = ServiceRequest.Status.valueOf(statusStr);
-                filteredRequests = filteredRequests.stream()
-                        .filter(req -> req.getStatus() == status)
-                        .collect(Collectors.toList());
+                specification = specification.and(ServiceRequestSpecifications.hasStatus(status));
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid status filter: {}", statusStr);
             }
         }
 
-        if (filterCriteria.containsKey("serviceType") && filterCriteria.get("serviceType") != null) {
-            String serviceType = filterCriteria.get("serviceType").toString();
-            filteredRequests = filteredRequests.stream()
-                    .filter(req -> serviceType.equals(req.getServiceType()))
-                    .collect(Collectors.toList());
+        if (filterCriteria.get("serviceType") != null) {
+            specification = specification.and(
+                    ServiceRequestSpecifications.hasServiceType(filterCriteria.get("serviceType").toString()));
         }
 
-        if (filterCriteria.containsKey("search") && filterCriteria.get("search") != null) {
-            String search = filterCriteria.get("search").toString().toLowerCase();
-            filteredRequests = filteredRequests.stream()
-                    .filter(req ->
-                            (req.getVehicle().getBrand() + " " + req.getVehicle().getModel()).toLowerCase().contains(search) ||
-                                    req.getVehicle().getRegistrationNumber().toLowerCase().contains(search) ||
-                                    (req.getVehicle().getCustomer().getUser().getFirstName() + " " +
-                                            req.getVehicle().getCustomer().getUser().getLastName()).toLowerCase().contains(search)
-                    )
-                    .collect(Collectors.toList());
-        }
+        VehicleSearchIndex.VehicleMatches matches = searchMatches(filterCriteria);
+        specification = specification.and(searchFilter(matches));
+
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+        Window<ServiceRequest> filteredRequests = scrollRequests(specification, pageCursor, sortDirection, limit);
 
         // Map filtered requests to DTOs
-        return filteredRequests.stream()
+        List<VehicleInServiceDTO> vehicles = filteredRequests.stream()
                 .map(this::mapToVehicleInServiceDTO)
                 .collect(Collectors.toList());
+
+        return new CursorPage<>(vehicles, KeysetPaging.nextCursor(filteredRequests,
+                request -> KeysetPaging.requestCursor(request, sortDirection)),
+                matches != null && matches.truncated());
     }
 
     /**
-     * Filter completed services based on criteria
+     * Filter completed services based on criteria, one page at a time
      */
-    public List<CompletedServiceDTO> filterCompletedServices(Map<String, Object> filterCriteria) {
-        // Start with all completed services
-        List<ServiceRequest> filteredRequests = serviceRequestRepository.findByStatus(ServiceRequest.Status.Completed);
+    public CursorPage<CompletedServiceDTO> filterCompletedServices(
+            Map<String, Object> filterCriteria, String cursor, String direction, Integer limit) {
+        // Completed services, narrowed by the criteria in the same query
+        VehicleSearchIndex.VehicleMatches matches = searchMatches(filterCriteria);
+        Specification<ServiceRequest> specification = ServiceRequestSpecifications
+                .hasStatus(ServiceRequest.Status.Completed)
+                .and(vehicleTypeFilter(filterCriteria))
+                .and(searchFilter(matches));
+
+        PageCursor pageCursor = KeysetPaging.cursor(cursor);
+        Sort.Direction sortDirection = KeysetPaging.direction(pageCursor, direction);
+        Window<ServiceRequest> filteredRequests = scrollRequests(specification, pageCursor, sortDirection, limit);
 
-        // Apply database-level filters where possible
-        if (filterCriteria.containsKey("vehicleType") && filterCriteria.get("vehicleType") != null) {
-            String vehicleType = filterCriteria.get("vehicleType").toString();
-            try {
-                Vehicle.Category category = Vehicle.Category.valueOf(vehicleType);
-                filteredRequests = filteredRequests.stream()
-                        .filter(req -> req.getVehicle().getCategory() == category)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid vehicle category filter: {}", vehicleType);
-            }
+        // Map filtered requests to DTOs
+        return new CursorPage<>(mapToCompletedServiceDTOs(filteredRequests.getContent()),
+                KeysetPaging.nextCursor(filteredRequests,
+                        request -> KeysetPaging.requestCursor(request, sortDirection)),
+                matches != null && matches.truncated());
+    }
+
+    private Window<ServiceRequest> scrollRequests(
+            Specification<ServiceRequest> specification,
+            PageCursor pageCursor,
+            Sort.Direction sortDirection,
+            Integer limit) {
+        // Fetches first, so the filters build on the fetched joins instead of joining the same tables again
+        return serviceRequestRepository.findBy(
+                ServiceRequestSpecifications.fetchParties().and(specification),
+                query -> query
+                        .sortBy(KeysetPaging.requestSort(sortDirection))
+                        .limit(KeysetPaging.limit(limit).max())
+                        .scroll(KeysetPaging.requestPosition(pageCursor)));
+    }
+
+    private Specification<ServiceRequest> vehicleTypeFilter(Map<String, Object> filterCriteria) {
+        if (filterCriteria.get("vehicleType") == null) {
+            return null;
         }
+        String vehicleType = filterCriteria.get("vehicleType").toString();
+        try {
+            return ServiceRequestSpecifications.hasVehicleCategory(Vehicle.Category.valueOf(vehicleType));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid vehicle category filter: {}", vehicleType);
+            return null;
+        }
+    }
 
-        if (filterCriteria.containsKey("search") && filterCriteria.get("search") != null) {
-            String search = filterCriteria.get("search").toString().toLowerCase();
-            filteredRequests = filteredRequests.stream()
-                    .filter(req ->
-                            (req.getVehicle().getBrand() + " " + req.getVehicle().getModel()).toLowerCase().contains(search) ||
-                                    req.getVehicle().getRegistrationNumber().toLowerCase().contains(search) ||
-                                    (req.getVehicle().getCustomer().getUser().getFirstName() + " " +
-                                            req.getVehicle().getCustomer().getUser().getLastName()).toLowerCase().contains(search)
-                    )
-                    .collect(Collectors.toList());
+    /**
+     * The search text is matched in the in-memory search index, keeping the best {@link #MAX_SEARCH_VEHICLES};
+     * null when there is no search
+     */
+    private VehicleSearchIndex.VehicleMatches searchMatches(Map<String, Object> filterCriteria) {
+        if (filterCriteria.get("search") == null || filterCriteria.get("search").toString().isBlank()) {
+            return null;
         }
+        return vehicleSearchIndex.matchingVehicles(filterCriteria.get("search").toString(), MAX_SEARCH_VEHICLES);
+    }
 
-        // Map filtered requests to DTOs
-        return filteredRequests.stream()
-                .map(this::mapToCompletedServiceDTO)
-                .collect(Collectors.toList());
+    // The query only narrows by the vehicles the index returned
+    private Specification<ServiceRequest> searchFilter(VehicleSearchIndex.VehicleMatches matches) {
+        return matches != null ? ServiceRequestSpecifications.hasVehicleIn(matches.vehicleIds()) : null;
     }
 
     // Helper methods
@@ -365,7 +406,46 @@ public class VehicleTrackingService {
                 .build();
     }
 
-    private CompletedServiceDTO mapToCompletedServiceDTO(ServiceRequest request) {
+    /**
+     * Maps completed requests to DTOs, loading completion dates and invoice presence
+     * with one grouped query each for the whole batch; costs come from the requests' running totals
+     */
+    private List<CompletedServiceDTO> mapToCompletedServiceDTOs(List<ServiceRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> requestIds = requests.stream()
+                .map(ServiceRequest::getRequestId)
+                .collect(Collectors.toList());
+
+        Map<Integer, LocalDate> completedDates = new HashMap<>();
+        serviceTrackingRepository.findLastUpdateByRequestIdsAndStatus(requestIds, ServiceRequest.Status.Completed)
+                .forEach(row -> {
+                    if (row.getLastUpdatedAt() != null) {
+                        completedDates.put(row.getRequestId(), row.getLastUpdatedAt().toLocalDate());
+                    }
+                });
+
+        Set<Integer> invoicedRequestIds = new HashSet<>(invoiceRepository.findRequestIdsWithInvoice(requestIds));
+
+        LocalDate today = LocalDate.now();
+        return requests.stream()
+                .map(request -> mapToCompletedServiceDTO(
+                        request,
+                        completedDates.getOrDefault(request.getRequestId(), today),
+                        laborCost(request),
+                        partsCost(request),
+                        invoicedRequestIds.contains(request.getRequestId())))
+                .collect(Collectors.toList());
+    }
+
+    private CompletedServiceDTO mapToCompletedServiceDTO(
+            ServiceRequest request,
+            LocalDate completedDate,
+            BigDecimal laborCost,
+            BigDecimal materialCost,
+            boolean hasInvoice) {
         Vehicle vehicle = request.getVehicle();
         CustomerProfile customer = vehicle.getCustomer();
         User customerUser = customer.getUser();
@@ -377,16 +457,8 @@ public class VehicleTrackingService {
             serviceAdvisorName = advisorUser.getFirstName() + " " + advisorUser.getLastName();
         }
 
-        // Get completion date from service tracking
-        LocalDate completedDate = serviceTrackingRepository.findLastUpdateDateByRequestIdAndStatus(
-                        request.getRequestId(), ServiceRequest.Status.Completed)
-                .orElse(LocalDate.now());
-
         // Calculate total cost
-        BigDecimal totalCost = calculateTotalCost(request);
-
-        // Check if invoice exists
-        boolean hasInvoice = invoiceRepository.existsByRequestId(request.getRequestId());
+        BigDecimal totalCost = calculateTotalCost(request, laborCost, materialCost);
 
         return CompletedServiceDTO.builder()
                 .serviceId(request.getRequestId())
@@ -457,13 +529,21 @@ public class VehicleTrackingService {
             return BigDecimal.ZERO;
         }
 
-        // Get labor cost from service tracking
-        BigDecimal laborCost = serviceTrackingRepository.findTotalLaborCostByRequestId(request.getRequestId())
-                .orElse(BigDecimal.ZERO);
+        // Labor and material costs come from the request's running totals as stored now
+        BillTotalsView totals = currentTotals(request.getRequestId());
+        return calculateTotalCost(request, laborCost(totals.getLaborSubtotal()), partsCost(totals.getPartsSubtotal()));
+    }
 
-        // Get material cost
-        BigDecimal materialCost = calculateMaterialCost(request.getRequestId());
+    /**
+     * The running totals read from the database. The delta updates bypass the persistence context,
+     * so a request loaded earlier in the transaction may still hold the totals from before them.
+     */
+    private BillTotalsView currentTotals(Integer requestId) {
+        return serviceRequestRepository.findBillTotals(requestId)
+                .orElseThrow(() -> new RuntimeException("Service request not found"));
+    }
 
+    private BigDecimal calculateTotalCost(ServiceRequest request, BigDecimal laborCost, BigDecimal materialCost) {
         // Calculate base service fee based on service type
         BigDecimal baseServiceFee = getServiceBaseCost(request.getServiceType());
 
@@ -498,18 +578,20 @@ public class VehicleTrackingService {
         return totalCost.setScale(2, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal calculateMaterialCost(Integer requestId) {
-        List<MaterialUsage> materials = materialUsageRepository.findByServiceRequest_RequestId(requestId);
+    private BigDecimal partsCost(ServiceRequest request) {
+        return partsCost(request.getPartsSubtotal());
+    }
+
+    private BigDecimal partsCost(BigDecimal partsSubtotal) {
+        return partsSubtotal != null ? partsSubtotal.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
 
-        BigDecimal totalCost = materials.stream()
-                .map(material -> {
-                    BigDecimal quantity = material.getQuantity();
-                    BigDecimal unitPrice = material.getInventoryItem().getUnitPrice();
-                    return quantity.multiply(unitPrice);
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal laborCost(ServiceRequest request) {
+        return laborCost(request.getLaborSubtotal());
+    }
 
-        return totalCost.setScale(2, RoundingMode.HALF_UP);
+    private BigDecimal laborCost(BigDecimal laborSubtotal) {
+        return laborSubtotal != null ? laborSubtotal : BigDecimal.ZERO;
     }
 
     private BigDecimal getServiceBaseCost(String serviceType) {
@@ -0,0 +1,85 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Indexes for the hot repository predicates, matching the @Index declarations on the entities.
+ * Flyway runs before Hibernate, so on a fresh database the tables do not exist yet and Hibernate creates them
+ * with these indexes; on an existing database only what is missing is added. That makes the migration safe
+ * whether ddl-auto is update, validate or none. MySQL 8 DDL.
+ */
+public class V1__Hot_query_indexes extends BaseJavaMigration {
+
+    private record TableIndex(String table, String name, String columns) {
+    }
+
+    private static final List<TableIndex> INDEXES = List.of(
+            // Service history, latest note and last update per status
+            new TableIndex("service_tracking", "idx_service_tracking_request_status", "request_id, status, updated_at"),
+            new TableIndex("service_tracking", "idx_service_tracking_request_updated", "request_id, updated_at"),
+            new TableIndex("service_tracking", "idx_service_tracking_labor_cost", "labor_cost"),
+            // Status lists, advisor lists and keyset pages ordered by creation time
+            new TableIndex("service_requests", "idx_service_requests_status_created", "status, created_at, request_id"),
+            new TableIndex("service_requests", "idx_service_requests_advisor_status", "service_advisor_id, status"),
+            new TableIndex("service_requests", "idx_service_requests_created", "created_at, request_id"),
+            // Parts on a request and recent usages of an item
+            new TableIndex("materials_used", "idx_materials_used_request", "request_id"),
+            new TableIndex("materials_used", "idx_materials_used_item_used_at", "inventory_item_id, used_at"),
+            // Low-stock lookups, on the computed column added below
+            new TableIndex("inventory_items", "idx_inventory_items_reorder_margin", "reorder_margin"),
+            // Open reservations and labor charges of a request
+            new TableIndex("part_reservations", "idx_part_reservations_request_status", "request_id, status"),
+            new TableIndex("labor_charges", "idx_labor_charges_request", "request_id"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        try (Statement statement = connection.createStatement()) {
+            // Low stock compares two columns, which needs a computed column to be indexable
+            if (tableExists(metaData, "inventory_items") && !columnExists(metaData, "inventory_items", "reorder_margin")) {
+                statement.execute("ALTER TABLE inventory_items ADD COLUMN reorder_margin decimal(10,2) " +
+                        "GENERATED ALWAYS AS (current_stock - reorder_level)");
+            }
+
+            for (TableIndex index : INDEXES) {
+                if (tableExists(metaData, index.table()) && !indexExists(metaData, index.table(), index.name())) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table() +
+                            " (" + index.columns() + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean tableExists(DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(metaData.getConnection().getCatalog(), null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    private static boolean columnExists(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet columns = metaData.getColumns(metaData.getConnection().getCatalog(), null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    private static boolean indexExists(DatabaseMetaData metaData, String table, String name) throws SQLException {
+        try (ResultSet indexes = metaData.getIndexInfo(metaData.getConnection().getCatalog(), null, table, false, true)) {
+            while (indexes.next()) {
+                if (name.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.albany.restapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements sent outside Hibernate must reach the per-request SQL meters too.
+ */
+class RequestSqlMetricsTest {
+
+    @Test
+    void jdbcTemplateStatementsAndBatchesAreCounted() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(SqlStatementTimer.wrap(
+                new DriverManagerDataSource("jdbc:h2:mem:sql-metrics;DB_CLOSE_DELAY=-1", "sa", "")));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS part (id INT PRIMARY KEY)");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/parts");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/parts");
+
+        new RequestSqlMetrics(meterRegistry).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            // One batch of three rows, then one query
+            jdbcTemplate.batchUpdate("INSERT INTO part (id) VALUES (?)", List.of(
+                    new Object[]{1}, new Object[]{2}, new Object[]{3}));
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM part", Integer.class);
+        });
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/api/parts")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+    }
+}
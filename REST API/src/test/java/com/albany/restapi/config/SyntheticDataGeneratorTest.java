@@ -0,0 +1,101 @@
+package com.albany.restapi.config;
+
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.ServiceRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The generated dataset must be complete, internally consistent and the same on every run.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SyntheticDataGenerator.class)
+class SyntheticDataGeneratorTest {
+
+    private static final SyntheticDataGenerator.Scale SCALE = SyntheticDataGenerator.Scale.ofRequests(400);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Test
+    void writesEveryTableConsistently() {
+        SyntheticDataGenerator.Counts counts = generator.generate(SCALE, "{noop}password");
+
+        assertEquals(SCALE.requests(), counts.serviceRequests());
+        assertEquals(counts.serviceRequests(), count("service_requests"));
+        assertEquals(counts.trackingEntries(), count("service_tracking"));
+        assertEquals(counts.materialUsages(), count("materials_used"));
+        assertEquals(counts.laborCharges(), count("labor_charges"));
+        assertEquals(counts.payments(), count("payments"));
+        assertEquals(counts.invoices(), count("invoices"));
+        assertEquals(SCALE.customers(), count("customer_profiles"));
+        assertTrue(generator.alreadyGenerated());
+
+        List<String> statuses = jdbcTemplate.queryForList("SELECT DISTINCT status FROM service_requests", String.class);
+        assertEquals(ServiceRequest.Status.values().length, statuses.size(), "statuses present: " + statuses);
+
+        long tracking = counts.trackingEntries();
+        assertTrue(tracking > SCALE.requests() * 5L && tracking < SCALE.requests() * 15L,
+                "unexpected tracking volume " + tracking);
+
+        // Repeat customers, but no vehicle past the visit cap
+        long busiest = jdbcTemplate.queryForObject("SELECT MAX(visits) FROM (SELECT COUNT(*) AS visits " +
+                "FROM service_requests GROUP BY vehicle_id) v", Long.class);
+        long vehicles = count("vehicles");
+        assertTrue(busiest > 1 && busiest <= SyntheticDataGenerator.visitCap(SCALE, (int) vehicles),
+                "busiest vehicle has " + busiest + " requests");
+
+        // Running totals written by the generator match the parts and labor rows
+        assertEquals(0, serviceRequestRepository.reconcileTotals());
+
+        // Every request joins to its vehicle, customer and user
+        assertEquals(SCALE.requests(), serviceRequestRepository.findListViewsByStatusIn(
+                Arrays.asList(ServiceRequest.Status.values())).size());
+    }
+
+    @Test
+    void sameSeedProducesSameRows() {
+        SyntheticDataGenerator.Counts first = generator.generate(SCALE, "{noop}password");
+        List<String> firstRows = requestRows();
+
+        // Roll the first dataset back so the same emails can be generated again
+        TestTransaction.end();
+        TestTransaction.start();
+
+        SyntheticDataGenerator.Counts second = generator.generate(SCALE, "{noop}password");
+        assertEquals(first, second);
+        assertEquals(firstRows, requestRows());
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private List<String> requestRows() {
+        return jdbcTemplate.query("SELECT vehicle_registration, service_type, status, parts_subtotal, labor_subtotal, " +
+                        "created_at FROM service_requests ORDER BY request_id",
+                (row, i) -> row.getString(1) + "|" + row.getString(2) + "|" + row.getString(3) + "|" +
+                        row.getBigDecimal(4).toPlainString() + "|" + row.getBigDecimal(5).toPlainString() + "|" +
+                        row.getTimestamp(6));
+    }
+}
@@ -0,0 +1,110 @@
+package com.albany.restapi.controller;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.model.Invoice;
+import com.albany.restapi.model.ServiceRequest;
+import com.albany.restapi.repository.*;
+import com.albany.restapi.service.InvoicePdfCache;
+import com.albany.restapi.service.InvoiceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The invoice ETag follows the bill: a client holding the current copy gets a 304,
+ * and any change to what the PDF shows gives a new ETag and a full download.
+ */
+class InvoiceControllerTest {
+
+    private static final int INVOICE_ID = 7;
+    private static final int REQUEST_ID = 3;
+
+    private final InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+    private final ServiceRequestRepository serviceRequestRepository = mock(ServiceRequestRepository.class);
+    private final LaborChargeRepository laborChargeRepository = mock(LaborChargeRepository.class);
+    private final MaterialUsageRepository materialUsageRepository = mock(MaterialUsageRepository.class);
+
+    private InvoiceController controller;
+
+    @BeforeEach
+    void setUp() {
+        InvoiceService invoiceService = new InvoiceService(laborChargeRepository, materialUsageRepository,
+                mock(InventoryItemRepository.class), mock(CustomerProfileRepository.class),
+                new InvoicePdfCache(), new SimpleMeterRegistry());
+        controller = new InvoiceController(invoiceRepository, serviceRequestRepository, invoiceService);
+
+        when(invoiceRepository.findById(INVOICE_ID)).thenReturn(Optional.of(Invoice.builder()
+                .invoiceId(INVOICE_ID)
+                .requestId(REQUEST_ID)
+                .invoiceDate(LocalDateTime.of(2025, 4, 1, 10, 0))
+                .build()));
+        when(serviceRequestRepository.findById(REQUEST_ID)).thenReturn(Optional.of(ServiceRequest.builder()
+                .requestId(REQUEST_ID)
+                .serviceType("Oil Change")
+                .status(ServiceRequest.Status.Completed)
+                .updatedAt(LocalDateTime.of(2025, 4, 1, 9, 0))
+                .build()));
+        when(materialUsageRepository.findByServiceRequest_RequestId(REQUEST_ID)).thenReturn(List.of());
+        when(laborChargeRepository.findByRequestIdOrderByChargeIdAsc(REQUEST_ID))
+                .thenReturn(List.of(labor("1.00")));
+    }
+
+    @Test
+    void currentCopyIsNotSentAgain() {
+        String etag = download(null).getHeaders().getETag();
+        assertNotNull(etag);
+
+        ResponseEntity<?> revalidated = download(etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(etag, revalidated.getHeaders().getETag());
+    }
+
+    @Test
+    void changedBillGetsANewETag() {
+        String etag = download(null).getHeaders().getETag();
+
+        when(laborChargeRepository.findByRequestIdOrderByChargeIdAsc(REQUEST_ID))
+                .thenReturn(List.of(labor("1.50")));
+        ResponseEntity<?> changed = download(etag);
+
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    private ResponseEntity<?> download(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/invoices/" + INVOICE_ID + "/download");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return controller.downloadInvoice(INVOICE_ID, new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    private static LaborCharge labor(String hours) {
+        return LaborCharge.builder()
+                .chargeId(1)
+                .requestId(REQUEST_ID)
+                .description("Diagnosis")
+                .hours(new BigDecimal(hours))
+                .ratePerHour(new BigDecimal("400.00"))
+                .total(new BigDecimal(hours).multiply(new BigDecimal("400.00")))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.albany.restapi.controller;
+
+import com.albany.restapi.config.SyntheticDataGenerator;
+import com.albany.restapi.support.RequestStatementRecorder;
+import com.albany.restapi.support.SqlBudgetConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL budgets for the vehicle tracking lists, measured per HTTP request against a seeded dataset
+ * so a mapper that starts walking lazy associations fails here with its statements listed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@Import(SqlBudgetConfiguration.class)
+class VehicleTrackingControllerSqlBudgetTest {
+
+    private static final SyntheticDataGenerator.Scale FIXTURE = SyntheticDataGenerator.Scale.ofRequests(500);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private RequestStatementRecorder recorder;
+
+    @BeforeEach
+    void seed() {
+        generator.generate(FIXTURE, "{noop}password");
+        recorder.clear();
+    }
+
+    @Test
+    void completedServicesPage() throws Exception {
+        mockMvc.perform(get("/api/vehicle-tracking/completed-services")
+                        .param("limit", "200")
+                        .with(user("admin@albany.test").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        recorder.last().assertAtMost(5);
+    }
+
+    @Test
+    void vehiclesUnderServicePage() throws Exception {
+        mockMvc.perform(get("/api/vehicle-tracking/vehicles-under-service")
+                        .param("limit", "200")
+                        .with(user("admin@albany.test").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        recorder.last().assertAtMost(5);
+    }
+}
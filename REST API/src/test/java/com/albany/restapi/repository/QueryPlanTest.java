@@ -0,0 +1,206 @@
+package com.albany.restapi.repository;
+
+import com.albany.restapi.model.*;
+import com.albany.restapi.support.TestFixtures;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The hot repository queries must be answered through an index, never by scanning the table they filter.
+ * Each query runs once against seeded data so the SQL Hibernate sends can be captured and then explained.
+ * Plans are read in H2's format, where a full scan shows up as {@code <table>.tableScan}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.albany.restapi.repository.QueryPlanTest$CapturedStatements")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    private static final int REQUESTS = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private ServiceTrackingRepository serviceTrackingRepository;
+
+    @Autowired
+    private MaterialUsageRepository materialUsageRepository;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private PartReservationRepository partReservationRepository;
+
+    @Autowired
+    private LaborChargeRepository laborChargeRepository;
+
+    private ServiceAdvisorProfile advisor;
+    private final List<ServiceRequest> requests = new ArrayList<>();
+    private final List<InventoryItem> items = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        advisor = fixtures.advisor("plan-advisor@albany.test");
+
+        for (int i = 1; i <= 20; i++) {
+            items.add(fixtures.item("Part " + i, new BigDecimal(i)));
+        }
+
+        ServiceRequest.Status[] statuses = ServiceRequest.Status.values();
+        for (int i = 1; i <= REQUESTS; i++) {
+            ServiceRequest request = fixtures.request("plan-customer" + i + "@albany.test", "KA-09-" + i,
+                    advisor, statuses[i % statuses.length]);
+            requests.add(request);
+
+            for (int entry = 0; entry < 3; entry++) {
+                entityManager.persist(ServiceTracking.builder()
+                        .requestId(request.getRequestId())
+                        .workDescription("Note " + entry)
+                        .status(request.getStatus())
+                        .serviceAdvisor(advisor)
+                        .build());
+            }
+            entityManager.persist(MaterialUsage.builder()
+                    .serviceRequest(request)
+                    .inventoryItem(items.get(i % items.size()))
+                    .quantity(BigDecimal.ONE)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        CapturedStatements.stop();
+    }
+
+    @Test
+    void serviceTrackingLookupsUseAnIndex() {
+        Integer requestId = requests.get(0).getRequestId();
+        assertIndexed("service_tracking", () -> serviceTrackingRepository.findByRequestId(requestId));
+        assertIndexed("service_tracking", () -> serviceTrackingRepository.findLatestWorkDescription(requestId));
+        assertIndexed("service_tracking", () -> serviceTrackingRepository.findLastUpdateByRequestIdsAndStatus(
+                List.of(requestId, requests.get(1).getRequestId()), ServiceRequest.Status.Completed));
+    }
+
+    @Test
+    void serviceRequestListsUseAnIndex() {
+        assertIndexed("service_requests", () -> serviceRequestRepository.findByServiceAdvisor_AdvisorId(
+                advisor.getAdvisorId()));
+        assertIndexed("service_requests", () -> serviceRequestRepository.findListViewsByStatusIn(
+                List.of(ServiceRequest.Status.Received, ServiceRequest.Status.Diagnosis)));
+        assertIndexed("service_requests", () -> serviceRequestRepository.countByStatus(ServiceRequest.Status.Repair));
+        assertIndexed("service_requests", () -> serviceRequestRepository.findByStatus(ServiceRequest.Status.Completed,
+                ScrollPosition.keyset(), Limit.of(20), Sort.by("createdAt", "requestId")));
+    }
+
+    @Test
+    void partsAndStockLookupsUseAnIndex() {
+        Integer requestId = requests.get(0).getRequestId();
+        Integer itemId = items.get(1).getItemId();
+        assertIndexed("materials_used", () -> materialUsageRepository.findByServiceRequest_RequestId(requestId));
+        assertIndexed("materials_used", () -> materialUsageRepository.findRecentUsagesByItemId(itemId));
+        assertIndexed("inventory_items", () -> inventoryItemRepository.findAllLowStock());
+        assertIndexed("inventory_items", () -> inventoryItemRepository.countLowStockItems());
+        assertIndexed("part_reservations", () -> partReservationRepository.findByRequestIdAndStatus(
+                requestId, PartReservation.Status.Reserved));
+        assertIndexed("labor_charges", () -> laborChargeRepository.findByRequestIdOrderByChargeIdAsc(requestId));
+    }
+
+    /**
+     * Run the repository call, then explain every statement it sent and fail if any scans {@code table}
+     */
+    private void assertIndexed(String table, Runnable repositoryCall) {
+        entityManager.clear();
+        CapturedStatements.start();
+        repositoryCall.run();
+        List<String> statements = CapturedStatements.stop();
+        assertFalse(statements.isEmpty(), "no SQL was captured");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            String normalized = plan.replace("\"", "").toLowerCase(Locale.ROOT);
+            assertFalse(normalized.contains(table + ".tablescan"),
+                    "full scan of " + table + " in plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        // Shares the test transaction's connection, so the optimizer sees the seeded rows
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan is chosen when the statement is prepared, so the values do not matter
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    StringBuilder text = new StringBuilder();
+                    while (plan.next()) {
+                        text.append(plan.getString(1)).append('\n');
+                    }
+                    return text.toString();
+                }
+            }
+        });
+    }
+
+    /**
+     * Records the SQL Hibernate prepares while a test is capturing
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static void start() {
+            CAPTURED.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> statements = CAPTURED.get();
+            CAPTURED.remove();
+            return statements != null ? statements : List.of();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = CAPTURED.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.albany.restapi.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cached principals must save the user lookup on repeat requests without outliving the token
+ * or letting a deactivated user back in.
+ */
+class VerifiedPrincipalCacheTest {
+
+    private static final String EMAIL = "advisor@albany.test";
+
+    private final VerifiedPrincipalCache cache = new VerifiedPrincipalCache();
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, cache);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatRequestsAreServedFromTheCache() throws Exception {
+        VerifiedToken token = token("first-token", EMAIL, inMinutes(30));
+        when(jwtUtil.verify("first-token")).thenReturn(token);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(EMAIL, true));
+
+        assertEquals(EMAIL, authenticate("first-token").getName());
+        assertEquals(EMAIL, authenticate("first-token").getName());
+
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void entriesDoNotOutliveTheirToken() {
+        VerifiedToken expired = token("expired-token", EMAIL, new Date(System.currentTimeMillis() - 1000));
+        cache.put(expired, user(EMAIL, true));
+
+        assertNull(cache.get(expired));
+    }
+
+    @Test
+    void evictionDropsEveryTokenOfTheUserOnly() {
+        VerifiedToken first = token("first-token", EMAIL, inMinutes(30));
+        VerifiedToken second = token("second-token", EMAIL, inMinutes(30));
+        VerifiedToken other = token("other-token", "customer@albany.test", inMinutes(30));
+        cache.put(first, user(EMAIL, true));
+        cache.put(second, user(EMAIL, true));
+        cache.put(other, user("customer@albany.test", true));
+
+        cache.evictUser(EMAIL);
+
+        assertNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(other));
+    }
+
+    @Test
+    void evictionInsideATransactionIsRepeatedAfterCommit() {
+        VerifiedToken token = token("first-token", EMAIL, inMinutes(30));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictUser(EMAIL);
+
+            // A concurrent request re-caches the row the transaction is about to change
+            cache.put(token, user(EMAIL, true));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    void userDisabledAfterCachingIsRejected() throws Exception {
+        VerifiedToken token = token("first-token", EMAIL, inMinutes(30));
+        when(jwtUtil.verify("first-token")).thenReturn(token);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(EMAIL, true));
+        assertNotNull(authenticate("first-token"));
+
+        // Deactivation evicts the user, as the admin and advisor services do
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(EMAIL, false));
+        cache.evictUser(EMAIL);
+
+        assertNull(authenticate("first-token"));
+        assertNull(cache.get(token), "a disabled user must not be cached");
+    }
+
+    /**
+     * Run the filter for one request carrying {@code jwt} and return the authentication it set
+     */
+    private Authentication authenticate(String jwt) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwt);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest(), "the request should always continue down the chain");
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static VerifiedToken token(String jwt, String subject, Date expiration) {
+        return new VerifiedToken(jwt, subject, 1, "serviceAdvisor", new Date(), expiration);
+    }
+
+    private static Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000L);
+    }
+
+    private static UserDetails user(String email, boolean enabled) {
+        return User.withUsername(email)
+                .password("password")
+                .roles("SERVICEADVISOR")
+                .disabled(!enabled)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.LaborCharge;
+import com.albany.restapi.dto.LaborChargeDTO;
+import com.albany.restapi.dto.ServiceBillSummaryDTO;
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.LaborChargeRepository;
+import com.albany.restapi.repository.ServiceRequestRepository;
+import com.albany.restapi.support.SqlStatementLogConfiguration;
+import com.albany.restapi.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bill summary must cost the same number of statements however long the service history is,
+ * and labor must be counted once.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ServiceAdvisorDashboardService.class,
+        PartReservationService.class,
+        PartsLedger.class,
+        ServiceRequestTotals.class,
+        SqlStatementLogConfiguration.class
+})
+class BillSummaryQueryTest {
+
+    // Request, materials, labor lines, totals and notes
+    private static final long STATEMENT_BUDGET = 5;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceAdvisorDashboardService serviceAdvisorDashboardService;
+
+    @Autowired
+    private ServiceRequestTotals serviceRequestTotals;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private LaborChargeRepository laborChargeRepository;
+
+    private TestFixtures fixtures;
+    private ServiceAdvisorProfile advisor;
+    private ServiceRequest request;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        advisor = fixtures.advisor("advisor@albany.test");
+        request = fixtures.request("customer@albany.test", "KA-03-1", advisor, ServiceRequest.Status.Repair);
+
+        InventoryItem filter = fixtures.item("Oil Filter", new BigDecimal("10.00"));
+        entityManager.persist(MaterialUsage.builder()
+                .serviceRequest(request)
+                .inventoryItem(filter)
+                .quantity(new BigDecimal("2.00"))
+                .build());
+
+        // The usage was written directly, so bring the running totals up to date as startup would
+        entityManager.flush();
+        serviceRequestTotals.reconcile();
+    }
+
+    @Test
+    void statementsDoNotGrowWithHistory() {
+        addHistory(2);
+        long small = countStatements();
+
+        addHistory(40);
+        long large = countStatements();
+
+        assertEquals(small, large, "statement count grew with the service history");
+        assertTrue(large <= STATEMENT_BUDGET, "expected at most " + STATEMENT_BUDGET + " statements but saw " + large);
+    }
+
+    @Test
+    void laborIsCountedOnceAndReplaced() {
+        serviceAdvisorDashboardService.addLaborCharges(request.getRequestId(),
+                List.of(labor("Diagnosis", "1.00", "400.00"), labor("Repair", "2.00", "500.00")), advisor);
+        Integer repairId = laborChargeRepository.findByRequestIdOrderByChargeIdAsc(request.getRequestId()).get(1)
+                .getChargeId();
+
+        ServiceBillSummaryDTO bill = serviceAdvisorDashboardService.addLaborCharges(request.getRequestId(),
+                List.of(labor("Repair", "1.50", "500.00")), advisor);
+
+        // The edited line is updated in place rather than deleted and inserted again
+        assertEquals(List.of(repairId), laborChargeRepository.findByRequestIdOrderByChargeIdAsc(request.getRequestId())
+                .stream().map(LaborCharge::getChargeId).toList());
+
+        assertEquals(1, bill.getLaborCharges().size());
+        assertEquals(0, new BigDecimal("750.00").compareTo(bill.getLaborSubtotal()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(bill.getPartsSubtotal()));
+        assertEquals(0, new BigDecimal("800.00").compareTo(bill.getSubtotal()));
+        assertEquals("Added labor charges to service", bill.getNotes());
+        assertEquals(0, serviceRequestRepository.reconcileTotals(), "running totals drifted");
+    }
+
+    private long countStatements() {
+        return fixtures.countStatements(() ->
+                serviceAdvisorDashboardService.getBillSummary(request.getRequestId(), advisor));
+    }
+
+    private void addHistory(int entries) {
+        for (int i = 0; i < entries; i++) {
+            entityManager.persist(ServiceTracking.builder()
+                    .requestId(request.getRequestId())
+                    .workDescription("Inspection note " + i)
+                    .status(ServiceRequest.Status.Repair)
+                    .serviceAdvisor(advisor)
+                    .build());
+        }
+    }
+
+    private LaborChargeDTO labor(String description, String hours, String rate) {
+        LaborChargeDTO charge = new LaborChargeDTO();
+        charge.setDescription(description);
+        charge.setHours(new BigDecimal(hours));
+        charge.setRatePerHour(new BigDecimal(rate));
+        return charge;
+    }
+}
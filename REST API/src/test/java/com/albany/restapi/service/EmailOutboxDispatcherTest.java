@@ -0,0 +1,144 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.EmailOutboxMessage;
+import com.albany.restapi.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox delivery against an in-process SMTP server.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmailService.class, EmailOutboxDispatcher.class, EmailOutboxDispatcherTest.MailConfig.class})
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void queuedEmailsAreDeliveredAndRemoved() throws Exception {
+        emailService.sendSimpleEmail("first@albany.test", "Service update", "Your vehicle is ready");
+        emailService.sendSimpleEmail("second@albany.test", "Service update", "Your vehicle is in repair");
+        emailService.sendPasswordEmail("advisor@albany.test", "Test Advisor", "Temp1234");
+
+        assertEquals(0, greenMail.getReceivedMessages().length, "nothing is sent while queuing");
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("Albany Service - Your Account Credentials", received[2].getSubject());
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() {
+        greenMail.stop();
+        emailService.sendSimpleEmail("customer@albany.test", "Service update", "Your vehicle is ready");
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        List<EmailOutboxMessage> queued = emailOutboxRepository.findAll();
+        assertEquals(1, queued.size());
+        EmailOutboxMessage message = queued.get(0);
+        assertEquals(EmailOutboxMessage.Status.Pending, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertTrue(message.getNextAttemptAt().isAfter(before.plusSeconds(29)), "retry is pushed back");
+
+        // Not due yet, so the next poll leaves it alone
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    @Test
+    void abandonedEmailsDropTheirContent() {
+        greenMail.stop();
+        emailService.sendPasswordEmail("advisor@albany.test", "Test Advisor", "Temp1234");
+        EmailOutboxMessage queued = emailOutboxRepository.findAll().get(0);
+        queued.setAttempts(EmailOutboxDispatcher.MAX_ATTEMPTS - 1);
+        emailOutboxRepository.save(queued);
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        EmailOutboxMessage failed = emailOutboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxMessage.Status.Failed, failed.getStatus());
+        assertEquals(EmailOutboxDispatcher.REDACTED_BODY, failed.getBody());
+        assertFalse(failed.getBody().contains("Temp1234"));
+        assertEquals("advisor@albany.test", failed.getRecipient());
+    }
+
+    @Test
+    void failedEmailsArePurgedAfterTheRetention() {
+        EmailOutboxMessage expired = persistFailed(LocalDateTime.now().minusDays(8));
+        EmailOutboxMessage recent = persistFailed(LocalDateTime.now().minusDays(1));
+        emailService.sendSimpleEmail("customer@albany.test", "Service update", "Your vehicle is ready");
+
+        assertEquals(1, dispatcher.purgeFailed());
+
+        assertFalse(emailOutboxRepository.existsById(expired.getMessageId()));
+        assertTrue(emailOutboxRepository.existsById(recent.getMessageId()));
+        assertEquals(1, emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.Pending));
+    }
+
+    private EmailOutboxMessage persistFailed(LocalDateTime createdAt) {
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient("customer@albany.test")
+                .subject("Service update")
+                .body(EmailOutboxDispatcher.REDACTED_BODY)
+                .status(EmailOutboxMessage.Status.Failed)
+                .attempts(EmailOutboxDispatcher.MAX_ATTEMPTS)
+                .build());
+        // Set on insert, so backdate it with an update
+        message.setCreatedAt(createdAt);
+        return emailOutboxRepository.save(message);
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+
+        @Bean
+        JavaMailSender mailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("localhost");
+            mailSender.setPort(ServerSetupTest.SMTP.getPort());
+            return mailSender;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
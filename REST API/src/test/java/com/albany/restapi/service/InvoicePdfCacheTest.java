@@ -0,0 +1,76 @@
+package com.albany.restapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A PDF is rendered once per fingerprint, served from memory or disk after that,
+ * and rendered again as soon as the fingerprint changes.
+ */
+class InvoicePdfCacheTest {
+
+    private static final int INVOICE_ID = 7;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void repeatDownloadsAreServedWithoutRendering() throws IOException {
+        InvoicePdfCache cache = cache();
+
+        assertEquals("pdf for v1", download(cache, "v1"));
+        assertEquals("pdf for v1", download(cache, "v1"));
+        assertEquals(1, renders.get());
+
+        // A restarted application finds the copy on disk
+        assertEquals("pdf for v1", download(cache(), "v1"));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void changedFingerprintRendersAgainAndReplacesTheOldCopy() throws IOException {
+        InvoicePdfCache cache = cache();
+        download(cache, "v1");
+
+        assertEquals("pdf for v2", download(cache, "v2"));
+        assertEquals("pdf for v2", download(cache, "v2"));
+        assertEquals(2, renders.get());
+        assertEquals(List.of(INVOICE_ID + "-v2.pdf"), cachedFiles());
+    }
+
+    private InvoicePdfCache cache() {
+        InvoicePdfCache cache = new InvoicePdfCache();
+        ReflectionTestUtils.setField(cache, "cacheDirectory", directory.toString());
+        cache.init();
+        return cache;
+    }
+
+    private String download(InvoicePdfCache cache, String fingerprint) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(INVOICE_ID, fingerprint, out, target -> {
+            renders.incrementAndGet();
+            target.write(("pdf for " + fingerprint).getBytes(StandardCharsets.UTF_8));
+        });
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<String> cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.MaterialItemDTO;
+import com.albany.restapi.dto.ServiceMaterialsDTO;
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.MaterialUsageRepository;
+import com.albany.restapi.repository.ServiceRequestRepository;
+import com.albany.restapi.support.SqlStatementLogConfiguration;
+import com.albany.restapi.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Posting a parts list must cost the same number of statements whether three lines change or thirty,
+ * and lines that did not change must not be written at all.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ServiceAdvisorDashboardService.class,
+        InventoryService.class,
+        PartReservationService.class,
+        PartsLedger.class,
+        ServiceRequestTotals.class,
+        SqlStatementLogConfiguration.class
+})
+class MaterialPostingTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceAdvisorDashboardService serviceAdvisorDashboardService;
+
+    @Autowired
+    private PartReservationService partReservationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private MaterialUsageRepository materialUsageRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    private TestFixtures fixtures;
+    private ServiceAdvisorProfile advisor;
+    private ServiceRequest request;
+    private final List<InventoryItem> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        advisor = fixtures.advisor("advisor@albany.test");
+        request = fixtures.request("customer@albany.test", "KA-01-1", advisor, ServiceRequest.Status.Repair);
+
+        for (int i = 1; i <= 30; i++) {
+            items.add(fixtures.item("Part " + i, new BigDecimal("100.00")));
+        }
+    }
+
+    @Test
+    void statementsDoNotGrowWithChangedLines() {
+        // Post once up front so both measured calls edit an existing list
+        post(30, true);
+
+        long small = countStatements(3, "3.00");
+        long large = countStatements(30, "4.00");
+
+        assertEquals(small, large, "statement count grew with the number of changed lines");
+    }
+
+    @Test
+    void unchangedLinesAreNotRewritten() {
+        post(30, false);
+        entityManager.flush();
+        List<Integer> usageIds = usageIds();
+
+        // Same list again, then one line dropped and one line changed
+        post(30, true);
+        entityManager.flush();
+        assertEquals(usageIds, usageIds());
+
+        post(29, true, 1, "5.00");
+        entityManager.clear();
+        assertEquals(usageIds.subList(0, 29), usageIds());
+        assertStock(items.get(0), "100.00", "5.00");
+        assertStock(items.get(1), "100.00", "2.00");
+        assertStock(items.get(29), "100.00", "0.00");
+        assertEquals(0, serviceRequestRepository.reconcileTotals(), "running totals drifted");
+    }
+
+    @Test
+    void stockAndUsagesMatchThePostedLines() {
+        ServiceMaterialsDTO response = post(30, false);
+
+        entityManager.clear();
+        assertEquals(30, materialUsageRepository.findByServiceRequest_RequestId(request.getRequestId()).size());
+        assertStock(items.get(0), "100.00", "2.00");
+
+        // 30 lines of 2 units at 25.00
+        assertEquals(0, new BigDecimal("1500.00").compareTo(response.getCurrentBill().getPartsSubtotal()));
+        assertEquals(30, response.getCurrentBill().getMaterials().size());
+    }
+
+    @Test
+    void reservationsAreReleasedOnReplaceAndCommittedOnCompletion() {
+        post(30, false);
+
+        // Replacing the list hands back the 30 reserved lines and holds only the new 3
+        post(3, true);
+        entityManager.clear();
+        assertStock(items.get(0), "100.00", "2.00");
+        assertStock(items.get(29), "100.00", "0.00");
+
+        partReservationService.onStatusChange(request.getRequestId(),
+                ServiceRequest.Status.Repair, ServiceRequest.Status.Completed);
+        entityManager.clear();
+        assertStock(items.get(0), "98.00", "0.00");
+        assertStock(items.get(29), "100.00", "0.00");
+    }
+
+    @Test
+    void runningPartsTotalFollowsPostingsAndPrices() {
+        post(30, false);
+        post(3, true);
+
+        entityManager.clear();
+        inventoryService.updateInventoryItem(items.get(0).getItemId(), Map.of(
+                "name", "Part 1",
+                "category", "Parts",
+                "currentStock", "100.00",
+                "unitPrice", "40.00",
+                "reorderLevel", "5.00"));
+
+        // 2 units at the new 40.00 plus 2 lines of 2 units at 25.00
+        entityManager.clear();
+        ServiceRequest current = entityManager.find(ServiceRequest.class, request.getRequestId());
+        assertEquals(0, new BigDecimal("180.00").compareTo(current.getPartsSubtotal()));
+        assertEquals(0, serviceRequestRepository.reconcileTotals(), "running totals drifted");
+    }
+
+    private void assertStock(InventoryItem item, String onHand, String reserved) {
+        InventoryItem current = entityManager.find(InventoryItem.class, item.getItemId());
+        assertEquals(0, new BigDecimal(onHand).compareTo(current.getCurrentStock()), "stock on hand");
+        assertEquals(0, new BigDecimal(reserved).compareTo(current.getReservedStock()), "reserved stock");
+    }
+
+    private List<Integer> usageIds() {
+        return materialUsageRepository.findByServiceRequest_RequestId(request.getRequestId()).stream()
+                .map(MaterialUsage::getMaterialUsageId)
+                .sorted()
+                .toList();
+    }
+
+    private long countStatements(int changedLines, String quantity) {
+        return fixtures.countStatements(() -> post(30, true, changedLines, quantity));
+    }
+
+    private ServiceMaterialsDTO post(int lines, boolean replaceExisting) {
+        return post(lines, replaceExisting, 0, null);
+    }
+
+    /**
+     * Post 2 units of each of the first {@code lines} items, except the first {@code changedLines}
+     * which get {@code changedQuantity}
+     */
+    private ServiceMaterialsDTO post(int lines, boolean replaceExisting, int changedLines, String changedQuantity) {
+        List<MaterialItemDTO> materialItems = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            MaterialItemDTO line = new MaterialItemDTO();
+            line.setItemId(items.get(i).getItemId());
+            line.setQuantity(new BigDecimal(i < changedLines ? changedQuantity : "2.00"));
+            materialItems.add(line);
+        }
+
+        ServiceMaterialsDTO materials = new ServiceMaterialsDTO();
+        materials.setItems(materialItems);
+        materials.setReplaceExisting(replaceExisting);
+        return serviceAdvisorDashboardService.addMaterialsToServiceRequest(request.getRequestId(), materials, advisor);
+    }
+}
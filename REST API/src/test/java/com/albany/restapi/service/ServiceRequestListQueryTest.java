@@ -0,0 +1,123 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.*;
+import com.albany.restapi.support.SqlStatementLogConfiguration;
+import com.albany.restapi.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * List endpoints must issue the same number of statements no matter how many rows they return.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        VehicleTrackingService.class,
+        ServiceAssignmentService.class,
+        ServiceRequestService.class,
+        ServiceAdvisorDashboardService.class,
+        PartReservationService.class,
+        PartsLedger.class,
+        ServiceRequestTotals.class,
+        VehicleSearchIndex.class,
+        SqlStatementLogConfiguration.class
+})
+class ServiceRequestListQueryTest {
+
+    private static final String ADVISOR_EMAIL = "advisor@albany.test";
+
+    // Upper bound on statements for any single list call
+    private static final long STATEMENT_BUDGET = 5;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VehicleTrackingService vehicleTrackingService;
+
+    @Autowired
+    private ServiceAssignmentService serviceAssignmentService;
+
+    @Autowired
+    private ServiceRequestService serviceRequestService;
+
+    @Autowired
+    private ServiceAdvisorDashboardService serviceAdvisorDashboardService;
+
+    private TestFixtures fixtures;
+    private ServiceAdvisorProfile advisor;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        advisor = fixtures.advisor(ADVISOR_EMAIL);
+    }
+
+    @Test
+    void vehiclesUnderServiceStatementsDoNotGrowWithRows() {
+        assertBounded(() -> vehicleTrackingService.getVehiclesUnderService(null, null, null), ServiceRequest.Status.Repair);
+    }
+
+    @Test
+    void completedServicesStatementsDoNotGrowWithRows() {
+        assertBounded(() -> vehicleTrackingService.getCompletedServices(null, null, null), ServiceRequest.Status.Completed);
+    }
+
+    @Test
+    void newServiceRequestsStatementsDoNotGrowWithRows() {
+        assertBounded(() -> serviceAssignmentService.getNewServiceRequests(), ServiceRequest.Status.Received);
+    }
+
+    @Test
+    void assignedRequestsStatementsDoNotGrowWithRows() {
+        assertBounded(() -> serviceAssignmentService.getAssignedRequests(), ServiceRequest.Status.Diagnosis);
+    }
+
+    @Test
+    void allServiceRequestsStatementsDoNotGrowWithRows() {
+        assertBounded(() -> serviceRequestService.getServiceRequestsPage(null, null, null), ServiceRequest.Status.Received);
+    }
+
+    @Test
+    void advisorAssignedVehiclesStatementsDoNotGrowWithRows() {
+        assertBounded(() -> serviceAdvisorDashboardService.getAssignedVehicles(advisor),
+                ServiceRequest.Status.Repair);
+    }
+
+    private void assertBounded(Runnable listCall, ServiceRequest.Status status) {
+        seedRequests(2, status);
+        long small = fixtures.countStatements(listCall);
+
+        seedRequests(20, status);
+        long large = fixtures.countStatements(listCall);
+
+        assertEquals(small, large, "statement count grew with the number of rows");
+        assertTrue(large <= STATEMENT_BUDGET, "expected at most " + STATEMENT_BUDGET + " statements but saw " + large);
+    }
+
+    private void seedRequests(int count, ServiceRequest.Status status) {
+        for (int i = 0; i < count; i++) {
+            int n = ++seeded;
+
+            // Each request belongs to a different customer so per-row lookups would show up
+            CustomerProfile customer = fixtures.customer(
+                    fixtures.user("customer" + n + "@albany.test", Role.customer), n % 2 == 0 ? "Premium" : "Standard");
+            fixtures.request(fixtures.vehicle(customer, "KA-01-" + n), advisor, status);
+        }
+    }
+}
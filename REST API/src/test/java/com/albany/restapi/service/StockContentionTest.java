@@ -0,0 +1,224 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.MaterialItemDTO;
+import com.albany.restapi.dto.ServiceMaterialsDTO;
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.*;
+import com.albany.restapi.support.TestFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 64 writers drawing the same parts must never take more stock than there is or lose an update.
+ * Runs outside the test transaction so every writer commits on its own connection.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventoryService.class, ServiceAdvisorDashboardService.class, PartReservationService.class, PartsLedger.class,
+        ServiceRequestTotals.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Slf4j
+class StockContentionTest {
+
+    private static final int WRITERS = 64;
+    private static final int ATTEMPTS_PER_WRITER = 4;
+    private static final BigDecimal INITIAL_STOCK = new BigDecimal("200.00");
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ServiceAdvisorDashboardService serviceAdvisorDashboardService;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private MaterialUsageRepository materialUsageRepository;
+
+    @Autowired
+    private ServiceTrackingRepository serviceTrackingRepository;
+
+    @Autowired
+    private PartReservationRepository partReservationRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CustomerProfileRepository customerProfileRepository;
+
+    @Autowired
+    private ServiceAdvisorProfileRepository serviceAdvisorProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ServiceAdvisorProfile advisor;
+    private ServiceRequest request;
+    private InventoryItem oilFilter;
+    private InventoryItem brakePad;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            advisor = fixtures.advisor("stock-advisor@albany.test");
+            request = fixtures.request("stock-customer@albany.test", "KA-02-1", advisor, ServiceRequest.Status.Repair);
+
+            oilFilter = fixtures.item("Oil Filter", INITIAL_STOCK);
+            brakePad = fixtures.item("Brake Pad", INITIAL_STOCK);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        materialUsageRepository.deleteAllInBatch();
+        partReservationRepository.deleteAllInBatch();
+        serviceTrackingRepository.deleteAllInBatch();
+        serviceRequestRepository.deleteAllInBatch();
+        vehicleRepository.deleteAllInBatch();
+        customerProfileRepository.deleteAllInBatch();
+        serviceAdvisorProfileRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        inventoryItemRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void singleUsagesNeverOversell() throws Exception {
+        // 256 attempts at one unit each against 200 in stock
+        int succeeded = race("recordMaterialUsage", () ->
+                inventoryService.recordMaterialUsage(request.getRequestId(), oilFilter.getItemId(), BigDecimal.ONE));
+
+        assertEquals(200, succeeded);
+        assertStock(oilFilter, BigDecimal.ZERO);
+        assertEquals(200, materialUsageRepository.findByInventoryItem_ItemId(oilFilter.getItemId()).size());
+    }
+
+    @Test
+    void materialPostingsNeverOversell() throws Exception {
+        // Writers list the two parts in opposite orders to catch lock-ordering deadlocks
+        AtomicInteger sequence = new AtomicInteger();
+        int succeeded = race("addMaterialsToServiceRequest", () -> {
+            boolean reversed = sequence.incrementAndGet() % 2 == 0;
+            serviceAdvisorDashboardService.addMaterialsToServiceRequest(request.getRequestId(),
+                    postingOf(reversed ? brakePad : oilFilter, reversed ? oilFilter : brakePad), advisor);
+        });
+
+        // Each posting reserves one of each part, so exactly the stock's worth of postings go through
+        assertEquals(200, succeeded);
+        assertAvailable(oilFilter, BigDecimal.ZERO);
+        assertAvailable(brakePad, BigDecimal.ZERO);
+        assertEquals(400, materialUsageRepository.findByServiceRequest_RequestId(request.getRequestId()).size());
+    }
+
+    /**
+     * Run the task {@link #ATTEMPTS_PER_WRITER} times on each of {@link #WRITERS} threads started together
+     * and return how many calls succeeded. Only the expected out-of-stock error is tolerated.
+     */
+    private int race(String name, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> writers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_WRITER; attempt++) {
+                        try {
+                            task.run();
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            if (e.getMessage() == null || !e.getMessage().startsWith("Not enough stock")) {
+                                throw e;
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            int calls = WRITERS * ATTEMPTS_PER_WRITER;
+            log.info("{}: {} calls from {} writers in {} ms ({} calls/s), {} succeeded",
+                    name, calls, WRITERS, elapsedMillis, calls * 1000L / elapsedMillis, succeeded.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(succeeded.get() > 0, "no writer got any stock");
+        return succeeded.get();
+    }
+
+    private ServiceMaterialsDTO postingOf(InventoryItem first, InventoryItem second) {
+        List<MaterialItemDTO> items = new ArrayList<>();
+        for (InventoryItem item : List.of(first, second)) {
+            MaterialItemDTO line = new MaterialItemDTO();
+            line.setItemId(item.getItemId());
+            line.setQuantity(BigDecimal.ONE);
+            items.add(line);
+        }
+
+        ServiceMaterialsDTO materials = new ServiceMaterialsDTO();
+        materials.setItems(items);
+        materials.setReplaceExisting(false);
+        return materials;
+    }
+
+    private void assertStock(InventoryItem item, BigDecimal expected) {
+        BigDecimal stock = inventoryItemRepository.findById(item.getItemId()).orElseThrow().getCurrentStock();
+        assertEquals(0, expected.compareTo(stock), item.getName() + " stock is " + stock);
+    }
+
+    private void assertAvailable(InventoryItem item, BigDecimal expected) {
+        BigDecimal available = inventoryItemRepository.findById(item.getItemId()).orElseThrow().getAvailableStock();
+        assertEquals(0, expected.compareTo(available), item.getName() + " available stock is " + available);
+    }
+}
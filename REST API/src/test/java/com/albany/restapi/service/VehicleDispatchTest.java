@@ -0,0 +1,92 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.InvoiceRepository;
+import com.albany.restapi.repository.PaymentRepository;
+import com.albany.restapi.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Completing a request without labor adds the standard labor charge, and the invoice and payment
+ * raised later in the same transaction must include it.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        VehicleTrackingService.class,
+        PartReservationService.class,
+        PartsLedger.class,
+        ServiceRequestTotals.class,
+        VehicleSearchIndex.class
+})
+class VehicleDispatchTest {
+
+    // Oil Change 2000.00 with the 1.2 car multiplier, plus 600.00 standard labor
+    private static final BigDecimal TOTAL = new BigDecimal("3000.00");
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VehicleTrackingService vehicleTrackingService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private ServiceRequest request;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        request = fixtures.request("dispatch-customer@albany.test", "KA-04-1",
+                fixtures.advisor("dispatch-advisor@albany.test"), ServiceRequest.Status.Repair);
+    }
+
+    @Test
+    void dispatchInvoicesTheStandardLaborAddedOnCompletion() {
+        entityManager.persist(Payment.builder()
+                .requestId(request.getRequestId())
+                .customerId(request.getVehicle().getCustomer().getCustomerId())
+                .amount(TOTAL)
+                .paymentMethod(Payment.PaymentMethod.Card)
+                .transactionId("TXN-1")
+                .status(Payment.PaymentStatus.Completed)
+                .build());
+
+        vehicleTrackingService.dispatchVehicle(request.getRequestId(), Map.of());
+
+        Invoice invoice = invoiceRepository.findByRequestId(request.getRequestId()).orElseThrow();
+        assertEquals(0, TOTAL.compareTo(invoice.getTotalAmount()), "total was " + invoice.getTotalAmount());
+        assertEquals(0, new BigDecimal("540.00").compareTo(invoice.getTaxes()));
+        assertEquals(0, new BigDecimal("3540.00").compareTo(invoice.getNetAmount()));
+    }
+
+    @Test
+    void paymentWithoutAnAmountChargesTheStandardLabor() {
+        vehicleTrackingService.updateServiceStatus(request.getRequestId(), ServiceRequest.Status.Completed);
+        vehicleTrackingService.recordPayment(request.getRequestId(), Map.of());
+
+        Payment payment = paymentRepository.findByRequestId(request.getRequestId()).orElseThrow();
+        assertEquals(0, TOTAL.compareTo(payment.getAmount()), "amount was " + payment.getAmount());
+    }
+}
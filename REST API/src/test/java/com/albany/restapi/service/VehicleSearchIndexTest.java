@@ -0,0 +1,186 @@
+package com.albany.restapi.service;
+
+import com.albany.restapi.dto.SearchSuggestionDTO;
+import com.albany.restapi.model.*;
+import com.albany.restapi.repository.CustomerProfileRepository;
+import com.albany.restapi.repository.UserRepository;
+import com.albany.restapi.repository.VehicleRepository;
+import com.albany.restapi.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lookups, ranking and after-commit maintenance of the typeahead index.
+ * Runs outside the test transaction so entity writes commit (or roll back) and reach the index as in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VehicleSearchIndex.class, SearchIndexListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VehicleSearchIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VehicleSearchIndex vehicleSearchIndex;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CustomerProfileRepository customerProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TestFixtures fixtures;
+    private Vehicle city;
+    private Vehicle swift;
+    private Vehicle creta;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        inTransaction(() -> {
+            city = fixtures.vehicle(persistCustomer("Priya", "Sharma"), "KA-01-AB-1234", "Honda", "City");
+            swift = fixtures.vehicle(persistCustomer("Rahul", "Verma"), "MH-12-CD-5678", "Maruti", "Swift");
+            creta = fixtures.vehicle(persistCustomer("Arjun", "Kapoor"), "KA-05-XY-9999", "Hyundai", "Creta");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Entity-by-entity deletes so the removals reach the index the same way
+        vehicleRepository.deleteAll();
+        customerProfileRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void trigramLookupMatchesInsideRegistrationsAndNames() {
+        assertEquals(Set.of(city.getVehicleId()), matchingVehicleIds("1234"));
+        assertEquals(Set.of(swift.getVehicleId()), matchingVehicleIds("wift"));
+
+        // A customer name matches the vehicles that customer owns
+        assertEquals(Set.of(creta.getVehicleId()), matchingVehicleIds("kapoor"));
+        assertTrue(matchingVehicleIds("zzz").isEmpty());
+    }
+
+    @Test
+    void shortFragmentsMatchByPrefixOnly() {
+        // "ra" starts "Rahul" but is only inside "Sharma"
+        List<String> labels = labels(vehicleSearchIndex.suggest("ra", 10));
+
+        assertTrue(labels.contains("Rahul Verma"), labels.toString());
+        assertFalse(labels.contains("Priya Sharma"), labels.toString());
+        assertEquals(Set.of(swift.getVehicleId()), matchingVehicleIds("ra"));
+    }
+
+    @Test
+    void punctuationAndCaseAreIgnored() {
+        Set<Integer> expected = Set.of(city.getVehicleId());
+
+        assertEquals(expected, matchingVehicleIds("KA-01"));
+        assertEquals(expected, matchingVehicleIds("ka01"));
+        assertEquals(expected, matchingVehicleIds("Ka 01 ab"));
+    }
+
+    @Test
+    void suggestionsAreRanked() {
+        // Registration prefixes rank above name-token prefixes; ties go by label
+        assertEquals(List.of("Honda City", "Hyundai Creta", "Arjun Kapoor"),
+                labels(vehicleSearchIndex.suggest("ka", 10)));
+
+        // An exact registration beats a partial one, and the limit keeps the best
+        List<SearchSuggestionDTO> exact = vehicleSearchIndex.suggest("KA-01-AB-1234", 1);
+        assertEquals(1, exact.size());
+        assertEquals(city.getVehicleId(), exact.get(0).getId());
+        assertEquals("Priya Sharma", exact.get(0).getCustomerName());
+    }
+
+    @Test
+    void committedWritesReachTheIndexAfterCommit() {
+        inTransaction(() -> {
+            Vehicle vehicle = entityManager.find(Vehicle.class, swift.getVehicleId());
+            vehicle.setRegistrationNumber("TN-09-ZZ-0001");
+            entityManager.flush();
+
+            // Not visible until the transaction commits
+            assertEquals(Set.of(swift.getVehicleId()), matchingVehicleIds("mh12"));
+            assertTrue(matchingVehicleIds("tn09").isEmpty());
+        });
+
+        assertEquals(Set.of(swift.getVehicleId()), matchingVehicleIds("tn09"));
+        assertTrue(matchingVehicleIds("mh12").isEmpty());
+
+        inTransaction(() -> entityManager.remove(entityManager.find(Vehicle.class, swift.getVehicleId())));
+
+        assertTrue(matchingVehicleIds("tn09").isEmpty());
+    }
+
+    @Test
+    void rolledBackWritesLeaveTheIndexUnchanged() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Vehicle vehicle = entityManager.find(Vehicle.class, city.getVehicleId());
+            vehicle.setRegistrationNumber("DL-03-QQ-4321");
+            fixtures.vehicle(entityManager.find(CustomerProfile.class, city.getCustomer().getCustomerId()),
+                    "GJ-07-RR-2468", "Tata", "Nexon");
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Set.of(city.getVehicleId()), matchingVehicleIds("ka01"));
+        assertTrue(matchingVehicleIds("dl03").isEmpty());
+        assertTrue(matchingVehicleIds("nexon").isEmpty());
+    }
+
+    @Test
+    void searchMatchesAreCappedBestFirst() {
+        // Both registrations start with "ka"; equal scores keep the older vehicle
+        VehicleSearchIndex.VehicleMatches matches = vehicleSearchIndex.matchingVehicles("ka", 1);
+
+        assertEquals(Set.of(city.getVehicleId()), matches.vehicleIds());
+        assertTrue(matches.truncated());
+        assertFalse(vehicleSearchIndex.matchingVehicles("ka", 2).truncated());
+    }
+
+    private Set<Integer> matchingVehicleIds(String query) {
+        return vehicleSearchIndex.matchingVehicles(query, VehicleTrackingService.MAX_SEARCH_VEHICLES).vehicleIds();
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static List<String> labels(List<SearchSuggestionDTO> suggestions) {
+        return suggestions.stream().map(SearchSuggestionDTO::getLabel).toList();
+    }
+
+    private CustomerProfile persistCustomer(String firstName, String lastName) {
+        return fixtures.customer(fixtures.user(firstName.toLowerCase() + "@albany.test", Role.customer,
+                firstName, lastName), "Standard");
+    }
+}
@@ -0,0 +1,48 @@
+package com.albany.restapi.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs outside every other filter and keeps the SQL each HTTP request ran, security lookups included
+ */
+public class RequestStatementRecorder extends OncePerRequestFilter {
+
+    private final List<RequestStatements> requests = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementLog.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            requests.add(new RequestStatements(request.getMethod(), request.getRequestURI(), SqlStatementLog.close()));
+        }
+    }
+
+    /**
+     * The most recent request served
+     */
+    public RequestStatements last() {
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("No request has been recorded");
+        }
+        return requests.get(requests.size() - 1);
+    }
+
+    public List<RequestStatements> all() {
+        return List.copyOf(requests);
+    }
+
+    public void clear() {
+        requests.clear();
+    }
+}
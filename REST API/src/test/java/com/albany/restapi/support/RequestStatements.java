@@ -0,0 +1,29 @@
+package com.albany.restapi.support;
+
+import java.util.List;
+
+/**
+ * The SQL statements one HTTP request ran, in order
+ */
+public record RequestStatements(String method, String uri, List<String> statements) {
+
+    public int count() {
+        return statements.size();
+    }
+
+    /**
+     * Fail with every statement listed when the request ran more than the budget allows
+     */
+    public void assertAtMost(int budget) {
+        if (count() <= budget) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(method).append(' ').append(uri)
+                .append(" ran ").append(count()).append(" SQL statements, budget is ").append(budget).append(':');
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        throw new AssertionError(message.toString());
+    }
+}
@@ -0,0 +1,29 @@
+package com.albany.restapi.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+
+/**
+ * Import into a MockMvc test to count the SQL of each request against a budget:
+ * perform the request, then call {@code recorder.last().assertAtMost(n)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import(SqlStatementLogConfiguration.class)
+public class SqlBudgetConfiguration {
+
+    @Bean
+    RequestStatementRecorder requestStatementRecorder() {
+        return new RequestStatementRecorder();
+    }
+
+    @Bean
+    FilterRegistrationBean<RequestStatementRecorder> requestStatementRecorderRegistration(
+            RequestStatementRecorder recorder) {
+        FilterRegistrationBean<RequestStatementRecorder> registration = new FilterRegistrationBean<>(recorder);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
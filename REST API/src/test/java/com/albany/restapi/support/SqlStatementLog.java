@@ -0,0 +1,115 @@
+package com.albany.restapi.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps a DataSource so every statement executed through it, by Hibernate or JdbcTemplate alike,
+ * is written to the log of the thread that opened it. Nothing is kept while no log is open.
+ */
+public final class SqlStatementLog {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementLog() {
+    }
+
+    /**
+     * Start collecting the statements run on this thread, dropping any collected before
+     */
+    public static void open() {
+        CURRENT.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop collecting and return what ran since {@link #open()}
+     */
+    public static List<String> close() {
+        List<String> statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? List.copyOf(statements) : List.of();
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection connection ? wrap(connection) : result);
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            // prepareStatement and prepareCall carry the SQL up front, createStatement gets it on execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return wrap(statement, method.getReturnType(), sql);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Statement wrap(Statement statement, Class<?> type, String preparedSql) {
+        String[] lastBatched = {null};
+        return proxy((Class<Statement>) type, statement, new Interceptor() {
+            @Override
+            public void before(Method method, Object[] args) {
+                String name = method.getName();
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                if (name.equals("addBatch") && sql != null) {
+                    lastBatched[0] = sql;
+                } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                    record("[batch] " + (preparedSql != null ? preparedSql : lastBatched[0]));
+                } else if (name.startsWith("execute")) {
+                    record(sql);
+                }
+            }
+
+            @Override
+            public Object after(Method method, Object[] args, Object result) {
+                return result;
+            }
+        });
+    }
+
+    private static void record(String sql) {
+        List<String> statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementLog.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    // Hibernate keys its open statements by identity, so the proxy must stand in for itself
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    interceptor.before(method, args);
+                    try {
+                        return interceptor.after(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+
+        default void before(Method method, Object[] args) {
+        }
+
+        Object after(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,25 @@
+package com.albany.restapi.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Import into a test to route every DataSource through {@link SqlStatementLog},
+ * so statements from Hibernate and JdbcTemplate are counted alike.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementLogConfiguration {
+
+    @Bean
+    static BeanPostProcessor sqlStatementLogDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlStatementLog.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.albany.restapi.support;
+
+import com.albany.restapi.model.*;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Persists the users, profiles, vehicles, requests and parts the JPA tests build on,
+ * and counts the statements a call sends. Callers own the transaction the entities are written in.
+ */
+public class TestFixtures {
+
+    private final TestEntityManager entityManager;
+
+    public TestFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public User user(String email, Role role) {
+        return user(email, role, "Test", "User");
+    }
+
+    public User user(String email, Role role, String firstName, String lastName) {
+        return entityManager.persist(User.builder()
+                .email(email)
+                .password("password")
+                .firstName(firstName)
+                .lastName(lastName)
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+
+    public ServiceAdvisorProfile advisor(String email) {
+        return entityManager.persist(ServiceAdvisorProfile.builder()
+                .user(user(email, Role.serviceAdvisor))
+                .department("Workshop")
+                .hireDate(LocalDate.now())
+                .build());
+    }
+
+    public CustomerProfile customer(String email) {
+        return customer(user(email, Role.customer), "Standard");
+    }
+
+    public CustomerProfile customer(User user, String membershipStatus) {
+        return entityManager.persist(CustomerProfile.builder()
+                .customerId(user.getUserId())
+                .user(user)
+                .membershipStatus(membershipStatus)
+                .totalServices(0)
+                .build());
+    }
+
+    public Vehicle vehicle(CustomerProfile customer, String registrationNumber) {
+        return vehicle(customer, registrationNumber, "Honda", "City");
+    }
+
+    public Vehicle vehicle(CustomerProfile customer, String registrationNumber, String brand, String model) {
+        return entityManager.persist(Vehicle.builder()
+                .customer(customer)
+                .registrationNumber(registrationNumber)
+                .category(Vehicle.Category.Car)
+                .brand(brand)
+                .model(model)
+                .year(2020)
+                .build());
+    }
+
+    public ServiceRequest request(Vehicle vehicle, ServiceAdvisorProfile advisor, ServiceRequest.Status status) {
+        return entityManager.persist(ServiceRequest.builder()
+                .vehicle(vehicle)
+                .serviceAdvisor(advisor)
+                .serviceType("Oil Change")
+                .deliveryDate(LocalDate.now().plusDays(2))
+                .status(status)
+                .build());
+    }
+
+    /**
+     * A request on a new customer's vehicle, assigned to {@code advisor}
+     */
+    public ServiceRequest request(String customerEmail, String registrationNumber,
+                                  ServiceAdvisorProfile advisor, ServiceRequest.Status status) {
+        return request(vehicle(customer(customerEmail), registrationNumber), advisor, status);
+    }
+
+    public InventoryItem item(String name, BigDecimal currentStock) {
+        return entityManager.persist(InventoryItem.builder()
+                .name(name)
+                .category("Parts")
+                .currentStock(currentStock)
+                .unitPrice(new BigDecimal("25.00"))
+                .reorderLevel(new BigDecimal("5.00"))
+                .build());
+    }
+
+    /**
+     * Run {@code call} against an empty persistence context, flush what it wrote
+     * and return how many statements that took, JdbcTemplate batches included.
+     * Needs {@link SqlStatementLogConfiguration} imported into the test.
+     */
+    public long countStatements(Runnable call) {
+        // Start from an empty persistence context so nothing is served from the first-level cache
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementLog.open();
+        List<String> statements;
+        try {
+            call.run();
+            entityManager.flush();
+        } finally {
+            statements = SqlStatementLog.close();
+        }
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No statements were logged; import SqlStatementLogConfiguration");
+        }
+        return statements.size();
+    }
+}